@@ -11,9 +11,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.gridsuite.dynamicsecurityanalysis.server.service.SupervisionService;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -36,4 +38,19 @@ public class SupervisionController {
     public ResponseEntity<Integer> getResultsCount() {
         return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(supervisionService.getResultsCount());
     }
+
+    @PutMapping(value = "/drain")
+    @Operation(summary = "Drain the worker: stop taking new runs, the runs in flight continuing")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The count of the runs still in flight, 0 once drained")})
+    public ResponseEntity<Integer> drain() {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(supervisionService.drain());
+    }
+
+    @PutMapping(value = "/undrain")
+    @Operation(summary = "Undrain the worker: take new runs again after a drain")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The run consumers are restarting"),
+        @ApiResponse(responseCode = "409", description = "The worker is shutting down, its drain cannot be undone")})
+    public ResponseEntity<Void> undrain() {
+        return supervisionService.undrain() ? ResponseEntity.ok().build() : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
 }
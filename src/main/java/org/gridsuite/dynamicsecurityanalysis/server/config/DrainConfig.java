@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.dynamicsecurityanalysis.server.config;
+
+import org.springframework.amqp.rabbit.listener.AbstractMessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.stream.config.ListenerContainerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Stopping a consumer waits for its message in flight up to the drain grace period, see
+ * {@link org.gridsuite.dynamicsecurityanalysis.server.service.DrainService}. Otherwise the channel is closed after
+ * a few seconds and the message of a run still simulating is redelivered to another worker.
+ *
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+@Configuration
+public class DrainConfig {
+
+    @Bean
+    public ListenerContainerCustomizer<MessageListenerContainer> drainListenerContainerCustomizer(
+            @Value("${dynamic-security-analysis.drain.grace-period:10m}") Duration gracePeriod) {
+        return (container, destinationName, group) -> {
+            if (container instanceof AbstractMessageListenerContainer listenerContainer) {
+                listenerContainer.setShutdownTimeout(gracePeriod.toMillis());
+            }
+        };
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.dynamicsecurityanalysis.server.config;
+
+import com.powsybl.computation.ComputationManager;
+import com.powsybl.computation.local.LocalComputationConfig;
+import com.powsybl.computation.local.LocalComputationManager;
+import lombok.Getter;
+import lombok.Setter;
+import org.gridsuite.dynamicsecurityanalysis.server.service.ExecutorPoolComputationManager;
+import org.gridsuite.dynamicsecurityanalysis.server.service.ExecutorPoolComputationManager.ExecutorNode;
+import org.gridsuite.dynamicsecurityanalysis.server.service.SpoolCommandExecutor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+/**
+ * Executor pool of the simulations, enabled by {@code dynamic-security-analysis.executor-pool.enabled}.
+ * <p>
+ * A node with a {@code spool-dir} submits its commands to a job spool on a shared filesystem, run by
+ * {@link org.gridsuite.dynamicsecurityanalysis.server.service.SpoolExecutor} processes out of the worker pods, its
+ * {@code local-dir} being on the shared filesystem as well. A node without a spool spawns its processes from the worker
+ * itself, in its own directory with its own capacity. A deployment with other remote executors declares its own
+ * {@link ExecutorPoolComputationManager} bean instead.
+ *
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+@Configuration
+@ConditionalOnProperty(name = "dynamic-security-analysis.executor-pool.enabled", havingValue = "true")
+public class ExecutorPoolConfig {
+
+    @Getter
+    @Setter
+    public static class ExecutorPoolProperties {
+        // working directories of the runs, visible from all nodes
+        private Path sharedDir;
+        private List<NodeProperties> nodes = new ArrayList<>();
+    }
+
+    @Getter
+    @Setter
+    public static class NodeProperties {
+        private String name;
+        private Path localDir;
+        // job spool on the shared filesystem, null to spawn the processes from the worker
+        private Path spoolDir;
+        private int capacity = 1;
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "dynamic-security-analysis.executor-pool")
+    public ExecutorPoolProperties executorPoolProperties() {
+        return new ExecutorPoolProperties();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ExecutorPoolComputationManager executorPoolComputationManager(ExecutorPoolProperties executorPoolProperties) {
+        List<ExecutorNode> nodes = executorPoolProperties.getNodes().stream()
+                .map(node -> new ExecutorNode(node.getName(), createNodeComputationManager(node), node.getCapacity()))
+                .toList();
+        return new ExecutorPoolComputationManager(executorPoolProperties.getSharedDir(), nodes);
+    }
+
+    private static ComputationManager createNodeComputationManager(NodeProperties node) {
+        LocalComputationConfig config = new LocalComputationConfig(node.getLocalDir(), node.getCapacity());
+        if (node.getSpoolDir() == null) {
+            return new LocalComputationManager(config);
+        }
+        // the threads only wait for the exit of the jobs run by the executors
+        return new LocalComputationManager(config, new SpoolCommandExecutor(node.getSpoolDir()), Executors.newVirtualThreadPerTaskExecutor());
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.dynamicsecurityanalysis.server.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-user fair-share scheduling of the runs, enabled by {@code dynamic-security-analysis.fair-share.enabled}.
+ * <p>
+ * The weight and the maximum number of running runs may be overridden per user, e.g.
+ * {@code dynamic-security-analysis.fair-share.users.alice.weight: 2}.
+ *
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+@Configuration
+public class FairShareConfig {
+
+    @Getter
+    @Setter
+    public static class FairShareProperties {
+        private boolean enabled;
+        // runs dispatched to the workers at the same time, all users together
+        private int maxRunningRuns = 4;
+        private int maxRunningRunsPerUser = 2;
+        // a dispatched run whose result is still pending after this delay, e.g. dead-lettered, is not counted anymore,
+        // to be kept above the longest run, as the maximum age of a pending result of the backpressure
+        private Duration runningTimeout = Duration.ofHours(6);
+        private Map<String, UserProperties> users = new HashMap<>();
+
+        public int getWeight(String userId) {
+            UserProperties userProperties = users.get(userId);
+            return userProperties != null ? Math.max(1, userProperties.getWeight()) : 1;
+        }
+
+        public int getMaxRunningRuns(String userId) {
+            UserProperties userProperties = users.get(userId);
+            return userProperties != null && userProperties.getMaxRunningRuns() != null ? userProperties.getMaxRunningRuns() : maxRunningRunsPerUser;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class UserProperties {
+        private int weight = 1;
+        private Integer maxRunningRuns;
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "dynamic-security-analysis.fair-share")
+    public FairShareProperties fairShareProperties() {
+        return new FairShareProperties();
+    }
+
+    @Configuration
+    @EnableScheduling
+    @ConditionalOnProperty(name = "dynamic-security-analysis.fair-share.enabled", havingValue = "true")
+    static class FairShareSchedulingConfig {
+    }
+}
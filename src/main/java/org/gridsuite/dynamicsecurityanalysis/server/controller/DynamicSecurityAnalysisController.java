@@ -13,15 +13,23 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.gridsuite.computation.dto.ReportInfos;
 import org.gridsuite.dynamicsecurityanalysis.server.dto.DynamicSecurityAnalysisStatus;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.batch.BatchInfos;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.batch.BatchResultInfos;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.batch.BatchVariantInfos;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.contingency.ContingencyResultInfos;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.sweep.SweepCombinationInfos;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.sweep.SweepInfos;
 import org.gridsuite.dynamicsecurityanalysis.server.service.DynamicSecurityAnalysisResultService;
 import org.gridsuite.dynamicsecurityanalysis.server.service.DynamicSecurityAnalysisService;
 import org.gridsuite.dynamicsecurityanalysis.server.service.ParametersService;
 import org.gridsuite.dynamicsecurityanalysis.server.service.contexts.DynamicSecurityAnalysisRunContext;
 import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 
@@ -53,7 +61,9 @@ public class DynamicSecurityAnalysisController {
 
     @PostMapping(value = "/networks/{networkUuid}/run", produces = "application/json")
     @Operation(summary = "run the dynamic security analysis")
-    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Run dynamic security analysis")})
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Run dynamic security analysis"),
+        @ApiResponse(responseCode = "202", description = "Run queued, the Retry-After header giving its estimated wait in seconds"),
+        @ApiResponse(responseCode = "429", description = "Too many runs in the queue, the Retry-After header giving when to retry in seconds")})
     public ResponseEntity<UUID> run(@PathVariable("networkUuid") UUID networkUuid,
                                           @RequestParam(name = VARIANT_ID_HEADER, required = false) String variantId,
                                           @RequestParam(name = HEADER_RECEIVER, required = false) String receiver,
@@ -63,6 +73,9 @@ public class DynamicSecurityAnalysisController {
                                           @RequestParam(name = "debug", required = false, defaultValue = "false") boolean debug,
                                           @RequestParam(name = "dynamicSimulationResultUuid") UUID dynamicSimulationResultUuid,
                                           @RequestParam(name = "parametersUuid") UUID parametersUuid,
+                                          @RequestParam(name = "previousResultUuid", required = false) UUID previousResultUuid,
+                                          @Parameter(description = "Number of contingencies simulated in parallel overriding the parameters, 0 for auto")
+                                          @RequestParam(name = "parallelism", required = false) Integer parallelism,
                                           @RequestHeader(HEADER_USER_ID) String userId) {
 
         DynamicSecurityAnalysisRunContext dynamicSecurityAnalysisRunContext = parametersService.createRunContext(
@@ -73,12 +86,107 @@ public class DynamicSecurityAnalysisController {
             userId,
             dynamicSimulationResultUuid,
             parametersUuid,
+            previousResultUuid,
             debug);
+        if (parallelism != null) {
+            dynamicSecurityAnalysisRunContext.getParameters().setParallelism(parallelism);
+        }
 
         UUID resultUuid = dynamicSecurityAnalysisService.runAndSaveResult(dynamicSecurityAnalysisRunContext);
+        Duration estimatedWait = dynamicSecurityAnalysisRunContext.getEstimatedWait();
+        if (estimatedWait != null) {
+            return ResponseEntity.accepted().contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(estimatedWait.toSeconds()))
+                    .body(resultUuid);
+        }
         return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(resultUuid);
     }
 
+    @PostMapping(value = "/networks/{networkUuid}/run-batch", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
+    @Operation(summary = "run the dynamic security analysis on several variants of a network")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Run dynamic security analysis on each variant of the batch"),
+        @ApiResponse(responseCode = "202", description = "Runs queued, the Retry-After header giving their estimated wait in seconds"),
+        @ApiResponse(responseCode = "429", description = "Too many runs in the queue, the Retry-After header giving when to retry in seconds")})
+    public ResponseEntity<BatchInfos> runBatch(@PathVariable("networkUuid") UUID networkUuid,
+                                               @RequestBody List<BatchVariantInfos> variants,
+                                               @RequestParam(name = HEADER_RECEIVER, required = false) String receiver,
+                                               @RequestParam(name = "reportUuid", required = false) UUID reportId,
+                                               @RequestParam(name = REPORTER_ID_HEADER, required = false) String reportName,
+                                               @RequestParam(name = REPORT_TYPE_HEADER, required = false, defaultValue = "DynamicSecurityAnalysis") String reportType,
+                                               @RequestParam(name = "parametersUuid") UUID parametersUuid,
+                                               @RequestHeader(HEADER_USER_ID) String userId) {
+
+        List<DynamicSecurityAnalysisRunContext> runContexts = parametersService.createBatchRunContexts(
+            networkUuid,
+            variants,
+            receiver,
+            ReportInfos.builder().reportUuid(reportId).reporterId(reportName).computationType(reportType).build(),
+            userId,
+            parametersUuid);
+
+        BatchInfos batchInfos = dynamicSecurityAnalysisService.runBatchAndSaveResults(runContexts);
+        Duration estimatedWait = runContexts.get(0).getEstimatedWait();
+        if (estimatedWait != null) {
+            return ResponseEntity.accepted().contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(estimatedWait.toSeconds()))
+                    .body(batchInfos);
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(batchInfos);
+    }
+
+    @GetMapping(value = "/batches/{batchUuid}/results", produces = APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get the results of the variants of a batch from the database")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The results of the variants of the batch")})
+    public ResponseEntity<List<BatchResultInfos>> getBatchResults(@Parameter(description = "Batch UUID") @PathVariable("batchUuid") UUID batchUuid) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(dynamicSecurityAnalysisResultService.findBatchResults(batchUuid));
+    }
+
+    @PostMapping(value = "/networks/{networkUuid}/run-sweep", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
+    @Operation(summary = "run the dynamic security analysis for each combination of the swept parameters values")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Run the parametric sweep of the dynamic security analysis"),
+        @ApiResponse(responseCode = "202", description = "Sweep queued, the Retry-After header giving its estimated wait in seconds"),
+        @ApiResponse(responseCode = "429", description = "Too many runs in the queue, the Retry-After header giving when to retry in seconds")})
+    public ResponseEntity<UUID> runSweep(@PathVariable("networkUuid") UUID networkUuid,
+                                         @RequestBody SweepInfos sweepInfos,
+                                         @RequestParam(name = VARIANT_ID_HEADER, required = false) String variantId,
+                                         @RequestParam(name = HEADER_RECEIVER, required = false) String receiver,
+                                         @RequestParam(name = "reportUuid", required = false) UUID reportId,
+                                         @RequestParam(name = REPORTER_ID_HEADER, required = false) String reportName,
+                                         @RequestParam(name = REPORT_TYPE_HEADER, required = false, defaultValue = "DynamicSecurityAnalysis") String reportType,
+                                         @RequestParam(name = "dynamicSimulationResultUuid") UUID dynamicSimulationResultUuid,
+                                         @RequestParam(name = "parametersUuid") UUID parametersUuid,
+                                         @RequestHeader(HEADER_USER_ID) String userId) {
+
+        DynamicSecurityAnalysisRunContext dynamicSecurityAnalysisRunContext = parametersService.createRunContext(
+            networkUuid,
+            variantId,
+            receiver,
+            ReportInfos.builder().reportUuid(reportId).reporterId(reportName).computationType(reportType).build(),
+            userId,
+            dynamicSimulationResultUuid,
+            parametersUuid,
+            null,
+            false);
+
+        UUID sweepUuid = dynamicSecurityAnalysisService.runSweepAndSaveResult(dynamicSecurityAnalysisRunContext, sweepInfos);
+        Duration estimatedWait = dynamicSecurityAnalysisRunContext.getEstimatedWait();
+        if (estimatedWait != null) {
+            return ResponseEntity.accepted().contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(estimatedWait.toSeconds()))
+                    .body(sweepUuid);
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(sweepUuid);
+    }
+
+    @GetMapping(value = "/sweeps/{sweepUuid}/results", produces = APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get the results of the combinations of a parametric sweep from the database")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The results of the combinations of the sweep")})
+    public ResponseEntity<List<SweepCombinationInfos>> getSweepResults(@Parameter(description = "Sweep UUID") @PathVariable("sweepUuid") UUID sweepUuid) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(dynamicSecurityAnalysisResultService.findSweepResults(sweepUuid));
+    }
+
     @GetMapping(value = "/results/{resultUuid}/status", produces = "application/json")
     @Operation(summary = "Get the dynamic security analysis status from the database")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The dynamic security analysis status"),
@@ -89,6 +197,14 @@ public class DynamicSecurityAnalysisController {
         return ResponseEntity.ok().body(result);
     }
 
+    @GetMapping(value = "/results/{resultUuid}/contingency-results", produces = "application/json")
+    @Operation(summary = "Get the per-contingency results of a dynamic security analysis from the database")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The per-contingency results of the dynamic security analysis")})
+    public ResponseEntity<List<ContingencyResultInfos>> getContingencyResults(@Parameter(description = "Result UUID") @PathVariable("resultUuid") UUID resultUuid) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(dynamicSecurityAnalysisResultService.findContingencyResults(resultUuid));
+    }
+
     @PutMapping(value = "/results/invalidate-status", produces = "application/json")
     @Operation(summary = "Invalidate the dynamic security analysis status from the database")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The dynamic security analysis result uuids have been invalidated")})
@@ -101,7 +217,7 @@ public class DynamicSecurityAnalysisController {
     @Operation(summary = "Delete a dynamic security analysis result from the database")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The dynamic security analysis result has been deleted")})
     public ResponseEntity<Void> deleteResult(@Parameter(description = "Result UUID") @PathVariable("resultUuid") UUID resultUuid) {
-        dynamicSecurityAnalysisResultService.delete(resultUuid);
+        dynamicSecurityAnalysisResultService.deleteShared(resultUuid);
         return ResponseEntity.ok().build();
     }
 
@@ -109,7 +225,7 @@ public class DynamicSecurityAnalysisController {
     @Operation(summary = "Delete dynamic security analysis results from the database")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Dynamic security analysis results have been deleted")})
     public ResponseEntity<Void> deleteResults(@Parameter(description = "Results UUID") @RequestParam(value = "resultsUuids", required = false) List<UUID> resultsUuids) {
-        dynamicSecurityAnalysisService.deleteResults(resultsUuids);
+        dynamicSecurityAnalysisService.deleteSharedResults(resultsUuids);
         return ResponseEntity.ok().build();
     }
 
@@ -118,7 +234,7 @@ public class DynamicSecurityAnalysisController {
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The dynamic security analysis has been stopped")})
     public ResponseEntity<Void> stop(@Parameter(description = "Result UUID") @PathVariable("resultUuid") UUID resultUuid,
                                    @Parameter(description = "Result receiver") @RequestParam(name = "receiver", required = false, defaultValue = "") String receiver) {
-        dynamicSecurityAnalysisService.stop(resultUuid, receiver);
+        dynamicSecurityAnalysisService.stopShared(resultUuid, receiver);
         return ResponseEntity.ok().build();
     }
 
@@ -12,7 +12,11 @@ package org.gridsuite.dynamicsecurityanalysis.server.dto;
  */
 public enum DynamicSecurityAnalysisStatus {
     NOT_DONE,
+    // accepted beyond the backpressure threshold, waiting for a worker
+    QUEUED,
     RUNNING,
     SUCCEED,
-    FAILED
+    FAILED,
+    // stopped by the abort policy, results computed before are kept
+    ABORTED
 }
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package org.gridsuite.dynamicsecurityanalysis.server.dto.contingency;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.*;
+
+/**
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ContingencyResultInfos {
+    private String contingencyId;
+
+    private ContingencyResultStatus status;
+
+    // stage which produced the verdict in the two-stage mode, null otherwise
+    private ContingencyResultStage stage;
+
+    private Integer limitViolationCount;
+
+    // estimated severity given by the pre-screening stage, null if not screened
+    private Double severity;
+
+    // hash of the contingency definition and of the parameters values it has been simulated with
+    private String fingerprint;
+}
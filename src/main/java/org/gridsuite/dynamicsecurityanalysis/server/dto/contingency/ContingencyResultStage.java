@@ -0,0 +1,20 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package org.gridsuite.dynamicsecurityanalysis.server.dto.contingency;
+
+/**
+ * Stage of the two-stage execution mode which produced a contingency result
+ *
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+public enum ContingencyResultStage {
+    // fast screening with the coarse profile, verdict kept since the contingency has not been flagged
+    COARSE,
+    // re-simulation at full accuracy of a contingency flagged by the coarse stage
+    REFINED
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package org.gridsuite.dynamicsecurityanalysis.server.dto.contingency;
+
+import com.powsybl.security.PostContingencyComputationStatus;
+
+/**
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+public enum ContingencyResultStatus {
+    SUCCEED,
+    FAILED,
+    // not simulated since its estimated severity is below the pre-screening threshold
+    SKIPPED,
+    // simulation killed by the watchdog after the contingency timeout
+    TIMEOUT,
+    // not simulated since the run has been aborted
+    NOT_SIMULATED;
+
+    public static ContingencyResultStatus fromComputationStatus(PostContingencyComputationStatus computationStatus) {
+        return computationStatus == PostContingencyComputationStatus.FAILED ? FAILED : SUCCEED;
+    }
+}
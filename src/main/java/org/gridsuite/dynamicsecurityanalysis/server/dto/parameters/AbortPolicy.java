@@ -0,0 +1,22 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package org.gridsuite.dynamicsecurityanalysis.server.dto.parameters;
+
+/**
+ * Policy to abort a whole run once enough contingencies are known to be insecure
+ *
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+public enum AbortPolicy {
+    // all contingencies are simulated
+    NONE,
+    // abort once the threshold of failed contingencies is reached
+    ON_FAILURE,
+    // abort once the threshold of failed contingencies or contingencies with limit violations is reached
+    ON_VIOLATIONS
+}
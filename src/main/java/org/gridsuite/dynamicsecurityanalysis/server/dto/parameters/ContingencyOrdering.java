@@ -0,0 +1,20 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package org.gridsuite.dynamicsecurityanalysis.server.dto.parameters;
+
+/**
+ * Order in which contingencies are simulated
+ *
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+public enum ContingencyOrdering {
+    // order returned by the actions server
+    NONE,
+    // most severe first according to previous results on the same network, then to the tripped elements
+    SEVERITY
+}
@@ -37,4 +37,44 @@ public class DynamicSecurityAnalysisParametersInfos {
     @JsonInclude(JsonInclude.Include.NON_EMPTY)
     private List<UUID> contingencyListIds;
 
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private Boolean screeningEnabled;
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private Double screeningThreshold;
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private Boolean twoStageEnabled;
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private Double coarseScenarioDuration;
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private Double coarsePrecision;
+
+    // wall-clock timeout in seconds of the simulation of each contingency
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private Double contingencyTimeout;
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private AbortPolicy abortPolicy;
+
+    // number of contingencies matching the abort policy which triggers the abort, 1 by default
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private Integer abortThreshold;
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private ContingencyOrdering contingencyOrdering;
+
+    // number of contingencies simulated in parallel, AUTO_PARALLELISM to pick it from the free resources,
+    // null for the default of the worker
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private Integer parallelism;
+
+    // the pre-contingency interval is simulated once, then the contingencies start from its final state
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private Boolean warmStartEnabled;
+
+    public static final int AUTO_PARALLELISM = 0;
+
 }
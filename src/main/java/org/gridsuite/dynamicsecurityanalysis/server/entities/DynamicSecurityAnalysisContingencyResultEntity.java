@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package org.gridsuite.dynamicsecurityanalysis.server.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.contingency.ContingencyResultInfos;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.contingency.ContingencyResultStage;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.contingency.ContingencyResultStatus;
+
+import java.util.UUID;
+
+/**
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "dynamic_security_analysis_contingency_result", indexes = {@Index(name = "dynamic_security_analysis_contingency_result_result_uuid_idx", columnList = "result_uuid")})
+public class DynamicSecurityAnalysisContingencyResultEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(name = "id")
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "result_uuid", foreignKey = @ForeignKey(name = "dynamic_security_analysis_contingency_result_result_uuid_fk"))
+    private DynamicSecurityAnalysisResultEntity result;
+
+    @Column(name = "contingency_id")
+    private String contingencyId;
+
+    @Column(name = "status")
+    @Enumerated(EnumType.STRING)
+    private ContingencyResultStatus status;
+
+    @Column(name = "stage")
+    @Enumerated(EnumType.STRING)
+    private ContingencyResultStage stage;
+
+    @Column(name = "limit_violation_count")
+    private Integer limitViolationCount;
+
+    @Column(name = "severity")
+    private Double severity;
+
+    @Column(name = "fingerprint")
+    private String fingerprint;
+
+    public DynamicSecurityAnalysisContingencyResultEntity(DynamicSecurityAnalysisResultEntity result, ContingencyResultInfos contingencyResultInfos) {
+        this.result = result;
+        assignAttributes(contingencyResultInfos);
+    }
+
+    public void assignAttributes(ContingencyResultInfos contingencyResultInfos) {
+        contingencyId = contingencyResultInfos.getContingencyId();
+        status = contingencyResultInfos.getStatus();
+        stage = contingencyResultInfos.getStage();
+        limitViolationCount = contingencyResultInfos.getLimitViolationCount();
+        severity = contingencyResultInfos.getSeverity();
+        fingerprint = contingencyResultInfos.getFingerprint();
+    }
+
+    public ContingencyResultInfos toDto() {
+        return ContingencyResultInfos.builder()
+                .contingencyId(contingencyId)
+                .status(status)
+                .stage(stage)
+                .limitViolationCount(limitViolationCount)
+                .severity(severity)
+                .fingerprint(fingerprint)
+                .build();
+    }
+}
@@ -8,12 +8,14 @@
 package org.gridsuite.dynamicsecurityanalysis.server.entities;
 
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.gridsuite.dynamicsecurityanalysis.server.dto.DynamicSecurityAnalysisStatus;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -21,9 +23,13 @@ import java.util.UUID;
  */
 @Getter
 @Setter
-@Table(name = "dynamic_security_analysis_result")
+@Table(name = "dynamic_security_analysis_result", indexes = {
+    @Index(name = "dynamic_security_analysis_result_inputs_hash_idx", columnList = "inputs_hash"),
+    @Index(name = "dynamic_security_analysis_result_network_uuid_idx", columnList = "network_uuid"),
+    @Index(name = "dynamic_security_analysis_result_batch_uuid_idx", columnList = "batch_uuid"),
+    @Index(name = "dynamic_security_analysis_result_sweep_uuid_idx", columnList = "sweep_uuid")
+})
 @NoArgsConstructor
-@AllArgsConstructor
 @Entity
 public class DynamicSecurityAnalysisResultEntity {
 
@@ -38,4 +44,54 @@ public class DynamicSecurityAnalysisResultEntity {
     @Column(name = "debugFileLocation")
     private String debugFileLocation;
 
+    @Column(name = "creation_date")
+    private Instant creationDate;
+
+    @Column(name = "inputs_hash")
+    private String inputsHash;
+
+    @Column(name = "network_uuid")
+    private UUID networkUuid;
+
+    @Column(name = "dynamic_simulation_result_uuid")
+    private UUID dynamicSimulationResultUuid;
+
+    @Column(name = "batch_uuid")
+    private UUID batchUuid;
+
+    @Column(name = "variant_id")
+    private String variantId;
+
+    // result of the sweep this result is a combination of
+    @Column(name = "sweep_uuid")
+    private UUID sweepUuid;
+
+    @Column(name = "scenario_duration")
+    private Double scenarioDuration;
+
+    @Column(name = "contingencies_start_time")
+    private Double contingenciesStartTime;
+
+    // number of callers sharing this result through the deduplication of identical runs, see attachedReceivers
+    @Column(name = "reference_count")
+    private int referenceCount = 1;
+
+    @OneToMany(mappedBy = "result", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<DynamicSecurityAnalysisContingencyResultEntity> contingencyResults = new ArrayList<>();
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(
+        name = "dynamic_security_analysis_result_receiver",
+        joinColumns = @JoinColumn(name = "result_uuid"),
+        foreignKey = @ForeignKey(name = "dynamic_security_analysis_result_receiver_result_uuid_fk")
+    )
+    private List<ResultReceiverEmbeddable> attachedReceivers = new ArrayList<>();
+
+    public DynamicSecurityAnalysisResultEntity(UUID id, DynamicSecurityAnalysisStatus status, String debugFileLocation) {
+        this.id = id;
+        this.status = status;
+        this.debugFileLocation = debugFileLocation;
+        this.creationDate = Instant.now();
+    }
+
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.dynamicsecurityanalysis.server.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A run message held by the fair-share scheduler, waiting until dispatched then kept until the run completes so that
+ * the running runs of each user are counted
+ *
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "dynamic_security_analysis_pending_run", indexes = {
+    @Index(name = "dynamic_security_analysis_pending_run_user_id_idx", columnList = "user_id")
+})
+@Entity
+public class PendingRunEntity {
+
+    @Id
+    @Column(name = "result_uuid")
+    private UUID id;
+
+    @Column(name = "user_id")
+    private String userId;
+
+    @Column(name = "payload", columnDefinition = "CLOB")
+    private String payload;
+
+    // headers of the run message as json
+    @Column(name = "headers", columnDefinition = "CLOB")
+    private String headers;
+
+    @Column(name = "submission_date")
+    private Instant submissionDate;
+
+    // null while waiting
+    @Column(name = "dispatch_date")
+    private Instant dispatchDate;
+
+}
@@ -11,6 +11,8 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.parameters.AbortPolicy;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.parameters.ContingencyOrdering;
 import org.gridsuite.dynamicsecurityanalysis.server.dto.parameters.DynamicSecurityAnalysisParametersInfos;
 
 import java.util.ArrayList;
@@ -40,6 +42,41 @@ public class DynamicSecurityAnalysisParametersEntity {
     @Column(name = "contingencies_start_time")
     private Double contingenciesStartTime;
 
+    @Column(name = "screening_enabled")
+    private Boolean screeningEnabled;
+
+    @Column(name = "screening_threshold")
+    private Double screeningThreshold;
+
+    @Column(name = "two_stage_enabled")
+    private Boolean twoStageEnabled;
+
+    @Column(name = "coarse_scenario_duration")
+    private Double coarseScenarioDuration;
+
+    @Column(name = "coarse_precision")
+    private Double coarsePrecision;
+
+    @Column(name = "contingency_timeout")
+    private Double contingencyTimeout;
+
+    @Column(name = "abort_policy")
+    @Enumerated(EnumType.STRING)
+    private AbortPolicy abortPolicy;
+
+    @Column(name = "abort_threshold")
+    private Integer abortThreshold;
+
+    @Column(name = "contingency_ordering")
+    @Enumerated(EnumType.STRING)
+    private ContingencyOrdering contingencyOrdering;
+
+    @Column(name = "parallelism")
+    private Integer parallelism;
+
+    @Column(name = "warm_start_enabled")
+    private Boolean warmStartEnabled;
+
     @ElementCollection(fetch = FetchType.EAGER)
     @CollectionTable(
         name = "dynamic_security_analysis_parameters_contingency_list",
@@ -58,6 +95,17 @@ public class DynamicSecurityAnalysisParametersEntity {
         scenarioDuration = parametersInfos.getScenarioDuration();
         contingenciesStartTime = parametersInfos.getContingenciesStartTime();
         contingencyListIds = parametersInfos.getContingencyListIds();
+        screeningEnabled = parametersInfos.getScreeningEnabled();
+        screeningThreshold = parametersInfos.getScreeningThreshold();
+        twoStageEnabled = parametersInfos.getTwoStageEnabled();
+        coarseScenarioDuration = parametersInfos.getCoarseScenarioDuration();
+        coarsePrecision = parametersInfos.getCoarsePrecision();
+        contingencyTimeout = parametersInfos.getContingencyTimeout();
+        abortPolicy = parametersInfos.getAbortPolicy();
+        abortThreshold = parametersInfos.getAbortThreshold();
+        contingencyOrdering = parametersInfos.getContingencyOrdering();
+        parallelism = parametersInfos.getParallelism();
+        warmStartEnabled = parametersInfos.getWarmStartEnabled();
     }
 
     public void update(DynamicSecurityAnalysisParametersInfos parametersInfos) {
@@ -71,6 +119,17 @@ public class DynamicSecurityAnalysisParametersEntity {
                 .scenarioDuration(scenarioDuration)
                 .contingenciesStartTime(contingenciesStartTime)
                 .contingencyListIds(new ArrayList<>(contingencyListIds))
+                .screeningEnabled(screeningEnabled)
+                .screeningThreshold(screeningThreshold)
+                .twoStageEnabled(twoStageEnabled)
+                .coarseScenarioDuration(coarseScenarioDuration)
+                .coarsePrecision(coarsePrecision)
+                .contingencyTimeout(contingencyTimeout)
+                .abortPolicy(abortPolicy)
+                .abortThreshold(abortThreshold)
+                .contingencyOrdering(contingencyOrdering)
+                .parallelism(parallelism)
+                .warmStartEnabled(warmStartEnabled)
                 .build();
     }
 
@@ -14,7 +14,12 @@ import com.powsybl.ws.commons.error.BusinessErrorCode;
 public enum DynamicSecurityAnalysisBusinessErrorCode implements BusinessErrorCode {
     PROVIDER_NOT_FOUND("dynamicSecurityAnalysis.providerNotFound"),
     CONTINGENCIES_NOT_FOUND("dynamicSecurityAnalysis.contingenciesNotFound"),
-    CONTINGENCY_LIST_EMPTY("dynamicSecurityAnalysis.contingencyListEmpty");
+    CONTINGENCY_LIST_EMPTY("dynamicSecurityAnalysis.contingencyListEmpty"),
+    BATCH_VARIANTS_EMPTY("dynamicSecurityAnalysis.batchVariantsEmpty"),
+    SWEEP_INVALID("dynamicSecurityAnalysis.sweepInvalid"),
+    PARALLELISM_INVALID("dynamicSecurityAnalysis.parallelismInvalid"),
+    PREVIOUS_RESULT_INVALID("dynamicSecurityAnalysis.previousResultInvalid"),
+    RUN_QUEUE_FULL("dynamicSecurityAnalysis.runQueueFull");
 
     private final String code;
 
@@ -11,6 +11,7 @@ import com.powsybl.ws.commons.error.PowsyblWsProblemDetail;
 import com.powsybl.ws.commons.error.ServerNameProvider;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.NonNull;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -36,12 +37,24 @@ public class DynamicSecurityAnalysisExceptionHandler extends AbstractBusinessExc
             case PROVIDER_NOT_FOUND,
                  CONTINGENCIES_NOT_FOUND -> HttpStatus.NOT_FOUND;
             case CONTINGENCY_LIST_EMPTY -> HttpStatus.INTERNAL_SERVER_ERROR;
+            case BATCH_VARIANTS_EMPTY,
+                 SWEEP_INVALID,
+                 PARALLELISM_INVALID,
+                 PREVIOUS_RESULT_INVALID -> HttpStatus.BAD_REQUEST;
+            case RUN_QUEUE_FULL -> HttpStatus.TOO_MANY_REQUESTS;
         };
     }
 
     @ExceptionHandler(DynamicSecurityAnalysisException.class)
     public ResponseEntity<PowsyblWsProblemDetail> handleDynamicSecurityAnalysisException(DynamicSecurityAnalysisException exception, HttpServletRequest request) {
-        return super.handleDomainException(exception, request);
+        ResponseEntity<PowsyblWsProblemDetail> response = super.handleDomainException(exception, request);
+        if (exception instanceof RunQueueFullException runQueueFullException) {
+            return ResponseEntity.status(response.getStatusCode())
+                    .headers(response.getHeaders())
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(runQueueFullException.getRetryAfter().toSeconds()))
+                    .body(response.getBody());
+        }
+        return response;
     }
 
 }
@@ -0,0 +1,30 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.dynamicsecurityanalysis.server.error;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+import static org.gridsuite.dynamicsecurityanalysis.server.error.DynamicSecurityAnalysisBusinessErrorCode.RUN_QUEUE_FULL;
+
+/**
+ * Run rejected because the queue of runs is beyond the backpressure threshold
+ *
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+@Getter
+public class RunQueueFullException extends DynamicSecurityAnalysisException {
+
+    // delay after which the caller may retry, sent as Retry-After header
+    private final Duration retryAfter;
+
+    public RunQueueFullException(String message, Duration retryAfter) {
+        super(RUN_QUEUE_FULL, message);
+        this.retryAfter = retryAfter;
+    }
+}
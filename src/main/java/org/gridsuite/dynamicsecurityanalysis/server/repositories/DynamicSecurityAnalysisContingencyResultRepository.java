@@ -0,0 +1,26 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package org.gridsuite.dynamicsecurityanalysis.server.repositories;
+
+import org.gridsuite.dynamicsecurityanalysis.server.entities.DynamicSecurityAnalysisContingencyResultEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+@Repository
+public interface DynamicSecurityAnalysisContingencyResultRepository extends JpaRepository<DynamicSecurityAnalysisContingencyResultEntity, UUID> {
+    @Query("SELECT c FROM DynamicSecurityAnalysisContingencyResultEntity c WHERE c.result.networkUuid = :networkUuid")
+    List<DynamicSecurityAnalysisContingencyResultEntity> findAllByNetworkUuid(@Param("networkUuid") UUID networkUuid);
+}
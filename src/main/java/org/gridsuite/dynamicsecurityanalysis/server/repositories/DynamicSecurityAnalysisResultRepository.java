@@ -7,13 +7,20 @@
 
 package org.gridsuite.dynamicsecurityanalysis.server.repositories;
 
+import jakarta.persistence.LockModeType;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.DynamicSecurityAnalysisStatus;
 import org.gridsuite.dynamicsecurityanalysis.server.entities.DynamicSecurityAnalysisResultEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -25,4 +32,32 @@ public interface DynamicSecurityAnalysisResultRepository extends JpaRepository<D
     @Query("UPDATE DynamicSecurityAnalysisResultEntity r SET r.debugFileLocation = :debugFileLocation WHERE r.id = :resultUuid")
     int updateDebugFileLocation(@Param("resultUuid") UUID resultUuid, @Param("debugFileLocation") String debugFileLocation);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM DynamicSecurityAnalysisResultEntity r WHERE r.id = :resultUuid")
+    Optional<DynamicSecurityAnalysisResultEntity> findByIdForUpdate(@Param("resultUuid") UUID resultUuid);
+
+    List<DynamicSecurityAnalysisResultEntity> findAllByBatchUuid(UUID batchUuid);
+
+    List<DynamicSecurityAnalysisResultEntity> findAllBySweepUuid(UUID sweepUuid);
+
+    void deleteAllBySweepUuid(UUID sweepUuid);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<DynamicSecurityAnalysisResultEntity> findAllForUpdateByInputsHashAndStatusIn(String inputsHash, Collection<DynamicSecurityAnalysisStatus> statuses);
+
+    // the result of a sweep is not counted, its combinations are
+    @Query("SELECT COUNT(r) FROM DynamicSecurityAnalysisResultEntity r WHERE r.status IN :statuses AND r.creationDate > :date " +
+           "AND NOT EXISTS (SELECT c.id FROM DynamicSecurityAnalysisResultEntity c WHERE c.sweepUuid = r.id)")
+    long countRunsByStatusInCreatedAfter(@Param("statuses") Collection<DynamicSecurityAnalysisStatus> statuses, @Param("date") Instant date);
+
+    @Modifying
+    @Query("UPDATE DynamicSecurityAnalysisResultEntity r SET r.status = :status WHERE r.id = :resultUuid AND r.status = :expectedStatus")
+    int updateStatusIfEquals(@Param("resultUuid") UUID resultUuid, @Param("expectedStatus") DynamicSecurityAnalysisStatus expectedStatus,
+                             @Param("status") DynamicSecurityAnalysisStatus status);
+
+    @Modifying
+    @Query("UPDATE DynamicSecurityAnalysisResultEntity r SET r.status = :status WHERE r.sweepUuid = :sweepUuid AND r.status = :expectedStatus")
+    int updateSweepStatusIfEquals(@Param("sweepUuid") UUID sweepUuid, @Param("expectedStatus") DynamicSecurityAnalysisStatus expectedStatus,
+                                  @Param("status") DynamicSecurityAnalysisStatus status);
+
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.dynamicsecurityanalysis.server.repositories;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.DynamicSecurityAnalysisStatus;
+import org.gridsuite.dynamicsecurityanalysis.server.entities.PendingRunEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+@Repository
+public interface PendingRunRepository extends JpaRepository<PendingRunEntity, UUID> {
+
+    List<PendingRunEntity> findAllByOrderBySubmissionDate();
+
+    // the rows locked by another server instance dispatching them are skipped (a lock timeout of -2 is SKIP LOCKED)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT r FROM PendingRunEntity r WHERE r.id IN :ids AND r.dispatchDate IS NULL")
+    List<PendingRunEntity> findAllWaitingForUpdateSkipLockedByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query("UPDATE PendingRunEntity r SET r.dispatchDate = NULL WHERE r.id = :id")
+    int resetDispatchDate(@Param("id") UUID id);
+
+    @Modifying
+    @Query("DELETE FROM PendingRunEntity r WHERE r.dispatchDate < :date")
+    int deleteAllDispatchedBefore(@Param("date") Instant date);
+
+    // dispatched runs whose result is not pending anymore, or deleted, but which have not been released
+    @Modifying
+    @Query("DELETE FROM PendingRunEntity p WHERE p.dispatchDate IS NOT NULL AND NOT EXISTS " +
+           "(SELECT r.id FROM DynamicSecurityAnalysisResultEntity r WHERE r.id = p.id AND r.status IN :statuses)")
+    int deleteAllDispatchedWithoutResultIn(@Param("statuses") Collection<DynamicSecurityAnalysisStatus> statuses);
+}
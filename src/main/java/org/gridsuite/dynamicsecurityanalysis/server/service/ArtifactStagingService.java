@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.dynamicsecurityanalysis.server.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Stages the artifacts of a dynamic simulation result in S3 the first time they are requested, so that the following runs,
+ * on any worker, read them from S3 instead of the dynamic simulation server. Large artifacts are read with parallel ranged GETs.
+ * <p>
+ * Staged artifacts are immutable, as the dynamic simulation result they come from, and are expired by the lifecycle rules
+ * of the bucket. S3 is only a cache: an artifact that cannot be read from S3 is loaded again from its source.
+ * <p>
+ * An artifact is held in a byte array, so a staged artifact larger than {@link #MAX_ARTIFACT_SIZE} is rejected.
+ *
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+@Service
+public class ArtifactStagingService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ArtifactStagingService.class);
+
+    private static final String STAGING_DIR = "dsa-staging";
+
+    // largest array size supported by the JVMs
+    static final long MAX_ARTIFACT_SIZE = Integer.MAX_VALUE - 8L;
+
+    private final S3Client s3Client;
+    private final String bucketName;
+    private final boolean enabled;
+    private final long partSize;
+
+    public ArtifactStagingService(ObjectProvider<S3Client> s3Client,
+                                  @Value("${spring.cloud.aws.bucket:ws-bucket}") String bucketName,
+                                  @Value("${dynamic-security-analysis.s3-staging.enabled:false}") boolean enabled,
+                                  @Value("${dynamic-security-analysis.s3-staging.part-size:8MB}") DataSize partSize) {
+        // no staging without S3
+        this.s3Client = s3Client.getIfAvailable();
+        this.bucketName = bucketName;
+        this.enabled = enabled && this.s3Client != null;
+        this.partSize = Math.max(1, partSize.toBytes());
+    }
+
+    /**
+     * @param loader loads the artifact from its source when it is not staged yet
+     */
+    public byte[] get(UUID dynamicSimulationResultUuid, String artifactName, Supplier<byte[]> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        String key = STAGING_DIR + "/" + dynamicSimulationResultUuid + "/" + artifactName;
+        Long contentLength;
+        try {
+            contentLength = getContentLength(key);
+        } catch (SdkException e) {
+            LOGGER.warn("Error occurred while reading the artifact {} in S3, it is loaded from its source => {}", key, e.getMessage());
+            return loader.get();
+        }
+        if (contentLength != null) {
+            if (contentLength > MAX_ARTIFACT_SIZE) {
+                throw new IllegalStateException(String.format("Staged artifact %s of %d bytes exceeds the maximum artifact size of %d bytes",
+                        key, contentLength, MAX_ARTIFACT_SIZE));
+            }
+            try {
+                return download(key, contentLength);
+            } catch (SdkException e) {
+                LOGGER.warn("Error occurred while reading the artifact {} in S3, it is loaded from its source => {}", key, e.getMessage());
+                return loader.get();
+            }
+        }
+
+        // first request, two workers may stage the same artifact concurrently with the same content
+        byte[] artifact = loader.get();
+        try {
+            s3Client.putObject(PutObjectRequest.builder().bucket(bucketName).key(key).build(), RequestBody.fromBytes(artifact));
+        } catch (SdkException e) {
+            LOGGER.warn("Error occurred while staging the artifact {} in S3, it will be loaded again from its source => {}", key, e.getMessage());
+        }
+        return artifact;
+    }
+
+    /**
+     * @return the size of the staged artifact, null if not staged yet
+     */
+    private Long getContentLength(String key) {
+        try {
+            return s3Client.headObject(HeadObjectRequest.builder().bucket(bucketName).key(key).build()).contentLength();
+        } catch (NoSuchKeyException e) {
+            return null;
+        }
+    }
+
+    private byte[] download(String key, long contentLength) {
+        if (contentLength <= partSize) {
+            return s3Client.getObjectAsBytes(GetObjectRequest.builder().bucket(bucketName).key(key).build()).asByteArray();
+        }
+
+        // parallel ranged GETs, each part written at its offset
+        byte[] artifact = new byte[(int) contentLength];
+        List<CompletableFuture<Void>> partFutures = new ArrayList<>();
+        try (ExecutorService partExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long start = 0; start < contentLength; start += partSize) {
+                long partStart = start;
+                long partEnd = Math.min(start + partSize, contentLength) - 1;
+                partFutures.add(CompletableFuture.runAsync(() -> {
+                    byte[] part = s3Client.getObjectAsBytes(GetObjectRequest.builder().bucket(bucketName).key(key)
+                            .range("bytes=" + partStart + "-" + partEnd).build()).asByteArray();
+                    System.arraycopy(part, 0, artifact, (int) partStart, part.length);
+                }, partExecutor));
+            }
+        }
+        try {
+            CompletableFuture.allOf(partFutures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return artifact;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.dynamicsecurityanalysis.server.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Worker-local cache of the inputs shared by the runs of a same batch, e.g. the resolved contingencies or
+ * the artifacts of a dynamic simulation result used by several variants, so that they are fetched once per worker.
+ * The scope of an entry may also be a dynamic simulation result whose runs are routed to the same worker.
+ * <p>
+ * Bounded by the total weight of its entries, the least recently used entries being evicted first. The weight of a byte
+ * array is its length, the weight of a collection is its size times {@link #ELEMENT_WEIGHT}, an approximation of a
+ * resolved contingency, and any other value weighs {@link #ELEMENT_WEIGHT}. A value heavier than the limit is not cached.
+ * Cached values are shared between runs and must not be modified.
+ *
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+@Service
+public class BatchInputsCache {
+
+    static final long ELEMENT_WEIGHT = 1024;
+
+    private final long maxWeight;
+    private final Map<String, Object> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+
+    @Autowired
+    public BatchInputsCache(@Value("${dynamic-security-analysis.batch-cache.max-size:512MB}") DataSize maxSize) {
+        this(maxSize.toBytes());
+    }
+
+    BatchInputsCache(long maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * @param batchUuid batch of the run, or any scope sharing the input, no caching if null
+     * @param key       key of the input within the batch
+     * @param loader    loads the input when not cached, called outside any lock
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(UUID batchUuid, String key, Supplier<T> loader) {
+        if (batchUuid == null) {
+            return loader.get();
+        }
+
+        String entryKey = batchUuid + "/" + Objects.requireNonNull(key);
+        synchronized (entries) {
+            Object value = entries.get(entryKey);
+            if (value != null) {
+                return (T) value;
+            }
+        }
+
+        // two runs of the same batch may load the same input concurrently, the last one wins
+        T value = loader.get();
+        long valueWeight = weigh(value);
+        if (value == null || valueWeight > maxWeight) {
+            return value;
+        }
+        synchronized (entries) {
+            Object previousValue = entries.put(entryKey, value);
+            weight += valueWeight - (previousValue != null ? weigh(previousValue) : 0);
+            Iterator<Object> eldestValues = entries.values().iterator();
+            while (weight > maxWeight) {
+                weight -= weigh(eldestValues.next());
+                eldestValues.remove();
+            }
+        }
+        return value;
+    }
+
+    /**
+     * @return the total weight of the cached entries
+     */
+    long getWeight() {
+        synchronized (entries) {
+            return weight;
+        }
+    }
+
+    private static long weigh(Object value) {
+        if (value instanceof byte[] bytes) {
+            return bytes.length;
+        }
+        if (value instanceof Collection<?> collection) {
+            return Math.max(1, collection.size()) * ELEMENT_WEIGHT;
+        }
+        return ELEMENT_WEIGHT;
+    }
+}
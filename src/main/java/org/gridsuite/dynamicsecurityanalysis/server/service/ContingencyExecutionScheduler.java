@@ -0,0 +1,367 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.dynamicsecurityanalysis.server.service;
+
+import com.powsybl.contingency.Contingency;
+import com.powsybl.security.SecurityAnalysisReport;
+import com.powsybl.security.SecurityAnalysisResult;
+import com.powsybl.security.results.PostContingencyResult;
+import com.powsybl.security.results.PreContingencyResult;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Simulate contingencies by chunks with a bounded concurrency, each simulation being watched by a wall-clock timeout.
+ * <p>
+ * A chunk is simulated by a single run, so that the inputs exported for the run are shared by its contingencies. Chunks are
+ * at most the maximum chunk size, and smaller when there are few pending contingencies, so that all the simultaneous
+ * simulations are used. By default, a chunk is a single contingency.
+ * <p>
+ * A simulation exceeding the timeout, i.e. the timeout times the size of its chunk, is cancelled, i.e. its process is
+ * killed, while the others continue. The contingencies of a timed out chunk of several contingencies are simulated again
+ * one by one, so that only the hanging ones are reported as timed out.
+ * <p>
+ * An optional abort condition stops the whole execution once enough results match it, the outstanding simulations
+ * being cancelled and the results computed so far being kept. Results arriving once the execution is completed, aborted
+ * or cancelled are dropped.
+ * <p>
+ * One instance per run, not reusable.
+ *
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+public class ContingencyExecutionScheduler {
+
+    private final IntSupplier concurrency;
+    private final Long timeoutMillis;
+    private final Function<List<Contingency>, CompletableFuture<SecurityAnalysisReport>> simulation;
+    private final Consumer<String> timeoutConsumer;
+    private final int maxChunkSize;
+
+    private Consumer<PostContingencyResult> resultConsumer = postContingencyResult -> { };
+    // guarded by this
+    private boolean resultConsumerStarted = true;
+
+    private Predicate<PostContingencyResult> abortPredicate;
+    private int abortThreshold;
+    private Consumer<List<String>> abortConsumer;
+    private int abortCount;
+
+    private final Deque<Contingency> pendingContingencies;
+    // contingencies of timed out chunks, simulated again one by one first
+    private final Deque<Contingency> isolatedContingencies = new ArrayDeque<>();
+    // ids of the contingencies submitted and not completed yet, guarded by this
+    private final Set<String> runningContingencyIds = new LinkedHashSet<>();
+    private final Set<CompletableFuture<SecurityAnalysisReport>> runningSimulations = ConcurrentHashMap.newKeySet();
+    private final Set<CompletableFuture<SecurityAnalysisReport>> timedOutSimulations = ConcurrentHashMap.newKeySet();
+    private final List<PostContingencyResult> postContingencyResults = new ArrayList<>();
+    private final CompletableFuture<SecurityAnalysisReport> completion = new CompletableFuture<>();
+    private PreContingencyResult preContingencyResult;
+    private int remainingCount;
+    private int runningCount;
+    // set once, under the lock, by the thread completing the execution
+    private boolean finished;
+
+    /**
+     * @param concurrency     maximum number of simultaneous simulations
+     * @param timeoutMillis   wall-clock timeout of each simulation in milliseconds, null for no timeout
+     * @param contingencies   contingencies to simulate, in order of submission
+     * @param simulation      simulation of a single contingency
+     * @param timeoutConsumer called with the id of each contingency whose simulation has timed out
+     */
+    public ContingencyExecutionScheduler(int concurrency, Long timeoutMillis, List<Contingency> contingencies,
+                                         Function<Contingency, CompletableFuture<SecurityAnalysisReport>> simulation,
+                                         Consumer<String> timeoutConsumer) {
+        this(() -> concurrency, timeoutMillis, contingencies, simulation, timeoutConsumer);
+    }
+
+    /**
+     * @param concurrency maximum number of simultaneous simulations, read again each time a simulation completes so that
+     *                    it can change while running, e.g. with the CPUs allocated to the run
+     */
+    public ContingencyExecutionScheduler(IntSupplier concurrency, Long timeoutMillis, List<Contingency> contingencies,
+                                         Function<Contingency, CompletableFuture<SecurityAnalysisReport>> simulation,
+                                         Consumer<String> timeoutConsumer) {
+        this(concurrency, timeoutMillis, contingencies, 1, chunk -> simulation.apply(chunk.get(0)), timeoutConsumer);
+    }
+
+    private ContingencyExecutionScheduler(IntSupplier concurrency, Long timeoutMillis, List<Contingency> contingencies, int maxChunkSize,
+                                          Function<List<Contingency>, CompletableFuture<SecurityAnalysisReport>> simulation,
+                                          Consumer<String> timeoutConsumer) {
+        this.concurrency = Objects.requireNonNull(concurrency);
+        this.timeoutMillis = timeoutMillis;
+        this.maxChunkSize = Math.max(1, maxChunkSize);
+        this.simulation = Objects.requireNonNull(simulation);
+        this.timeoutConsumer = Objects.requireNonNull(timeoutConsumer);
+        this.pendingContingencies = new ArrayDeque<>(contingencies);
+        this.remainingCount = contingencies.size();
+    }
+
+    /**
+     * @param maxChunkSize maximum number of contingencies simulated by a single run
+     * @param simulation   simulation of a chunk of contingencies
+     */
+    public static ContingencyExecutionScheduler ofChunks(IntSupplier concurrency, Long timeoutMillis, List<Contingency> contingencies,
+                                                         int maxChunkSize,
+                                                         Function<List<Contingency>, CompletableFuture<SecurityAnalysisReport>> simulation,
+                                                         Consumer<String> timeoutConsumer) {
+        return new ContingencyExecutionScheduler(concurrency, timeoutMillis, contingencies, maxChunkSize, simulation, timeoutConsumer);
+    }
+
+    /**
+     * @param resultConsumer called with each result as soon as it is available, never once the execution is completed
+     */
+    public ContingencyExecutionScheduler withResultConsumer(Consumer<PostContingencyResult> resultConsumer) {
+        return withResultConsumer(resultConsumer, true);
+    }
+
+    /**
+     * @param started whether the result consumer is called from the start, otherwise only once {@link #startResultConsumer()}
+     *                is called
+     */
+    public synchronized ContingencyExecutionScheduler withResultConsumer(Consumer<PostContingencyResult> resultConsumer, boolean started) {
+        this.resultConsumer = Objects.requireNonNull(resultConsumer);
+        this.resultConsumerStarted = started;
+        return this;
+    }
+
+    /**
+     * Call the result consumer with the results computed so far, then with each result as soon as it is available.
+     * No-op if already started or once the execution is completed.
+     */
+    public synchronized void startResultConsumer() {
+        if (!resultConsumerStarted && !isFinished()) {
+            resultConsumerStarted = true;
+            postContingencyResults.forEach(resultConsumer);
+        }
+    }
+
+    /**
+     * Abort once the given number of results match the predicate
+     *
+     * @param abortConsumer called once with the ids of the not simulated contingencies when aborting
+     */
+    public ContingencyExecutionScheduler withAbortCondition(Predicate<PostContingencyResult> abortPredicate, int abortThreshold,
+                                                            Consumer<List<String>> abortConsumer) {
+        this.abortPredicate = Objects.requireNonNull(abortPredicate);
+        this.abortThreshold = Math.max(1, abortThreshold);
+        this.abortConsumer = Objects.requireNonNull(abortConsumer);
+        return this;
+    }
+
+    /**
+     * @return the number of simulations currently running
+     */
+    public synchronized int getRunningCount() {
+        return runningCount;
+    }
+
+    /**
+     * @return a future completed with the merged report once all contingencies have been processed,
+     * cancelling it cancels the running simulations
+     */
+    public CompletableFuture<SecurityAnalysisReport> run() {
+        completion.whenComplete((report, throwable) -> {
+            if (completion.isCancelled()) {
+                cancelRunningSimulations();
+            }
+        });
+
+        boolean empty;
+        synchronized (this) {
+            empty = remainingCount == 0;
+            finished = empty;
+        }
+        if (empty) {
+            complete();
+        }
+        submitNext();
+        return completion;
+    }
+
+    /**
+     * Submit pending contingencies up to the current concurrency
+     */
+    private void submitNext() {
+        while (true) {
+            List<Contingency> chunk;
+            synchronized (this) {
+                int maxRunningCount = Math.max(1, concurrency.getAsInt());
+                if (isFinished() || runningCount >= maxRunningCount) {
+                    return;
+                }
+                chunk = pollChunk(maxRunningCount);
+                if (chunk.isEmpty()) {
+                    return;
+                }
+                chunk.forEach(contingency -> runningContingencyIds.add(contingency.getId()));
+                runningCount++;
+            }
+            submit(chunk);
+        }
+    }
+
+    /**
+     * @return the next chunk, sized so that the pending contingencies are spread over all the simultaneous simulations
+     */
+    private List<Contingency> pollChunk(int maxRunningCount) {
+        Contingency isolatedContingency = isolatedContingencies.poll();
+        if (isolatedContingency != null) {
+            return List.of(isolatedContingency);
+        }
+        int chunkSize = Math.min(maxChunkSize, Math.max(1, pendingContingencies.size() / maxRunningCount));
+        List<Contingency> chunk = new ArrayList<>(chunkSize);
+        while (chunk.size() < chunkSize && !pendingContingencies.isEmpty()) {
+            chunk.add(pendingContingencies.poll());
+        }
+        return chunk;
+    }
+
+    private void submit(List<Contingency> chunk) {
+        CompletableFuture<SecurityAnalysisReport> future;
+        try {
+            future = simulation.apply(chunk);
+        } catch (Exception e) {
+            completeExceptionally(e);
+            return;
+        }
+        runningSimulations.add(future);
+        if (isFinished()) {
+            // completed meanwhile, missed by the cancellation of the running simulations
+            future.cancel(true);
+        }
+
+        // watchdog
+        if (timeoutMillis != null) {
+            CompletableFuture.delayedExecutor(timeoutMillis * chunk.size(), TimeUnit.MILLISECONDS).execute(() -> {
+                if (!future.isDone()) {
+                    timedOutSimulations.add(future);
+                    if (!future.cancel(true)) {
+                        timedOutSimulations.remove(future);
+                    }
+                }
+            });
+        }
+
+        future.whenComplete((report, throwable) -> onSimulationCompleted(chunk, future, report, throwable));
+    }
+
+    private void onSimulationCompleted(List<Contingency> chunk, CompletableFuture<SecurityAnalysisReport> future,
+                                       SecurityAnalysisReport report, Throwable throwable) {
+        runningSimulations.remove(future);
+        boolean timedOut = timedOutSimulations.remove(future);
+        if (throwable != null && !future.isCancelled()) {
+            // not a timeout, the whole run fails
+            synchronized (this) {
+                release(chunk);
+            }
+            completeExceptionally(throwable);
+            return;
+        }
+
+        List<String> notSimulatedContingencyIds = null;
+        boolean requeued = false;
+        boolean allDone;
+        synchronized (this) {
+            release(chunk);
+            if (isFinished()) {
+                // late result of a completed, aborted or cancelled execution
+                return;
+            }
+            if (throwable == null) {
+                List<PostContingencyResult> results = report.getResult().getPostContingencyResults();
+                if (preContingencyResult == null) {
+                    preContingencyResult = report.getResult().getPreContingencyResult();
+                }
+                postContingencyResults.addAll(results);
+                // published under the lock so that no result is published once the execution is completed
+                if (resultConsumerStarted) {
+                    results.forEach(resultConsumer);
+                }
+                if (abortPredicate != null) {
+                    abortCount += (int) results.stream().filter(abortPredicate).count();
+                    if (abortCount >= abortThreshold) {
+                        finished = true;
+                        notSimulatedContingencyIds = new ArrayList<>(runningContingencyIds);
+                        for (Contingency contingency : isolatedContingencies) {
+                            notSimulatedContingencyIds.add(contingency.getId());
+                        }
+                        for (Contingency contingency : pendingContingencies) {
+                            notSimulatedContingencyIds.add(contingency.getId());
+                        }
+                        isolatedContingencies.clear();
+                        pendingContingencies.clear();
+                    }
+                }
+            } else if (timedOut && chunk.size() > 1) {
+                // the hanging contingencies of the chunk are not known, its contingencies are simulated again one by one
+                for (int i = chunk.size() - 1; i >= 0; i--) {
+                    isolatedContingencies.addFirst(chunk.get(i));
+                }
+                requeued = true;
+            }
+            if (notSimulatedContingencyIds == null && !requeued) {
+                remainingCount -= chunk.size();
+            }
+            allDone = notSimulatedContingencyIds == null && remainingCount == 0;
+            finished |= allDone;
+        }
+
+        if (notSimulatedContingencyIds != null) {
+            abortConsumer.accept(notSimulatedContingencyIds);
+            complete();
+            cancelRunningSimulations();
+            return;
+        }
+        if (timedOut && chunk.size() == 1) {
+            timeoutConsumer.accept(chunk.get(0).getId());
+        }
+        if (allDone) {
+            complete();
+        } else {
+            submitNext();
+        }
+    }
+
+    private synchronized void release(List<Contingency> chunk) {
+        chunk.forEach(contingency -> runningContingencyIds.remove(contingency.getId()));
+        runningCount--;
+    }
+
+    private synchronized boolean isFinished() {
+        return finished || completion.isDone();
+    }
+
+    private void complete() {
+        SecurityAnalysisReport report;
+        synchronized (this) {
+            report = new SecurityAnalysisReport(new SecurityAnalysisResult(
+                    Optional.ofNullable(preContingencyResult).orElseGet(PreContingencyResult::new),
+                    new ArrayList<>(postContingencyResults), List.of()));
+        }
+        completion.complete(report);
+    }
+
+    private void completeExceptionally(Throwable throwable) {
+        synchronized (this) {
+            finished = true;
+        }
+        if (completion.completeExceptionally(throwable)) {
+            cancelRunningSimulations();
+        }
+    }
+
+    private void cancelRunningSimulations() {
+        runningSimulations.forEach(future -> future.cancel(true));
+    }
+}
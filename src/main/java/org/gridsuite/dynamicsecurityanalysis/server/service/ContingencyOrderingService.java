@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.dynamicsecurityanalysis.server.service;
+
+import com.powsybl.contingency.Contingency;
+import com.powsybl.contingency.ContingencyElement;
+import com.powsybl.iidm.network.*;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.contingency.ContingencyResultInfos;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.contingency.ContingencyResultStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.BinaryOperator;
+
+/**
+ * Sort contingencies so that the most severe ones are simulated first.
+ * <p>
+ * The severity is taken from previous results on the same network: failed or timed out contingencies first, then by
+ * number of limit violations, then by estimated severity. Contingencies without previous result come after, sorted by
+ * the highest nominal voltage of their elements, then by element type (buses, branches, generators, others).
+ *
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+@Service
+public class ContingencyOrderingService {
+
+    private static final Set<ContingencyResultStatus> SIMULATED_STATUSES = EnumSet.of(ContingencyResultStatus.SUCCEED,
+            ContingencyResultStatus.FAILED, ContingencyResultStatus.TIMEOUT);
+
+    private static final Comparator<ContingencyResultInfos> PREVIOUS_RESULT_SEVERITY_COMPARATOR = Comparator
+            .comparing((ContingencyResultInfos result) -> result.getStatus() != ContingencyResultStatus.SUCCEED)
+            .thenComparing(result -> Optional.ofNullable(result.getLimitViolationCount()).orElse(0))
+            .thenComparing(result -> Optional.ofNullable(result.getSeverity()).orElse(0.0));
+
+    private final DynamicSecurityAnalysisResultService resultService;
+
+    public ContingencyOrderingService(DynamicSecurityAnalysisResultService resultService) {
+        this.resultService = resultService;
+    }
+
+    public List<Contingency> sortBySeverity(Network network, UUID networkUuid, List<Contingency> contingencies) {
+        return sortBySeverity(network, contingencies, findMostSevereResults(resultService.findContingencyResultsByNetwork(networkUuid)));
+    }
+
+    /**
+     * @param previousResults most severe previous result indexed by contingency id
+     */
+    public List<Contingency> sortBySeverity(Network network, List<Contingency> contingencies, Map<String, ContingencyResultInfos> previousResults) {
+        Comparator<Contingency> comparator = Comparator
+                .comparing((Contingency contingency) -> previousResults.get(contingency.getId()),
+                        Comparator.nullsFirst(PREVIOUS_RESULT_SEVERITY_COMPARATOR))
+                .thenComparingDouble(contingency -> getMaxNominalV(network, contingency))
+                .thenComparingInt(contingency -> getTypeRank(network, contingency))
+                .reversed();
+
+        // stable sort, i.e. the order of the actions server is kept between contingencies of same severity
+        List<Contingency> sortedContingencies = new ArrayList<>(contingencies);
+        sortedContingencies.sort(comparator);
+        return sortedContingencies;
+    }
+
+    /**
+     * Keep for each contingency its most severe simulated result
+     */
+    static Map<String, ContingencyResultInfos> findMostSevereResults(List<ContingencyResultInfos> contingencyResults) {
+        Map<String, ContingencyResultInfos> mostSevereResults = new HashMap<>();
+        contingencyResults.stream()
+                .filter(result -> SIMULATED_STATUSES.contains(result.getStatus()))
+                .forEach(result -> mostSevereResults.merge(result.getContingencyId(), result,
+                        BinaryOperator.maxBy(PREVIOUS_RESULT_SEVERITY_COMPARATOR)));
+        return mostSevereResults;
+    }
+
+    private static double getMaxNominalV(Network network, Contingency contingency) {
+        return contingency.getElements().stream()
+                .map(element -> network.getIdentifiable(element.getId()))
+                .filter(Objects::nonNull)
+                .mapToDouble(ContingencyOrderingService::getNominalV)
+                .max().orElse(0);
+    }
+
+    private static double getNominalV(Identifiable<?> identifiable) {
+        if (identifiable instanceof Injection<?> injection) {
+            return injection.getTerminal().getVoltageLevel().getNominalV();
+        } else if (identifiable instanceof Branch<?> branch) {
+            return Math.max(branch.getTerminal1().getVoltageLevel().getNominalV(), branch.getTerminal2().getVoltageLevel().getNominalV());
+        } else if (identifiable instanceof ThreeWindingsTransformer transformer) {
+            return transformer.getLeg1().getTerminal().getVoltageLevel().getNominalV();
+        }
+        return 0;
+    }
+
+    private static int getTypeRank(Network network, Contingency contingency) {
+        return contingency.getElements().stream()
+                .map(ContingencyElement::getId)
+                .map(network::getIdentifiable)
+                .filter(Objects::nonNull)
+                .mapToInt(identifiable -> switch (identifiable.getType()) {
+                    case BUSBAR_SECTION, BUS -> 3;
+                    case LINE, TWO_WINDINGS_TRANSFORMER, THREE_WINDINGS_TRANSFORMER, TIE_LINE, HVDC_LINE -> 2;
+                    case GENERATOR -> 1;
+                    default -> 0;
+                })
+                .max().orElse(0);
+    }
+}
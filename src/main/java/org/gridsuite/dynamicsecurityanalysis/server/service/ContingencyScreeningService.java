@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.dynamicsecurityanalysis.server.service;
+
+import com.powsybl.contingency.Contingency;
+import com.powsybl.contingency.ContingencyElement;
+import com.powsybl.iidm.network.*;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fast static pre-screening of contingencies, run on the network variant before the dynamic simulation.
+ * <p>
+ * The severity of a contingency is estimated by the active power (in MW) flowing through or injected by the
+ * tripped elements in the pre-contingency state. Elements whose power can not be evaluated (not found, not
+ * supported type, no flow computed) make the severity of the contingency unknown, which means it is always simulated.
+ *
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+@Service
+public class ContingencyScreeningService {
+
+    /**
+     * Estimate the severity of the given contingencies
+     *
+     * @return severities indexed by contingency id, contingencies with an unknown severity are absent
+     */
+    public Map<String, Double> computeSeverities(Network network, List<Contingency> contingencies) {
+        Map<String, Double> severities = new HashMap<>();
+        for (Contingency contingency : contingencies) {
+            double severity = computeSeverity(network, contingency);
+            if (!Double.isNaN(severity)) {
+                severities.put(contingency.getId(), severity);
+            }
+        }
+        return severities;
+    }
+
+    /**
+     * @return the estimated severity in MW or NaN if unknown
+     */
+    public double computeSeverity(Network network, Contingency contingency) {
+        double severity = 0;
+        for (ContingencyElement element : contingency.getElements()) {
+            severity += computeActivePower(network.getIdentifiable(element.getId()));
+        }
+        return severity;
+    }
+
+    private static double computeActivePower(Identifiable<?> identifiable) {
+        if (identifiable instanceof Generator generator) {
+            return absOrElse(generator.getTerminal().getP(), generator.getTargetP());
+        } else if (identifiable instanceof Load load) {
+            return absOrElse(load.getTerminal().getP(), load.getP0());
+        } else if (identifiable instanceof Battery battery) {
+            return absOrElse(battery.getTerminal().getP(), battery.getTargetP());
+        } else if (identifiable instanceof Injection<?> injection) {
+            return Math.abs(injection.getTerminal().getP());
+        } else if (identifiable instanceof Branch<?> branch) {
+            return maxAbs(branch.getTerminal1().getP(), branch.getTerminal2().getP());
+        } else if (identifiable instanceof ThreeWindingsTransformer transformer) {
+            return maxAbs(transformer.getLeg1().getTerminal().getP(), transformer.getLeg2().getTerminal().getP(),
+                    transformer.getLeg3().getTerminal().getP());
+        } else if (identifiable instanceof HvdcLine hvdcLine) {
+            return Math.abs(hvdcLine.getActivePowerSetpoint());
+        }
+        // not found or not supported element
+        return Double.NaN;
+    }
+
+    private static double absOrElse(double p, double fallbackP) {
+        return Math.abs(Double.isNaN(p) ? fallbackP : p);
+    }
+
+    private static double maxAbs(double... values) {
+        // NaN is propagated, i.e. a flow not computed on one side means unknown
+        return Arrays.stream(values).map(Math::abs).max().orElse(Double.NaN);
+    }
+}
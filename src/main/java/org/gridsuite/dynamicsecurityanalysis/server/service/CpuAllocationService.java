@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.dynamicsecurityanalysis.server.service;
+
+import org.gridsuite.dynamicsecurityanalysis.server.utils.ProcessUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Partitions the CPUs of the worker between the runs simulating at the same time, so that concurrent runs do not each
+ * assume they own all the cores and oversubscribe the node. Each run gets a share of the CPUs, at least one when there are
+ * more runs than CPUs, and the shares are rebalanced each time a run starts or finishes.
+ * <p>
+ * The processes of a run are pinned to a contiguous share of the allowed CPUs only when the process is restricted to a
+ * cpuset, the CPUs being then owned by the worker. When the worker is only limited by a CFS quota, it may be scheduled on
+ * any CPU of the node, possibly shared with other pods, so a run is only given a number of CPUs, bounding the number of
+ * its simultaneous simulations, see {@link CpuAllocation#getCpuCount()}.
+ * <p>
+ * Only the number of CPUs of the available processors is used, the JVM being possibly limited by a cgroup quota.
+ * Disabled by default, i.e. no allocation.
+ *
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+@Service
+public class CpuAllocationService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CpuAllocationService.class);
+
+    /**
+     * CPUs allocated to a run, changing while the run is simulating
+     */
+    public static final class CpuAllocation {
+
+        private volatile List<Integer> cpus = List.of();
+        private volatile int cpuCount;
+        private final Consumer<CpuAllocation> changeListener;
+
+        private CpuAllocation(Consumer<CpuAllocation> changeListener) {
+            this.changeListener = changeListener;
+        }
+
+        /**
+         * @return the CPUs the processes of the run are pinned to, empty when not pinned
+         */
+        public List<Integer> getCpus() {
+            return cpus;
+        }
+
+        public boolean isPinned() {
+            return !cpus.isEmpty();
+        }
+
+        /**
+         * @return the number of CPUs of the run, pinned or not
+         */
+        public int getCpuCount() {
+            return cpuCount;
+        }
+
+        /**
+         * @return whether the pinned CPUs of an already allocated run have changed
+         */
+        private boolean setCpus(List<Integer> cpus, int cpuCount) {
+            boolean changed = !this.cpus.isEmpty() && !this.cpus.equals(cpus);
+            this.cpus = cpus;
+            this.cpuCount = cpuCount;
+            return changed;
+        }
+    }
+
+    private final boolean enabled;
+    // CPUs to pin the runs to, empty when the runs are not pinned
+    private final List<Integer> cpus;
+    private final int cpuCount;
+    private final Set<CpuAllocation> allocations = new LinkedHashSet<>();
+
+    @Autowired
+    public CpuAllocationService(@Value("${dynamic-security-analysis.cpu-allocation.enabled:false}") boolean enabled) {
+        this(enabled, getPinnableCpus(), Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Runs pinned to a share of the given CPUs
+     */
+    CpuAllocationService(boolean enabled, List<Integer> cpus) {
+        this(enabled, cpus, cpus.size());
+    }
+
+    /**
+     * Runs given a share of the given number of CPUs, without pinning
+     */
+    CpuAllocationService(boolean enabled, int cpuCount) {
+        this(enabled, List.of(), cpuCount);
+    }
+
+    private CpuAllocationService(boolean enabled, List<Integer> cpus, int cpuCount) {
+        this.enabled = enabled;
+        this.cpus = cpus.stream().limit(cpuCount).toList();
+        this.cpuCount = this.cpus.isEmpty() ? Math.max(1, cpuCount) : this.cpus.size();
+        if (enabled) {
+            if (this.cpus.isEmpty()) {
+                LOGGER.info("{} CPUs partitioned between the simulating runs, not pinned as the worker is not restricted to a cpuset", this.cpuCount);
+            } else {
+                LOGGER.info("CPUs {} partitioned between the simulating runs", ProcessUtils.toCpuList(this.cpus));
+            }
+        }
+    }
+
+    /**
+     * @return the CPUs allowed by the cpuset of the worker, empty if the worker is not restricted to a cpuset
+     */
+    private static List<Integer> getPinnableCpus() {
+        List<Integer> allowedCpus = ProcessUtils.getAllowedCpus();
+        return ProcessUtils.isCpusetRestricted(allowedCpus) ? allowedCpus : List.of();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param changeListener called with the allocation each time its pinned CPUs change after a rebalancing
+     * @return the CPUs allocated to a starting run, null if the allocation is not enabled
+     */
+    public CpuAllocation allocate(Consumer<CpuAllocation> changeListener) {
+        if (!enabled) {
+            return null;
+        }
+        CpuAllocation allocation = new CpuAllocation(Objects.requireNonNull(changeListener));
+        List<CpuAllocation> changedAllocations;
+        synchronized (this) {
+            allocations.add(allocation);
+            changedAllocations = rebalance();
+        }
+        notifyChanges(changedAllocations);
+        return allocation;
+    }
+
+    /**
+     * The CPUs of a finished run are shared between the remaining runs, no-op on a null allocation
+     */
+    public void release(CpuAllocation allocation) {
+        if (allocation == null) {
+            return;
+        }
+        List<CpuAllocation> changedAllocations;
+        synchronized (this) {
+            if (!allocations.remove(allocation)) {
+                return;
+            }
+            changedAllocations = rebalance();
+        }
+        notifyChanges(changedAllocations);
+    }
+
+    // the listeners are called out of the lock, they may take time, e.g. to pin running processes
+    private static void notifyChanges(List<CpuAllocation> changedAllocations) {
+        changedAllocations.forEach(allocation -> allocation.changeListener.accept(allocation));
+    }
+
+    private List<CpuAllocation> rebalance() {
+        List<CpuAllocation> changedAllocations = new ArrayList<>();
+        int allocationCount = allocations.size();
+        int index = 0;
+        int start = 0;
+        for (CpuAllocation allocation : allocations) {
+            int size = cpuCount / allocationCount + (index < cpuCount % allocationCount ? 1 : 0);
+            List<Integer> allocatedCpus;
+            if (cpus.isEmpty()) {
+                allocatedCpus = List.of();
+            } else if (size == 0) {
+                // more runs than CPUs, the runs share the CPUs one by one
+                allocatedCpus = List.of(cpus.get(index % cpuCount));
+            } else {
+                allocatedCpus = cpus.subList(start, start + size);
+                start += size;
+            }
+            if (allocation.setCpus(allocatedCpus, Math.max(1, size))) {
+                changedAllocations.add(allocation);
+            }
+            index++;
+        }
+        return changedAllocations;
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.dynamicsecurityanalysis.server.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.stream.binding.BindingsLifecycleController;
+import org.springframework.cloud.stream.binding.BindingsLifecycleController.State;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Drain of the worker, triggered on shutdown (e.g. SIGTERM of a rolling deployment) or by the supervision API:
+ * the run consumers stop taking new messages, then the in-flight runs are given a grace period to finish.
+ * <p>
+ * The message of a run still in flight at the end of the grace period is not acknowledged, so it is redelivered to another
+ * worker once this one has exited, resuming from the checkpointed contingency results. The runs in flight simulated by chunks
+ * of contingencies checkpoint their results from the start of the drain on, even if the checkpoints are not enabled, see
+ * {@link #onDrain(Runnable)}. A run simulating all its contingencies at once only has the checkpoints enabled beforehand.
+ * <p>
+ * A drain by the supervision API is undone by {@link #undrain()}, which restarts the run consumers, the runs in flight keeping
+ * their checkpoints. The drain of the shutdown cannot be undone.
+ * <p>
+ * Stopped before the bindings so that the shutdown of the context waits for the drain. The shutdown phase timeout
+ * ({@code spring.lifecycle.timeout-per-shutdown-phase}) and the termination grace period of the pod
+ * ({@code terminationGracePeriodSeconds}) must be longer than the grace period, otherwise the worker is killed before.
+ *
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+@Service
+public class DrainService implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DrainService.class);
+
+    private static final List<String> RUN_BINDINGS = List.of("consumeRun1-in-0", "consumeRun2-in-0", "consumeRun3-in-0", "consumeRunAffinity-in-0");
+
+    private final ObjectProvider<BindingsLifecycleController> bindingsLifecycleController;
+    private final Duration gracePeriod;
+
+    private int inFlightRunCount;
+    private final Set<Runnable> drainListeners = new LinkedHashSet<>();
+    private CompletableFuture<Void> drainFuture;
+    // last change of the state of the run consumers, a change waiting for the previous one
+    private CompletableFuture<Void> bindingsFuture = CompletableFuture.completedFuture(null);
+    private boolean shuttingDown;
+    private volatile boolean running;
+
+    public DrainService(ObjectProvider<BindingsLifecycleController> bindingsLifecycleController,
+                        @Value("${dynamic-security-analysis.drain.grace-period:10m}") Duration gracePeriod) {
+        this.bindingsLifecycleController = Objects.requireNonNull(bindingsLifecycleController);
+        this.gracePeriod = gracePeriod;
+    }
+
+    /**
+     * @return the given run consumer counting its messages in flight
+     */
+    public <T> Consumer<T> track(Consumer<T> consumeRun) {
+        return message -> {
+            synchronized (this) {
+                inFlightRunCount++;
+            }
+            try {
+                consumeRun.accept(message);
+            } finally {
+                synchronized (this) {
+                    inFlightRunCount--;
+                    notifyAll();
+                }
+            }
+        };
+    }
+
+    public synchronized boolean isDraining() {
+        return drainFuture != null;
+    }
+
+    public synchronized int getInFlightRunCount() {
+        return inFlightRunCount;
+    }
+
+    /**
+     * Register an action to run once the drain starts, at once if already draining, e.g. the checkpoint of a run in flight
+     *
+     * @return the unregistration of the action
+     */
+    public Runnable onDrain(Runnable listener) {
+        synchronized (this) {
+            if (drainFuture == null) {
+                drainListeners.add(listener);
+                return () -> {
+                    synchronized (this) {
+                        drainListeners.remove(listener);
+                    }
+                };
+            }
+        }
+        listener.run();
+        return () -> { };
+    }
+
+    /**
+     * Stop taking new runs, no-op if already draining
+     *
+     * @return a future completed once the run consumers are stopped
+     */
+    public synchronized CompletableFuture<Void> drain() {
+        if (drainFuture == null) {
+            LOGGER.info("Drain of the worker, {} runs in flight", inFlightRunCount);
+            List<Runnable> listeners = new ArrayList<>(drainListeners);
+            drainListeners.clear();
+            // the listeners first, stopping a binding waits for its message in flight, see DrainConfig
+            drainFuture = scheduleRunBindingsState("drain", () -> listeners.forEach(DrainService::notifyDrain), State.STOPPED);
+        }
+        return drainFuture;
+    }
+
+    /**
+     * Take new runs again after a drain by the supervision API, no-op if not draining
+     *
+     * @return false if the worker is shutting down, the drain being not undoable
+     */
+    public synchronized boolean undrain() {
+        if (shuttingDown) {
+            return false;
+        }
+        if (drainFuture != null) {
+            LOGGER.info("Undrain of the worker, {} runs in flight", inFlightRunCount);
+            drainFuture = null;
+            scheduleRunBindingsState("undrain", () -> { }, State.STARTED);
+        }
+        return true;
+    }
+
+    private CompletableFuture<Void> scheduleRunBindingsState(String threadName, Runnable before, State state) {
+        bindingsFuture = bindingsFuture
+                .exceptionally(e -> null)
+                .thenRunAsync(() -> {
+                    before.run();
+                    changeRunBindingsState(state);
+                }, runnable -> Thread.ofVirtual().name(threadName).start(runnable));
+        return bindingsFuture;
+    }
+
+    private static void notifyDrain(Runnable listener) {
+        try {
+            listener.run();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Error occurred while notifying the drain", e);
+        }
+    }
+
+    private void changeRunBindingsState(State state) {
+        BindingsLifecycleController controller = bindingsLifecycleController.getIfAvailable();
+        if (controller != null) {
+            // only the bindings of the active profile exist, e.g. the affinity routing one
+            RUN_BINDINGS.stream()
+                    .filter(bindingName -> !controller.queryState(bindingName).isEmpty())
+                    .forEach(bindingName -> controller.changeState(bindingName, state));
+        }
+    }
+
+    /**
+     * @return whether the run consumers are stopped and no run is in flight anymore before the timeout
+     */
+    public boolean awaitDrained(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            drain().get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return false;
+        } catch (ExecutionException e) {
+            LOGGER.warn("Error occurred while stopping the run consumers", e.getCause());
+        }
+        synchronized (this) {
+            while (inFlightRunCount > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        synchronized (this) {
+            shuttingDown = true;
+        }
+        try {
+            if (awaitDrained(gracePeriod)) {
+                LOGGER.info("Worker drained");
+            } else {
+                LOGGER.warn("Worker not drained after {}, {} runs in flight to be redelivered", gracePeriod, getInFlightRunCount());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            running = false;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // the bindings are stopped in a lower phase, i.e. after the drain
+        return Integer.MAX_VALUE;
+    }
+}
@@ -8,13 +8,21 @@ package org.gridsuite.dynamicsecurityanalysis.server.service;
 
 import com.powsybl.loadflow.LoadFlowResult;
 import com.powsybl.security.SecurityAnalysisReport;
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.observation.ObservationRegistry;
 import lombok.NonNull;
 import org.gridsuite.computation.service.AbstractComputationObserver;
 import org.gridsuite.dynamicsecurityanalysis.server.dto.parameters.DynamicSecurityAnalysisParametersInfos;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * @author Thang PHAM <quyet-thang.pham at rte-france.com>
  */
@@ -23,8 +31,158 @@ public class DynamicSecurityAnalysisObserver extends AbstractComputationObserver
 
     private static final String COMPUTATION_TYPE = "dynamicsecurityanalysis";
 
+    private static final String CONTINGENCY_TIMEOUT_METER_NAME = "app.computation.contingency.timeout";
+    private static final String CANCEL_RELEASE_METER_NAME = "app.computation.cancel.release";
+    private static final String SLOT_WAIT_METER_NAME = "app.computation.slot.wait";
+    private static final String WORK_DIR_IO_METER_NAME = "app.computation.workdir.io";
+    private static final String WORK_DIR_IO_SAVED_METER_NAME = "app.computation.workdir.io.saved";
+    private static final String SPILL_OVER_METER_NAME = "app.computation.affinity.spillover";
+    private static final String USER_QUEUE_WAIT_METER_NAME = "app.computation.user.queue.wait";
+    private static final String USER_RUNNING_RUNS_METER_NAME = "app.computation.user.running";
+    private static final String USER_WAITING_RUNS_METER_NAME = "app.computation.user.waiting";
+    private static final String WARM_START_METER_NAME = "app.computation.warmstart";
+    private static final String CONTINGENCY_SIMULATION_METER_NAME = "app.computation.contingency.simulation";
+    private static final String CONTINGENCY_STARTUP_METER_NAME = "app.computation.contingency.startup";
+    private static final String TYPE_TAG_NAME = "type";
+    private static final String MEDIUM_TAG_NAME = "medium";
+    private static final String USER_TAG_NAME = "user";
+    private static final String START_TAG_NAME = "start";
+    private static final String CHUNK_TAG_NAME = "chunk";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Counter contingencyTimeoutCounter;
+    private final Counter spillOverCounter;
+    private final Timer cancelReleaseTimer;
+    private final Timer slotWaitTimer;
+    private final Timer ramWorkDirIoTimer;
+    private final Timer diskWorkDirIoTimer;
+    private final Timer savedWorkDirIoTimer;
+    private final Timer warmStartTimer;
+    private final Map<String, AtomicInteger> userRunningRuns = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> userWaitingRuns = new ConcurrentHashMap<>();
+
     public DynamicSecurityAnalysisObserver(@NonNull ObservationRegistry observationRegistry, @NonNull MeterRegistry meterRegistry) {
         super(observationRegistry, meterRegistry);
+        this.meterRegistry = meterRegistry;
+        this.contingencyTimeoutCounter = Counter.builder(CONTINGENCY_TIMEOUT_METER_NAME)
+                .description("Number of contingency simulations killed by the watchdog")
+                .tag(TYPE_TAG_NAME, COMPUTATION_TYPE)
+                .register(meterRegistry);
+        this.spillOverCounter = Counter.builder(SPILL_OVER_METER_NAME)
+                .description("Number of runs routed to a saturated worker and spilled over to the shared queue")
+                .tag(TYPE_TAG_NAME, COMPUTATION_TYPE)
+                .register(meterRegistry);
+        this.cancelReleaseTimer = Timer.builder(CANCEL_RELEASE_METER_NAME)
+                .description("Time from the cancellation of a run to the release of its processes and working directory")
+                .tag(TYPE_TAG_NAME, COMPUTATION_TYPE)
+                .register(meterRegistry);
+        this.slotWaitTimer = Timer.builder(SLOT_WAIT_METER_NAME)
+                .description("Time a prepared run waits for a simulation slot")
+                .tag(TYPE_TAG_NAME, COMPUTATION_TYPE)
+                .register(meterRegistry);
+        this.ramWorkDirIoTimer = buildWorkDirIoTimer(meterRegistry, "ram");
+        this.diskWorkDirIoTimer = buildWorkDirIoTimer(meterRegistry, "disk");
+        this.savedWorkDirIoTimer = Timer.builder(WORK_DIR_IO_SAVED_METER_NAME)
+                .description("I/O time saved by a working directory in memory, compared to the disk at the I/O time per byte of the directories on disk")
+                .tag(TYPE_TAG_NAME, COMPUTATION_TYPE)
+                .register(meterRegistry);
+        this.warmStartTimer = Timer.builder(WARM_START_METER_NAME)
+                .description("Time of the simulation of the pre-contingency interval shared by the contingencies of a warm started run")
+                .tag(TYPE_TAG_NAME, COMPUTATION_TYPE)
+                .register(meterRegistry);
+    }
+
+    private static Timer buildWorkDirIoTimer(MeterRegistry meterRegistry, String medium) {
+        return Timer.builder(WORK_DIR_IO_METER_NAME)
+                .description("Time spent writing the inputs of a run into its working directory then removing it")
+                .tag(TYPE_TAG_NAME, COMPUTATION_TYPE)
+                .tag(MEDIUM_TAG_NAME, medium)
+                .register(meterRegistry);
+    }
+
+    public void incrementContingencyTimeoutCount() {
+        contingencyTimeoutCounter.increment();
+    }
+
+    public void incrementSpillOverCount() {
+        spillOverCounter.increment();
+    }
+
+    public void recordCancelReleaseTime(Duration releaseTime) {
+        cancelReleaseTimer.record(releaseTime);
+    }
+
+    public void recordSlotWaitTime(Duration waitTime) {
+        slotWaitTimer.record(waitTime);
+    }
+
+    public void recordWorkDirIoTime(boolean inMemory, Duration ioTime) {
+        (inMemory ? ramWorkDirIoTimer : diskWorkDirIoTimer).record(ioTime);
+    }
+
+    public void recordWorkDirSavedIoTime(Duration savedIoTime) {
+        savedWorkDirIoTimer.record(savedIoTime);
+    }
+
+    public void recordWarmStartTime(Duration warmStartTime) {
+        warmStartTimer.record(warmStartTime);
+    }
+
+    /**
+     * @param chunkSize number of contingencies simulated by the run, the time per contingency of the runs of a single
+     *                  contingency against the larger chunks giving the overhead of a run
+     */
+    public void recordContingencySimulationTime(boolean warmStarted, int chunkSize, Duration simulationTime) {
+        Timer.builder(CONTINGENCY_SIMULATION_METER_NAME)
+                .description("Time of the simulation of a contingency, started from the dynamic simulation result (cold) or from the warm start")
+                .tag(TYPE_TAG_NAME, COMPUTATION_TYPE)
+                .tag(START_TAG_NAME, warmStarted ? "warm" : "cold")
+                .tag(CHUNK_TAG_NAME, getChunkSizeRange(chunkSize))
+                .register(meterRegistry)
+                .record(simulationTime);
+    }
+
+    public void recordContingencyStartupTime(boolean warmStarted, Duration startupTime) {
+        Timer.builder(CONTINGENCY_STARTUP_METER_NAME)
+                .description("Time per contingency spent simulating the pre-contingency interval, by each contingency (cold) or once by the warm start")
+                .tag(TYPE_TAG_NAME, COMPUTATION_TYPE)
+                .tag(START_TAG_NAME, warmStarted ? "warm" : "cold")
+                .register(meterRegistry)
+                .record(startupTime);
+    }
+
+    private static String getChunkSizeRange(int chunkSize) {
+        if (chunkSize <= 1) {
+            return "1";
+        }
+        if (chunkSize <= 4) {
+            return "2-4";
+        }
+        return chunkSize <= 16 ? "5-16" : "17+";
+    }
+
+    public void recordQueueWaitTime(String userId, Duration waitTime) {
+        Timer.builder(USER_QUEUE_WAIT_METER_NAME)
+                .description("Time a run waits in the fair-share queue of its user")
+                .tag(TYPE_TAG_NAME, COMPUTATION_TYPE)
+                .tag(USER_TAG_NAME, userId)
+                .register(meterRegistry)
+                .record(waitTime);
+    }
+
+    /**
+     * Users absent from the counts are set to 0
+     */
+    public void setUserRunCounts(Map<String, Integer> runningCounts, Map<String, Integer> waitingCounts) {
+        setUserGauges(USER_RUNNING_RUNS_METER_NAME, userRunningRuns, runningCounts);
+        setUserGauges(USER_WAITING_RUNS_METER_NAME, userWaitingRuns, waitingCounts);
+    }
+
+    private void setUserGauges(String meterName, Map<String, AtomicInteger> gauges, Map<String, Integer> counts) {
+        counts.keySet().forEach(userId -> gauges.computeIfAbsent(userId, id -> meterRegistry.gauge(meterName,
+                Tags.of(TYPE_TAG_NAME, COMPUTATION_TYPE, USER_TAG_NAME, id), new AtomicInteger())));
+        gauges.forEach((userId, gauge) -> gauge.set(counts.getOrDefault(userId, 0)));
     }
 
     @Override
@@ -10,15 +10,29 @@ package org.gridsuite.dynamicsecurityanalysis.server.service;
 import org.gridsuite.computation.error.ComputationException;
 import org.gridsuite.computation.service.AbstractComputationResultService;
 import org.gridsuite.dynamicsecurityanalysis.server.dto.DynamicSecurityAnalysisStatus;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.ReceiverInfos;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.batch.BatchResultInfos;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.contingency.ContingencyResultInfos;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.sweep.SweepCombinationInfos;
+import org.gridsuite.dynamicsecurityanalysis.server.entities.DynamicSecurityAnalysisContingencyResultEntity;
 import org.gridsuite.dynamicsecurityanalysis.server.entities.DynamicSecurityAnalysisResultEntity;
+import org.gridsuite.dynamicsecurityanalysis.server.entities.ResultReceiverEmbeddable;
+import org.gridsuite.dynamicsecurityanalysis.server.repositories.DynamicSecurityAnalysisContingencyResultRepository;
 import org.gridsuite.dynamicsecurityanalysis.server.repositories.DynamicSecurityAnalysisResultRepository;
+import org.gridsuite.dynamicsecurityanalysis.server.repositories.PendingRunRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.gridsuite.computation.error.ComputationBusinessErrorCode.RESULT_NOT_FOUND;
@@ -32,10 +46,18 @@ public class DynamicSecurityAnalysisResultService extends AbstractComputationRes
 
     public static final String MSG_RESULT_UUID_NOT_FOUND = "Result uuid not found: ";
 
+    private static final Set<DynamicSecurityAnalysisStatus> PENDING_STATUSES = EnumSet.of(DynamicSecurityAnalysisStatus.QUEUED, DynamicSecurityAnalysisStatus.RUNNING);
+
     private final DynamicSecurityAnalysisResultRepository resultRepository;
+    private final DynamicSecurityAnalysisContingencyResultRepository contingencyResultRepository;
+    private final PendingRunRepository pendingRunRepository;
 
-    public DynamicSecurityAnalysisResultService(DynamicSecurityAnalysisResultRepository resultRepository) {
+    public DynamicSecurityAnalysisResultService(DynamicSecurityAnalysisResultRepository resultRepository,
+                                                DynamicSecurityAnalysisContingencyResultRepository contingencyResultRepository,
+                                                PendingRunRepository pendingRunRepository) {
         this.resultRepository = resultRepository;
+        this.contingencyResultRepository = contingencyResultRepository;
+        this.pendingRunRepository = pendingRunRepository;
     }
 
     @Override
@@ -46,6 +68,159 @@ public class DynamicSecurityAnalysisResultService extends AbstractComputationRes
             .map(uuid -> new DynamicSecurityAnalysisResultEntity(uuid, status, null)).toList());
     }
 
+    @Transactional
+    public void insertStatus(UUID resultUuid, DynamicSecurityAnalysisStatus status, String inputsHash) {
+        Objects.requireNonNull(resultUuid);
+        DynamicSecurityAnalysisResultEntity resultEntity = new DynamicSecurityAnalysisResultEntity(resultUuid, status, null);
+        resultEntity.setInputsHash(inputsHash);
+        resultRepository.save(resultEntity);
+    }
+
+    @Transactional
+    public void insertBatchStatus(UUID resultUuid, DynamicSecurityAnalysisStatus status, String inputsHash, UUID batchUuid,
+                                  String variantId, UUID dynamicSimulationResultUuid) {
+        Objects.requireNonNull(resultUuid);
+        Objects.requireNonNull(batchUuid);
+        DynamicSecurityAnalysisResultEntity resultEntity = new DynamicSecurityAnalysisResultEntity(resultUuid, status, null);
+        resultEntity.setInputsHash(inputsHash);
+        resultEntity.setBatchUuid(batchUuid);
+        resultEntity.setVariantId(variantId);
+        resultEntity.setDynamicSimulationResultUuid(dynamicSimulationResultUuid);
+        resultRepository.save(resultEntity);
+    }
+
+    @Transactional(readOnly = true)
+    public List<BatchResultInfos> findBatchResults(UUID batchUuid) {
+        Objects.requireNonNull(batchUuid);
+        return resultRepository.findAllByBatchUuid(batchUuid).stream()
+                .map(resultEntity -> BatchResultInfos.builder()
+                        .resultUuid(resultEntity.getId())
+                        .variantId(resultEntity.getVariantId())
+                        .dynamicSimulationResultUuid(resultEntity.getDynamicSimulationResultUuid())
+                        .status(resultEntity.getStatus())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Insert the result of a sweep and the results of its combinations
+     */
+    @Transactional
+    public void insertSweepStatus(UUID sweepUuid, List<SweepCombinationInfos> combinations, DynamicSecurityAnalysisStatus status) {
+        Objects.requireNonNull(sweepUuid);
+        List<DynamicSecurityAnalysisResultEntity> resultEntities = new ArrayList<>();
+        resultEntities.add(new DynamicSecurityAnalysisResultEntity(sweepUuid, status, null));
+        combinations.forEach(combination -> {
+            DynamicSecurityAnalysisResultEntity resultEntity = new DynamicSecurityAnalysisResultEntity(combination.getResultUuid(), status, null);
+            resultEntity.setSweepUuid(sweepUuid);
+            resultEntity.setScenarioDuration(combination.getScenarioDuration());
+            resultEntity.setContingenciesStartTime(combination.getContingenciesStartTime());
+            resultEntities.add(resultEntity);
+        });
+        resultRepository.saveAll(resultEntities);
+    }
+
+    @Transactional(readOnly = true)
+    public List<SweepCombinationInfos> findSweepResults(UUID sweepUuid) {
+        Objects.requireNonNull(sweepUuid);
+        return resultRepository.findAllBySweepUuid(sweepUuid).stream()
+                .map(resultEntity -> SweepCombinationInfos.builder()
+                        .resultUuid(resultEntity.getId())
+                        .scenarioDuration(resultEntity.getScenarioDuration())
+                        .contingenciesStartTime(resultEntity.getContingenciesStartTime())
+                        .status(resultEntity.getStatus())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Attach a receiver to a running or queued result computed from the same inputs, if any
+     *
+     * @return the uuid of the running result to which the receiver has been attached
+     */
+    @Transactional
+    public Optional<UUID> attachToRunningResult(String inputsHash, String receiver, String userId) {
+        Objects.requireNonNull(inputsHash);
+        // the row lock prevents the worker from completing the result while the receiver is being attached
+        return resultRepository.findAllForUpdateByInputsHashAndStatusIn(inputsHash, PENDING_STATUSES).stream()
+                .findFirst()
+                .map(resultEntity -> {
+                    resultEntity.getAttachedReceivers().add(new ResultReceiverEmbeddable(receiver, userId));
+                    resultEntity.setReferenceCount(resultEntity.getReferenceCount() + 1);
+                    return resultEntity.getId();
+                });
+    }
+
+    /**
+     * Share a result computed from the same inputs with a new caller, if any
+     *
+     * @return the uuid of the shared result
+     */
+    @Transactional
+    public Optional<UUID> shareResult(String inputsHash, DynamicSecurityAnalysisStatus status) {
+        Objects.requireNonNull(inputsHash);
+        return resultRepository.findAllForUpdateByInputsHashAndStatusIn(inputsHash, EnumSet.of(status)).stream()
+                .findFirst()
+                .map(resultEntity -> {
+                    resultEntity.setReferenceCount(resultEntity.getReferenceCount() + 1);
+                    return resultEntity.getId();
+                });
+    }
+
+    /**
+     * Release a result for one of its callers, the receiver attached by this caller if any being detached
+     *
+     * @param receiver    the receiver of the caller, null if unknown
+     * @param pendingOnly release only a queued or running result
+     * @return whether the result is still shared with other callers, i.e. must neither be deleted nor stopped
+     */
+    @Transactional
+    public boolean releaseResult(UUID resultUuid, String receiver, boolean pendingOnly) {
+        Objects.requireNonNull(resultUuid);
+        return resultRepository.findByIdForUpdate(resultUuid)
+                .filter(resultEntity -> resultEntity.getReferenceCount() > 1)
+                .filter(resultEntity -> !pendingOnly || PENDING_STATUSES.contains(resultEntity.getStatus()))
+                .map(resultEntity -> {
+                    resultEntity.setReferenceCount(resultEntity.getReferenceCount() - 1);
+                    // the caller which launched the run is not attached, it is notified from the run message anyway
+                    resultEntity.getAttachedReceivers().stream()
+                            .filter(attachedReceiver -> receiver != null && receiver.equals(attachedReceiver.getReceiver()))
+                            .findFirst()
+                            .ifPresent(attachedReceiver -> resultEntity.getAttachedReceivers().remove(attachedReceiver));
+                    LOGGER.info("Result {} released, still shared by {} callers", resultUuid, resultEntity.getReferenceCount());
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    /**
+     * @param maxAge results created before are not counted, i.e. runs left running by a dead worker
+     * @return the number of runs queued or running, the combinations of a sweep being counted instead of their sweep result
+     */
+    @Transactional(readOnly = true)
+    public long countPendingResults(Duration maxAge) {
+        return resultRepository.countRunsByStatusInCreatedAfter(PENDING_STATUSES, Instant.now().minus(maxAge));
+    }
+
+    /**
+     * A queued result, and its combinations for a sweep, becomes running once taken by a worker, no-op for any other status
+     */
+    @Transactional
+    public void markRunning(UUID resultUuid) {
+        resultRepository.updateStatusIfEquals(resultUuid, DynamicSecurityAnalysisStatus.QUEUED, DynamicSecurityAnalysisStatus.RUNNING);
+        resultRepository.updateSweepStatusIfEquals(resultUuid, DynamicSecurityAnalysisStatus.QUEUED, DynamicSecurityAnalysisStatus.RUNNING);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReceiverInfos> findAttachedReceivers(UUID resultUuid) {
+        Objects.requireNonNull(resultUuid);
+        return resultRepository.findById(resultUuid)
+                .map(resultEntity -> resultEntity.getAttachedReceivers().stream()
+                        .map(receiver -> new ReceiverInfos(receiver.getReceiver(), receiver.getUserId()))
+                        .toList())
+                .orElse(List.of());
+    }
+
     @Transactional
     public List<UUID> updateStatus(List<UUID> resultUuids, DynamicSecurityAnalysisStatus status) {
         // find result entities
@@ -59,11 +234,84 @@ public class DynamicSecurityAnalysisResultService extends AbstractComputationRes
     @Transactional
     public void updateResult(UUID resultUuid, DynamicSecurityAnalysisStatus status) {
         LOGGER.debug("Update dynamic simulation [resultUuid={}, status={}", resultUuid, status);
-        DynamicSecurityAnalysisResultEntity resultEntity = resultRepository.findById(resultUuid)
+        // lock the row so that no receiver can be attached while the status is being changed
+        DynamicSecurityAnalysisResultEntity resultEntity = resultRepository.findByIdForUpdate(resultUuid)
                .orElseThrow(() -> new ComputationException(RESULT_NOT_FOUND, MSG_RESULT_UUID_NOT_FOUND + resultUuid));
         resultEntity.setStatus(status);
     }
 
+    @Transactional
+    public void updateResult(UUID resultUuid, DynamicSecurityAnalysisStatus status, UUID networkUuid, String variantId, UUID dynamicSimulationResultUuid,
+                             List<ContingencyResultInfos> contingencyResults) {
+        LOGGER.debug("Update dynamic security analysis [resultUuid={}, status={}, contingencyResults={}]", resultUuid, status, contingencyResults.size());
+        // lock the row so that no receiver can be attached while the status is being changed
+        DynamicSecurityAnalysisResultEntity resultEntity = resultRepository.findByIdForUpdate(resultUuid)
+                .orElseThrow(() -> new ComputationException(RESULT_NOT_FOUND, MSG_RESULT_UUID_NOT_FOUND + resultUuid));
+        resultEntity.setStatus(status);
+        resultEntity.setNetworkUuid(networkUuid);
+        resultEntity.setVariantId(variantId);
+        resultEntity.setDynamicSimulationResultUuid(dynamicSimulationResultUuid);
+        resultEntity.getContingencyResults().clear();
+        contingencyResults.forEach(contingencyResult ->
+                resultEntity.getContingencyResults().add(new DynamicSecurityAnalysisContingencyResultEntity(resultEntity, contingencyResult)));
+    }
+
+    /**
+     * Publish the result of a contingency while the run is in progress, no-op if the result does not exist anymore (e.g. stopped run)
+     */
+    @Transactional
+    public void addContingencyResult(UUID resultUuid, ContingencyResultInfos contingencyResult) {
+        resultRepository.findById(resultUuid).ifPresent(resultEntity ->
+                contingencyResultRepository.save(new DynamicSecurityAnalysisContingencyResultEntity(resultEntity, contingencyResult)));
+    }
+
+    /**
+     * @return whether the result exists and has been computed on the given network variant
+     */
+    @Transactional(readOnly = true)
+    public boolean isComputedOn(UUID resultUuid, UUID networkUuid, String variantId) {
+        Objects.requireNonNull(resultUuid);
+        return resultRepository.findById(resultUuid)
+                .filter(resultEntity -> Objects.equals(resultEntity.getNetworkUuid(), networkUuid))
+                .filter(resultEntity -> Objects.equals(resultEntity.getVariantId(), variantId))
+                .isPresent();
+    }
+
+    /**
+     * Find the contingency results of all results computed on the given network
+     */
+    @Transactional(readOnly = true)
+    public List<ContingencyResultInfos> findContingencyResultsByNetwork(UUID networkUuid) {
+        Objects.requireNonNull(networkUuid);
+        return contingencyResultRepository.findAllByNetworkUuid(networkUuid).stream()
+                .map(DynamicSecurityAnalysisContingencyResultEntity::toDto)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<ContingencyResultInfos> findContingencyResults(UUID resultUuid) {
+        Objects.requireNonNull(resultUuid);
+        return resultRepository.findById(resultUuid)
+                .map(resultEntity -> resultEntity.getContingencyResults().stream()
+                        .map(DynamicSecurityAnalysisContingencyResultEntity::toDto)
+                        .toList())
+                .orElse(List.of());
+    }
+
+    /**
+     * Find the contingency results of a result only if it has been computed against the given dynamic simulation result
+     */
+    @Transactional(readOnly = true)
+    public List<ContingencyResultInfos> findContingencyResults(UUID resultUuid, UUID dynamicSimulationResultUuid) {
+        Objects.requireNonNull(resultUuid);
+        return resultRepository.findById(resultUuid)
+                .filter(resultEntity -> Objects.equals(resultEntity.getDynamicSimulationResultUuid(), dynamicSimulationResultUuid))
+                .map(resultEntity -> resultEntity.getContingencyResults().stream()
+                        .map(DynamicSecurityAnalysisContingencyResultEntity::toDto)
+                        .toList())
+                .orElse(List.of());
+    }
+
     @Override
     @Transactional
     public void saveDebugFileLocation(UUID resultUuid, String debugFilePath) {
@@ -73,17 +321,32 @@ public class DynamicSecurityAnalysisResultService extends AbstractComputationRes
         );
     }
 
+    /**
+     * Delete a result for one of its callers, the result being kept as long as other callers share it
+     */
+    @Transactional
+    public void deleteShared(UUID resultUuid) {
+        if (!releaseResult(resultUuid, null, false)) {
+            delete(resultUuid);
+        }
+    }
+
     @Override
     @Transactional
     public void delete(UUID resultUuid) {
         Objects.requireNonNull(resultUuid);
+        // results of the combinations of a sweep are deleted with it
+        resultRepository.deleteAllBySweepUuid(resultUuid);
         resultRepository.deleteById(resultUuid);
+        // a run still waiting in the fair-share queue is not dispatched anymore
+        pendingRunRepository.deleteById(resultUuid);
     }
 
     @Override
     @Transactional
     public void deleteAll() {
         resultRepository.deleteAll();
+        pendingRunRepository.deleteAll();
     }
 
     @Override
@@ -14,46 +14,270 @@ import org.gridsuite.computation.service.AbstractComputationService;
 import org.gridsuite.computation.service.NotificationService;
 import org.gridsuite.computation.service.UuidGeneratorService;
 import org.gridsuite.dynamicsecurityanalysis.server.dto.DynamicSecurityAnalysisStatus;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.batch.BatchInfos;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.batch.BatchResultInfos;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.parameters.DynamicSecurityAnalysisParametersInfos;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.sweep.SweepCombinationInfos;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.sweep.SweepInfos;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.sweep.SweepRangeInfos;
+import org.gridsuite.dynamicsecurityanalysis.server.error.DynamicSecurityAnalysisException;
 import org.gridsuite.dynamicsecurityanalysis.server.service.contexts.DynamicSecurityAnalysisResultContext;
 import org.gridsuite.dynamicsecurityanalysis.server.service.contexts.DynamicSecurityAnalysisRunContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.messaging.Message;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import static org.gridsuite.dynamicsecurityanalysis.server.error.DynamicSecurityAnalysisBusinessErrorCode.PARALLELISM_INVALID;
+import static org.gridsuite.dynamicsecurityanalysis.server.error.DynamicSecurityAnalysisBusinessErrorCode.PREVIOUS_RESULT_INVALID;
+import static org.gridsuite.dynamicsecurityanalysis.server.error.DynamicSecurityAnalysisBusinessErrorCode.SWEEP_INVALID;
+
 /**
  * @author Thang PHAM <quyet-thang.pham at rte-france.com>
  */
 @Service
 @ComponentScan(basePackageClasses = {NetworkStoreService.class, NotificationService.class})
 public class DynamicSecurityAnalysisService extends AbstractComputationService<DynamicSecurityAnalysisRunContext, DynamicSecurityAnalysisResultService, DynamicSecurityAnalysisStatus> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DynamicSecurityAnalysisService.class);
+
     public static final String COMPUTATION_TYPE = "dynamic security analysis";
 
+    private final int sweepMaxCombinations;
+
+    private final RunQueueService runQueueService;
+
+    private final FairShareScheduler fairShareScheduler;
+
     public DynamicSecurityAnalysisService(
             NotificationService notificationService,
             ObjectMapper objectMapper,
             UuidGeneratorService uuidGeneratorService,
             DynamicSecurityAnalysisResultService dynamicSecurityAnalysisResultService,
             ComputationS3Service computationS3Service,
-            @Value("${dynamic-security-analysis.default-provider}") String defaultProvider) {
+            RunQueueService runQueueService,
+            FairShareScheduler fairShareScheduler,
+            @Value("${dynamic-security-analysis.default-provider}") String defaultProvider,
+            @Value("${dynamic-security-analysis.sweep-max-combinations:100}") int sweepMaxCombinations) {
         super(notificationService, dynamicSecurityAnalysisResultService, computationS3Service, objectMapper, uuidGeneratorService, defaultProvider);
+        this.sweepMaxCombinations = sweepMaxCombinations;
+        this.runQueueService = runQueueService;
+        this.fairShareScheduler = fairShareScheduler;
     }
 
     @Override
     public UUID runAndSaveResult(DynamicSecurityAnalysisRunContext runContext) {
-        // insert a new result entity with running status
+        checkRunContext(runContext);
+
+        String inputsHash = runContext.getInputsHash();
+        if (inputsHash != null) {
+            // an identical run is in progress => attach the receiver to it, it will be notified on completion
+            Optional<UUID> runningResultUuid = resultService.attachToRunningResult(inputsHash, runContext.getReceiver(), runContext.getUserId());
+            if (runningResultUuid.isPresent()) {
+                LOGGER.info("Identical run already in progress, attach to result {}", runningResultUuid.get());
+                return runningResultUuid.get();
+            }
+
+            // an identical run has already succeeded and has not been invalidated => notify the receiver right away
+            Optional<UUID> succeedResultUuid = resultService.shareResult(inputsHash, DynamicSecurityAnalysisStatus.SUCCEED);
+            if (succeedResultUuid.isPresent()) {
+                LOGGER.info("Identical run already succeeded, reuse result {}", succeedResultUuid.get());
+                notificationService.sendResultMessage(succeedResultUuid.get(), runContext.getReceiver(), runContext.getUserId(), null);
+                return succeedResultUuid.get();
+            }
+        }
+
+        // a new run is admitted according to the queue depth, either running or queued
+        runContext.setEstimatedWait(runQueueService.admit());
+        DynamicSecurityAnalysisStatus status = runContext.getEstimatedWait() != null ? DynamicSecurityAnalysisStatus.QUEUED : DynamicSecurityAnalysisStatus.RUNNING;
+
+        // insert a new result entity with running or queued status
         UUID resultUuid = uuidGeneratorService.generate();
-        resultService.insertStatus(List.of(resultUuid), DynamicSecurityAnalysisStatus.RUNNING);
+        resultService.insertStatus(resultUuid, status, inputsHash);
 
         // emit a message to launch the dynamic security analysis by the worker service
         Message<String> message = new DynamicSecurityAnalysisResultContext(resultUuid, runContext).toMessage(objectMapper);
-        notificationService.sendRunMessage(message);
+        fairShareScheduler.sendRunMessage(message, runContext.getUserId());
         return resultUuid;
     }
 
+    private void checkRunContext(DynamicSecurityAnalysisRunContext runContext) {
+        Integer parallelism = runContext.getParameters().getParallelism();
+        if (parallelism != null && parallelism < 1 && parallelism != DynamicSecurityAnalysisParametersInfos.AUTO_PARALLELISM) {
+            throw new DynamicSecurityAnalysisException(PARALLELISM_INVALID, "Parallelism must be positive or " +
+                    DynamicSecurityAnalysisParametersInfos.AUTO_PARALLELISM + " for auto: " + parallelism);
+        }
+        // contingency results are only carried over from a result of the same network variant
+        UUID previousResultUuid = runContext.getPreviousResultUuid();
+        if (previousResultUuid != null && !resultService.isComputedOn(previousResultUuid, runContext.getNetworkUuid(), runContext.getVariantId())) {
+            throw new DynamicSecurityAnalysisException(PREVIOUS_RESULT_INVALID, "Previous result " + previousResultUuid +
+                    " not found on network " + runContext.getNetworkUuid() + " and variant " + runContext.getVariantId());
+        }
+    }
+
+    /**
+     * Stop a run for the given caller, the run going on as long as other callers share its result
+     */
+    public void stopShared(UUID resultUuid, String receiver) {
+        if (resultService.releaseResult(resultUuid, receiver, true)) {
+            notificationService.publishStop(resultUuid, receiver, COMPUTATION_TYPE);
+            return;
+        }
+        stop(resultUuid, receiver);
+    }
+
+    /**
+     * Delete results for the given caller, a result being kept as long as other callers share it, all results if none given
+     */
+    public void deleteSharedResults(List<UUID> resultUuids) {
+        if (resultUuids == null || resultUuids.isEmpty()) {
+            deleteResults(resultUuids);
+            return;
+        }
+        List<UUID> unsharedResultUuids = resultUuids.stream()
+                .filter(resultUuid -> !resultService.releaseResult(resultUuid, null, false))
+                .toList();
+        // an empty list would delete all results
+        if (!unsharedResultUuids.isEmpty()) {
+            deleteResults(unsharedResultUuids);
+        }
+    }
+
+    /**
+     * Launch one run per variant of a batch, the runs being spread over the workers like any other run.
+     * Runs of a batch are never deduplicated so that the batch always groups its own results.
+     */
+    public BatchInfos runBatchAndSaveResults(List<DynamicSecurityAnalysisRunContext> runContexts) {
+        // the runs of all variants are admitted at once according to the queue depth
+        Duration estimatedWait = runQueueService.admit(runContexts.size());
+        DynamicSecurityAnalysisStatus status = estimatedWait != null ? DynamicSecurityAnalysisStatus.QUEUED : DynamicSecurityAnalysisStatus.RUNNING;
+
+        UUID batchUuid = uuidGeneratorService.generate();
+        BatchInfos batchInfos = BatchInfos.builder().batchUuid(batchUuid).build();
+        for (DynamicSecurityAnalysisRunContext runContext : runContexts) {
+            runContext.setBatchUuid(batchUuid);
+            runContext.setEstimatedWait(estimatedWait);
+
+            // insert a new result entity with running or queued status
+            UUID resultUuid = uuidGeneratorService.generate();
+            resultService.insertBatchStatus(resultUuid, status, runContext.getInputsHash(), batchUuid,
+                    runContext.getVariantId(), runContext.getDynamicSimulationResultUuid());
+
+            // emit a message to launch the dynamic security analysis of the variant by a worker service
+            Message<String> message = new DynamicSecurityAnalysisResultContext(resultUuid, runContext).toMessage(objectMapper);
+            fairShareScheduler.sendRunMessage(message, runContext.getUserId());
+
+            batchInfos.getResults().add(BatchResultInfos.builder()
+                    .resultUuid(resultUuid)
+                    .variantId(runContext.getVariantId())
+                    .dynamicSimulationResultUuid(runContext.getDynamicSimulationResultUuid())
+                    .status(status)
+                    .build());
+        }
+        LOGGER.info("Batch {} launched with {} variants", batchUuid, runContexts.size());
+        return batchInfos;
+    }
+
+    /**
+     * Launch a parametric sweep as a single job: the shared inputs are prepared once by the worker, then every combination
+     * of the swept values is simulated in parallel. Each combination has its own result, grouped under the returned sweep uuid.
+     */
+    public UUID runSweepAndSaveResult(DynamicSecurityAnalysisRunContext runContext, SweepInfos sweepInfos) {
+        DynamicSecurityAnalysisParametersInfos parametersInfos = runContext.getParameters();
+        // the number of combinations is checked before any value is materialized
+        long scenarioDurationCount = countValues("scenarioDuration", sweepInfos.getScenarioDuration());
+        long contingenciesStartTimeCount = countValues("contingenciesStartTime", sweepInfos.getContingenciesStartTime());
+        if (scenarioDurationCount > sweepMaxCombinations || contingenciesStartTimeCount > sweepMaxCombinations ||
+            scenarioDurationCount * contingenciesStartTimeCount > sweepMaxCombinations) {
+            throw new DynamicSecurityAnalysisException(SWEEP_INVALID, "Too many sweep combinations: " + scenarioDurationCount + " x " +
+                    contingenciesStartTimeCount + ", maximum is " + sweepMaxCombinations);
+        }
+        List<Double> scenarioDurations = expandRange(sweepInfos.getScenarioDuration(), parametersInfos.getScenarioDuration(), scenarioDurationCount);
+        List<Double> contingenciesStartTimes = expandRange(sweepInfos.getContingenciesStartTime(), parametersInfos.getContingenciesStartTime(), contingenciesStartTimeCount);
+
+        List<SweepCombinationInfos> combinations = new ArrayList<>();
+        for (Double scenarioDuration : scenarioDurations) {
+            for (Double contingenciesStartTime : contingenciesStartTimes) {
+                combinations.add(SweepCombinationInfos.builder()
+                        .resultUuid(uuidGeneratorService.generate())
+                        .scenarioDuration(scenarioDuration)
+                        .contingenciesStartTime(contingenciesStartTime)
+                        .build());
+            }
+        }
+        runContext.setSweepCombinations(combinations);
+        // a sweep is never deduplicated
+        runContext.setInputsHash(null);
+
+        // the combinations are admitted at once according to the queue depth
+        runContext.setEstimatedWait(runQueueService.admit(combinations.size()));
+        DynamicSecurityAnalysisStatus status = runContext.getEstimatedWait() != null ? DynamicSecurityAnalysisStatus.QUEUED : DynamicSecurityAnalysisStatus.RUNNING;
+
+        // insert the sweep result and the results of its combinations with running or queued status
+        UUID sweepUuid = uuidGeneratorService.generate();
+        resultService.insertSweepStatus(sweepUuid, combinations, status);
+
+        // emit a single message, the worker service runs all combinations
+        Message<String> message = new DynamicSecurityAnalysisResultContext(sweepUuid, runContext).toMessage(objectMapper);
+        fairShareScheduler.sendRunMessage(message, runContext.getUserId());
+        LOGGER.info("Sweep {} launched with {} combinations", sweepUuid, combinations.size());
+        return sweepUuid;
+    }
+
+    /**
+     * @return the number of values of the range, i.e. floor((max - min) / step) + 1, saturated to Long.MAX_VALUE
+     */
+    private static long countValues(String name, SweepRangeInfos range) {
+        if (range == null || range.getMin() == null) {
+            return 1;
+        }
+        checkFinite(name, "min", range.getMin());
+        if (range.getMax() == null || range.getStep() == null) {
+            return 1;
+        }
+        checkFinite(name, "max", range.getMax());
+        checkFinite(name, "step", range.getStep());
+        if (range.getStep() <= 0) {
+            throw new DynamicSecurityAnalysisException(SWEEP_INVALID, "Sweep step of " + name + " must be positive: " + range.getStep());
+        }
+        if (range.getMax() < range.getMin()) {
+            throw new DynamicSecurityAnalysisException(SWEEP_INVALID, "Sweep max of " + name + " must not be lower than min: " +
+                    range.getMax() + " < " + range.getMin());
+        }
+        // the tolerance absorbs the rounding of a max reached exactly by the steps
+        double stepCount = Math.floor((range.getMax() - range.getMin()) / range.getStep() + 1e-9);
+        return stepCount < Long.MAX_VALUE ? (long) stepCount + 1 : Long.MAX_VALUE;
+    }
+
+    private static void checkFinite(String name, String bound, double value) {
+        if (!Double.isFinite(value)) {
+            throw new DynamicSecurityAnalysisException(SWEEP_INVALID, "Sweep " + bound + " of " + name + " must be finite: " + value);
+        }
+    }
+
+    private static List<Double> expandRange(SweepRangeInfos range, Double defaultValue, long count) {
+        if (range == null || range.getMin() == null) {
+            return List.of(defaultValue);
+        }
+        if (count == 1) {
+            return List.of(range.getMin());
+        }
+
+        // values are computed from the index to avoid the accumulation of rounding errors
+        List<Double> values = new ArrayList<>();
+        for (long i = 0; i < count; i++) {
+            values.add(range.getMin() + i * range.getStep());
+        }
+        return values;
+    }
+
     public List<String> getProviders() {
         return DynamicSecurityAnalysisProvider.findAll().stream()
                 .map(DynamicSecurityAnalysisProvider::getName)
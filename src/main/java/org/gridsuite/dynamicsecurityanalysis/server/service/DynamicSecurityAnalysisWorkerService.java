@@ -9,11 +9,16 @@ package org.gridsuite.dynamicsecurityanalysis.server.service;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.powsybl.commons.io.FileUtil;
 import com.powsybl.commons.report.ReportNode;
+import com.powsybl.commons.report.ReportNodeAdder;
 import com.powsybl.computation.ComputationManager;
 import com.powsybl.contingency.ContingenciesProvider;
 import com.powsybl.contingency.Contingency;
 import com.powsybl.dynamicsimulation.DynamicModelsSupplier;
+import com.powsybl.dynamicsimulation.DynamicSimulation;
 import com.powsybl.dynamicsimulation.DynamicSimulationParameters;
+import com.powsybl.dynamicsimulation.DynamicSimulationResult;
+import com.powsybl.dynamicsimulation.DynamicSimulationRunParameters;
+import com.powsybl.dynawo.DynawoSimulationParameters;
 import com.powsybl.dynawo.suppliers.dynamicmodels.DynamicModelConfig;
 import com.powsybl.dynawo.suppliers.dynamicmodels.DynamicModelConfigJsonUtils;
 import com.powsybl.dynawo.suppliers.dynamicmodels.DynawoModelsSupplier;
@@ -22,36 +27,57 @@ import com.powsybl.iidm.network.VariantManagerConstants;
 import com.powsybl.network.store.client.NetworkStoreService;
 import com.powsybl.security.PostContingencyComputationStatus;
 import com.powsybl.security.SecurityAnalysisReport;
+import com.powsybl.security.SecurityAnalysisResult;
 import com.powsybl.security.dynamic.DynamicSecurityAnalysis;
 import com.powsybl.security.dynamic.DynamicSecurityAnalysisParameters;
 import com.powsybl.security.dynamic.DynamicSecurityAnalysisRunParameters;
+import com.powsybl.security.results.PostContingencyResult;
 import org.apache.commons.collections4.CollectionUtils;
 import org.gridsuite.computation.s3.ComputationS3Service;
 import org.gridsuite.computation.service.*;
 import org.gridsuite.dynamicsecurityanalysis.server.PropertyServerNameProvider;
 import org.gridsuite.dynamicsecurityanalysis.server.dto.DynamicSecurityAnalysisStatus;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.ReceiverInfos;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.contingency.ContingencyResultInfos;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.contingency.ContingencyResultStage;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.contingency.ContingencyResultStatus;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.parameters.AbortPolicy;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.parameters.ContingencyOrdering;
 import org.gridsuite.dynamicsecurityanalysis.server.dto.parameters.DynamicSecurityAnalysisParametersInfos;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.sweep.SweepCombinationInfos;
+import org.gridsuite.dynamicsecurityanalysis.server.service.CpuAllocationService.CpuAllocation;
 import org.gridsuite.dynamicsecurityanalysis.server.service.client.DynamicSimulationClient;
 import org.gridsuite.dynamicsecurityanalysis.server.service.contexts.DynamicSecurityAnalysisResultContext;
 import org.gridsuite.dynamicsecurityanalysis.server.service.contexts.DynamicSecurityAnalysisRunContext;
+import org.gridsuite.dynamicsecurityanalysis.server.utils.ProcessUtils;
+import org.gridsuite.dynamicsecurityanalysis.server.utils.RunScope;
+import org.gridsuite.dynamicsecurityanalysis.server.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.stream.function.StreamBridge;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.messaging.Message;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
-import java.util.UUID;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import static org.gridsuite.dynamicsecurityanalysis.server.service.DynamicSecurityAnalysisService.COMPUTATION_TYPE;
 
@@ -65,8 +91,29 @@ public class DynamicSecurityAnalysisWorkerService extends AbstractWorkerService<
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DynamicSecurityAnalysisWorkerService.class);
 
+    private static final String SPILL_OVER_BINDING = "publishRunSpillOver-out-0";
+
     private final DynamicSimulationClient dynamicSimulationClient;
     private final ParametersService parametersService;
+    private final ContingencyScreeningService contingencyScreeningService;
+    private final ContingencyOrderingService contingencyOrderingService;
+    private final BatchInputsCache batchInputsCache;
+    private final ArtifactStagingService artifactStagingService;
+    private final SimulationSlots simulationSlots;
+    private final CpuAllocationService cpuAllocationService;
+    private final ParallelismTuner parallelismTuner;
+    private final WorkDirectoryService workDirectoryService;
+    // executor pool running the simulations out of this pod, null to run them locally
+    private final ExecutorPoolComputationManager executorPoolComputationManager;
+    private final StreamBridge streamBridge;
+    private final FairShareScheduler fairShareScheduler;
+    private final DrainService drainService;
+    private final boolean affinityRoutingEnabled;
+    private final DynamicSecurityAnalysisObserver dynamicSecurityAnalysisObserver;
+    private final int contingencyConcurrency;
+    private final int contingencyChunkSize;
+    private final Duration cancelGracePeriod;
+    private final boolean checkpointEnabled;
 
     public DynamicSecurityAnalysisWorkerService(NetworkStoreService networkStoreService,
                                                 NotificationService notificationService,
@@ -78,11 +125,47 @@ public class DynamicSecurityAnalysisWorkerService extends AbstractWorkerService<
                                                 ComputationS3Service computationS3Service,
                                                 DynamicSimulationClient dynamicSimulationClient,
                                                 ParametersService parametersService,
-                                                PropertyServerNameProvider propertyServerNameProvider) {
+                                                ContingencyScreeningService contingencyScreeningService,
+                                                ContingencyOrderingService contingencyOrderingService,
+                                                BatchInputsCache batchInputsCache,
+                                                ArtifactStagingService artifactStagingService,
+                                                SimulationSlots simulationSlots,
+                                                CpuAllocationService cpuAllocationService,
+                                                ParallelismTuner parallelismTuner,
+                                                WorkDirectoryService workDirectoryService,
+                                                ObjectProvider<ExecutorPoolComputationManager> executorPoolComputationManager,
+                                                StreamBridge streamBridge,
+                                                FairShareScheduler fairShareScheduler,
+                                                DrainService drainService,
+                                                PropertyServerNameProvider propertyServerNameProvider,
+                                                @Value("${dynamic-security-analysis.contingency-concurrency:0}") int contingencyConcurrency,
+                                                @Value("${dynamic-security-analysis.contingency-chunk-size:8}") int contingencyChunkSize,
+                                                @Value("${dynamic-security-analysis.cancel-grace-period:5s}") Duration cancelGracePeriod,
+                                                @Value("${dynamic-security-analysis.checkpoint-enabled:false}") boolean checkpointEnabled,
+                                                @Value("${dynamic-security-analysis.affinity-routing.enabled:false}") boolean affinityRoutingEnabled) {
         super(networkStoreService, notificationService, reportService, dynamicSecurityAnalysisResultService, computationS3Service, executionService, observer, objectMapper,
                 propertyServerNameProvider);
         this.dynamicSimulationClient = Objects.requireNonNull(dynamicSimulationClient);
         this.parametersService = Objects.requireNonNull(parametersService);
+        this.contingencyScreeningService = Objects.requireNonNull(contingencyScreeningService);
+        this.contingencyOrderingService = Objects.requireNonNull(contingencyOrderingService);
+        this.batchInputsCache = Objects.requireNonNull(batchInputsCache);
+        this.artifactStagingService = Objects.requireNonNull(artifactStagingService);
+        this.simulationSlots = Objects.requireNonNull(simulationSlots);
+        this.cpuAllocationService = Objects.requireNonNull(cpuAllocationService);
+        this.parallelismTuner = Objects.requireNonNull(parallelismTuner);
+        this.workDirectoryService = Objects.requireNonNull(workDirectoryService);
+        this.executorPoolComputationManager = executorPoolComputationManager.getIfAvailable();
+        this.streamBridge = Objects.requireNonNull(streamBridge);
+        this.fairShareScheduler = Objects.requireNonNull(fairShareScheduler);
+        this.drainService = Objects.requireNonNull(drainService);
+        this.affinityRoutingEnabled = affinityRoutingEnabled;
+        this.dynamicSecurityAnalysisObserver = observer;
+        // by default, as many simultaneous contingency simulations as available processors
+        this.contingencyConcurrency = contingencyConcurrency > 0 ? contingencyConcurrency : Runtime.getRuntime().availableProcessors();
+        this.contingencyChunkSize = Math.max(1, contingencyChunkSize);
+        this.cancelGracePeriod = cancelGracePeriod;
+        this.checkpointEnabled = checkpointEnabled;
     }
 
     /**
@@ -91,6 +174,9 @@ public class DynamicSecurityAnalysisWorkerService extends AbstractWorkerService<
      * @return a computation manager
      */
     public ComputationManager getComputationManager() {
+        if (executorPoolComputationManager != null) {
+            return executorPoolComputationManager;
+        }
         return executionService.getComputationManager();
     }
 
@@ -99,19 +185,89 @@ public class DynamicSecurityAnalysisWorkerService extends AbstractWorkerService<
         return DynamicSecurityAnalysisResultContext.fromMessage(message, objectMapper);
     }
 
-    public void updateResult(UUID resultUuid, SecurityAnalysisReport result) {
+    public void updateResult(UUID resultUuid, DynamicSecurityAnalysisRunContext runContext, SecurityAnalysisReport result) {
         Objects.requireNonNull(resultUuid);
-        DynamicSecurityAnalysisStatus status = result.getResult().getPostContingencyResults().stream().anyMatch(
-                postContingencyResult -> postContingencyResult.getStatus() == PostContingencyComputationStatus.FAILED) ?
-                DynamicSecurityAnalysisStatus.FAILED :
-                DynamicSecurityAnalysisStatus.SUCCEED;
 
-        resultService.updateResult(resultUuid, status);
+        // results carried over from a previous result, checkpointed by a previous delivery, skipped by the pre-screening
+        // then results of the simulated contingencies
+        List<ContingencyResultInfos> contingencyResults = new ArrayList<>(runContext.getCarriedOverContingencyResults());
+        contingencyResults.addAll(runContext.getCheckpointedContingencyResults());
+        contingencyResults.addAll(runContext.getSkippedContingencyResults());
+        result.getResult().getPostContingencyResults().forEach(postContingencyResult ->
+                contingencyResults.add(toContingencyResultInfos(runContext, postContingencyResult)));
+
+        // contingencies killed by the watchdog, without any result
+        Set<String> simulatedContingencyIds = contingencyResults.stream().map(ContingencyResultInfos::getContingencyId).collect(Collectors.toSet());
+        runContext.getTimedOutContingencyIds().stream()
+                .filter(contingencyId -> !simulatedContingencyIds.contains(contingencyId))
+                .forEach(contingencyId -> contingencyResults.add(ContingencyResultInfos.builder()
+                        .contingencyId(contingencyId)
+                        .status(ContingencyResultStatus.TIMEOUT)
+                        .severity(runContext.getContingencySeverities().get(contingencyId))
+                        .fingerprint(runContext.getContingencyFingerprints().get(contingencyId))
+                        .build()));
+
+        // contingencies not simulated since the run has been aborted
+        runContext.getNotSimulatedContingencyIds().stream()
+                .filter(contingencyId -> !simulatedContingencyIds.contains(contingencyId))
+                .forEach(contingencyId -> contingencyResults.add(ContingencyResultInfos.builder()
+                        .contingencyId(contingencyId)
+                        .status(ContingencyResultStatus.NOT_SIMULATED)
+                        .severity(runContext.getContingencySeverities().get(contingencyId))
+                        .build()));
+
+        DynamicSecurityAnalysisStatus status;
+        if (runContext.isAborted()) {
+            status = DynamicSecurityAnalysisStatus.ABORTED;
+        } else {
+            status = contingencyResults.stream().anyMatch(
+                    contingencyResult -> contingencyResult.getStatus() == ContingencyResultStatus.FAILED ||
+                                         contingencyResult.getStatus() == ContingencyResultStatus.TIMEOUT) ?
+                    DynamicSecurityAnalysisStatus.FAILED :
+                    DynamicSecurityAnalysisStatus.SUCCEED;
+        }
+
+        resultService.updateResult(resultUuid, status, runContext.getNetworkUuid(), runContext.getVariantId(), runContext.getDynamicSimulationResultUuid(),
+                contingencyResults);
+    }
+
+    private static ContingencyResultInfos toContingencyResultInfos(DynamicSecurityAnalysisRunContext runContext, PostContingencyResult postContingencyResult) {
+        String contingencyId = postContingencyResult.getContingency().getId();
+        return ContingencyResultInfos.builder()
+                .contingencyId(contingencyId)
+                .status(ContingencyResultStatus.fromComputationStatus(postContingencyResult.getStatus()))
+                .stage(runContext.getContingencyStages().get(contingencyId))
+                .limitViolationCount(postContingencyResult.getLimitViolationsResult().getLimitViolations().size())
+                .severity(runContext.getContingencySeverities().get(contingencyId))
+                .fingerprint(runContext.getContingencyFingerprints().get(contingencyId))
+                .build();
     }
 
     @Override
     protected void saveResult(Network network, AbstractResultContext<DynamicSecurityAnalysisRunContext> resultContext, SecurityAnalysisReport result) {
-        updateResult(resultContext.getResultUuid(), result);
+        DynamicSecurityAnalysisRunContext runContext = resultContext.getRunContext();
+        if (!runContext.getSweepCombinations().isEmpty()) {
+            saveSweepResults(resultContext.getResultUuid(), runContext);
+            return;
+        }
+
+        updateResult(resultContext.getResultUuid(), runContext, result);
+
+        // notify receivers of identical runs which have been attached to this one
+        resultService.findAttachedReceivers(resultContext.getResultUuid()).forEach(receiverInfos ->
+                notificationService.sendResultMessage(resultContext.getResultUuid(), receiverInfos.getReceiver(), receiverInfos.getUserId(), null));
+    }
+
+    private void saveSweepResults(UUID sweepUuid, DynamicSecurityAnalysisRunContext runContext) {
+        // an empty report for the combinations without any contingency to simulate
+        runContext.getSweepCombinations().forEach(combination -> updateResult(combination.getResultUuid(), runContext,
+                runContext.getSweepReports().getOrDefault(combination.getResultUuid(), new SecurityAnalysisReport(SecurityAnalysisResult.empty()))));
+
+        // the sweep fails as soon as one of its combinations fails
+        boolean failed = resultService.findSweepResults(sweepUuid).stream()
+                .map(SweepCombinationInfos::getStatus)
+                .anyMatch(status -> status == DynamicSecurityAnalysisStatus.FAILED);
+        resultService.updateResult(sweepUuid, failed ? DynamicSecurityAnalysisStatus.FAILED : DynamicSecurityAnalysisStatus.SUCCEED);
     }
 
     @Override
@@ -124,24 +280,137 @@ public class DynamicSecurityAnalysisWorkerService extends AbstractWorkerService<
     public void preRun(DynamicSecurityAnalysisRunContext runContext) {
         super.preRun(runContext);
 
-        // get contingencies
-        List<Contingency> contingencyList = parametersService.getContingencies(runContext.getParameters().getContingencyListIds(),
-                runContext.getNetworkUuid(), runContext.getVariantId());
+        // a run accepted in the queue is now running
+        if (runContext.getResultUuid() != null) {
+            resultService.markRunning(runContext.getResultUuid());
+        }
+
+        // inputs shared by the runs of a batch are fetched once per worker, as well as the artifacts of a dynamic simulation
+        // result in affinity routing mode, its runs being routed to the same worker. The artifacts may also be staged in S3
+        // so that the dynamic simulation server is requested once for all workers.
+        UUID batchUuid = runContext.getBatchUuid();
+        UUID dynamicSimulationResultUuid = runContext.getDynamicSimulationResultUuid();
+        UUID artifactsScopeUuid = affinityRoutingEnabled ? dynamicSimulationResultUuid : batchUuid;
+
+        // the fetches are independent blocking I/O, they run concurrently on virtual threads scoped to this run, the first
+        // failure interrupting the others and failing the run with its own exception
+        long fetchStartTime = System.nanoTime();
+        List<Contingency> contingencyList;
+        byte[] dynamicSimulationZippedOutputState;
+        List<DynamicModelConfig> dynamicModel;
+        byte[] dynamicSimulationZippedParameters;
+        try (RunScope fetchScope = new RunScope()) {
+            // get contingencies, resolved once per variant of the batch: a contingency list, e.g. built from filters,
+            // may resolve to other elements on another variant
+            Future<List<Contingency>> contingencyListFuture = fetchScope.fork(() -> batchInputsCache.get(batchUuid, "contingencies/" + runContext.getVariantId(),
+                    () -> parametersService.getContingencies(runContext.getParameters().getContingencyListIds(), runContext.getNetworkUuid(), runContext.getVariantId())));
 
-        // get dump file from dynamic simulation server
-        byte[] dynamicSimulationZippedOutputState = dynamicSimulationClient.getOutputState(runContext.getDynamicSimulationResultUuid());
+            // get dump file from dynamic simulation server
+            Future<byte[]> zippedOutputStateFuture = fetchScope.fork(() -> batchInputsCache.get(artifactsScopeUuid, dynamicSimulationResultUuid + "/" + DynamicSimulationClient.OUTPUT_STATE,
+                    () -> artifactStagingService.get(dynamicSimulationResultUuid, DynamicSimulationClient.OUTPUT_STATE,
+                            () -> dynamicSimulationClient.getOutputState(dynamicSimulationResultUuid))));
 
-        // get dynamic model list from dynamic simulation server
-        byte[] dynamicSimulationZippedDynamicModel = dynamicSimulationClient.getDynamicModel(runContext.getDynamicSimulationResultUuid());
-        List<DynamicModelConfig> dynamicModel = parametersService.unZipDynamicModel(dynamicSimulationZippedDynamicModel, DynamicModelConfigJsonUtils.createObjectMapper());
+            // get dynamic model list from dynamic simulation server
+            Future<List<DynamicModelConfig>> dynamicModelFuture = fetchScope.fork(() -> parametersService.unZipDynamicModel(
+                    batchInputsCache.get(artifactsScopeUuid, dynamicSimulationResultUuid + "/" + DynamicSimulationClient.DYNAMIC_MODEL,
+                            () -> artifactStagingService.get(dynamicSimulationResultUuid, DynamicSimulationClient.DYNAMIC_MODEL,
+                                    () -> dynamicSimulationClient.getDynamicModel(dynamicSimulationResultUuid))),
+                    DynamicModelConfigJsonUtils.createObjectMapper()));
+
+            // get dynamic simulation parameters from dynamic simulation server
+            Future<byte[]> zippedParametersFuture = fetchScope.fork(() -> batchInputsCache.get(artifactsScopeUuid, dynamicSimulationResultUuid + "/" + DynamicSimulationClient.PARAMETERS,
+                    () -> artifactStagingService.get(dynamicSimulationResultUuid, DynamicSimulationClient.PARAMETERS,
+                            () -> dynamicSimulationClient.getDynamicSimulationParameters(dynamicSimulationResultUuid))));
+
+            fetchScope.join();
+            contingencyList = contingencyListFuture.resultNow();
+            dynamicSimulationZippedOutputState = zippedOutputStateFuture.resultNow();
+            dynamicModel = dynamicModelFuture.resultNow();
+            dynamicSimulationZippedParameters = zippedParametersFuture.resultNow();
+        }
+        LOGGER.info("Inputs of run on network {} fetched in {} ms", runContext.getNetworkUuid(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - fetchStartTime));
 
-        // get dynamic simulation parameters from dynamic simulation server
-        byte[] dynamicSimulationZippedParameters = dynamicSimulationClient.getDynamicSimulationParameters(runContext.getDynamicSimulationResultUuid());
         DynamicSimulationParameters dynamicSimulationParameters = parametersService.unZipDynamicSimulationParameters(dynamicSimulationZippedParameters, objectMapper);
 
         DynamicSecurityAnalysisParametersInfos parametersInfos = runContext.getParameters();
 
         // create a new dynamic security analysis parameters
+        DynamicSecurityAnalysisParameters parameters = createParameters(runContext, dynamicSimulationParameters,
+                parametersInfos.getScenarioDuration(), parametersInfos.getContingenciesStartTime());
+
+        // parametric sweep: a separated copy of the dynamic simulation parameters for each combination of the swept values
+        boolean sweep = !runContext.getSweepCombinations().isEmpty();
+        Map<UUID, DynamicSecurityAnalysisParameters> sweepParameters = new LinkedHashMap<>();
+        runContext.getSweepCombinations().forEach(combination -> sweepParameters.put(combination.getResultUuid(),
+                createParameters(runContext, parametersService.unZipDynamicSimulationParameters(dynamicSimulationZippedParameters, objectMapper),
+                        combination.getScenarioDuration(), combination.getContingenciesStartTime())));
+
+        // two-stage mode: a separated copy of the dynamic simulation parameters with the coarse profile
+        DynamicSecurityAnalysisParameters coarseParameters = null;
+        if (Boolean.TRUE.equals(parametersInfos.getTwoStageEnabled())) {
+            coarseParameters = createCoarseParameters(runContext, parametersService.unZipDynamicSimulationParameters(dynamicSimulationZippedParameters, objectMapper));
+        }
+
+        // incremental re-run: carry over the results of the contingencies which are unchanged since the previous result,
+        // not for a sweep whose combinations are not simulated with the values of the parameters set
+        Map<String, String> contingencyFingerprints = sweep ? new HashMap<>() : parametersService.computeContingencyFingerprints(contingencyList, parametersInfos);
+        List<ContingencyResultInfos> carriedOverContingencyResults = getCarriedOverContingencyResults(runContext, contingencyFingerprints);
+        Set<String> carriedOverContingencyIds = carriedOverContingencyResults.stream()
+                .map(ContingencyResultInfos::getContingencyId)
+                .collect(Collectors.toSet());
+        List<Contingency> contingenciesToSimulate = contingencyList.stream()
+                .filter(contingency -> !carriedOverContingencyIds.contains(contingency.getId()))
+                .toList();
+
+        // resume of a redelivered run: contingencies checkpointed by the previous delivery are not simulated again
+        List<ContingencyResultInfos> checkpointedContingencyResults = getCheckpointedContingencyResults(runContext, contingenciesToSimulate);
+        Set<String> checkpointedContingencyIds = checkpointedContingencyResults.stream()
+                .map(ContingencyResultInfos::getContingencyId)
+                .collect(Collectors.toSet());
+        contingenciesToSimulate = contingenciesToSimulate.stream()
+                .filter(contingency -> !checkpointedContingencyIds.contains(contingency.getId()))
+                .toList();
+
+        // enrich runContext
+        runContext.setContingencyFingerprints(contingencyFingerprints);
+        runContext.setCarriedOverContingencyResults(carriedOverContingencyResults);
+        runContext.setCheckpointedContingencyResults(checkpointedContingencyResults);
+        runContext.setContingencies(orderContingencies(runContext, screenContingencies(runContext, contingenciesToSimulate)));
+        runContext.setDynamicModelContent(dynamicModel);
+        runContext.setDynamicSecurityAnalysisParameters(parameters);
+        runContext.setCoarseDynamicSecurityAnalysisParameters(coarseParameters);
+        runContext.setSweepDynamicSecurityAnalysisParameters(sweepParameters);
+
+        // create a working folder for this run, in memory if it fits
+        int simulationCount = runContext.getContingencies().size() * Math.max(1, sweepParameters.size());
+        Path workDir = createWorkingDirectory(Utils.getUnzippedSize(dynamicSimulationZippedOutputState), simulationCount);
+        runContext.setWorkDir(workDir);
+
+        // enrich dump parameters, the dump file being unzipped once for all parameters copies
+        List<DynamicSimulationParameters> dynamicSimulationParametersCopies = new ArrayList<>();
+        dynamicSimulationParametersCopies.add(parameters.getDynamicSimulationParameters());
+        if (coarseParameters != null) {
+            dynamicSimulationParametersCopies.add(coarseParameters.getDynamicSimulationParameters());
+        }
+        sweepParameters.values().forEach(combinationParameters -> dynamicSimulationParametersCopies.add(combinationParameters.getDynamicSimulationParameters()));
+        long setupStartTime = System.nanoTime();
+        parametersService.setupDumpParameters(workDir, dynamicSimulationParametersCopies, dynamicSimulationZippedOutputState);
+
+        // warm start: a separated copy of the dynamic simulation parameters simulating the pre-contingency interval once,
+        // from the dump file of the dynamic simulation result
+        if (isWarmStartApplicable(runContext)) {
+            DynamicSimulationParameters warmStartParameters = parametersService.unZipDynamicSimulationParameters(dynamicSimulationZippedParameters, objectMapper);
+            warmStartParameters.setStartTime(parameters.getDynamicSimulationParameters().getStartTime());
+            warmStartParameters.setStopTime(parametersInfos.getContingenciesStartTime());
+            parametersService.setupWarmStartParameters(workDir, warmStartParameters);
+            runContext.setWarmStartDynamicSimulationParameters(warmStartParameters);
+        }
+        runContext.setWorkDirIoTime(Duration.ofNanos(System.nanoTime() - setupStartTime));
+    }
+
+    private DynamicSecurityAnalysisParameters createParameters(DynamicSecurityAnalysisRunContext runContext, DynamicSimulationParameters dynamicSimulationParameters,
+                                                               double scenarioDuration, double contingenciesStartTime) {
         DynamicSecurityAnalysisParameters parameters = new DynamicSecurityAnalysisParameters();
         if (runContext.getDebugDir() != null) {
             parameters.setDebugDir(runContext.getDebugDir().toString());
@@ -149,58 +418,670 @@ public class DynamicSecurityAnalysisWorkerService extends AbstractWorkerService<
         parameters.setDynamicSimulationParameters(dynamicSimulationParameters);
 
         // set start and stop times
-        parameters.getDynamicSimulationParameters().setStartTime(dynamicSimulationParameters.getStopTime());
-        parameters.getDynamicSimulationParameters().setStopTime(dynamicSimulationParameters.getStopTime() + parametersInfos.getScenarioDuration());
+        dynamicSimulationParameters.setStartTime(dynamicSimulationParameters.getStopTime());
+        dynamicSimulationParameters.setStopTime(dynamicSimulationParameters.getStopTime() + scenarioDuration);
 
         // set contingency start time
-        parameters.getDynamicContingenciesParameters().setContingenciesStartTime(parametersInfos.getContingenciesStartTime());
+        parameters.getDynamicContingenciesParameters().setContingenciesStartTime(contingenciesStartTime);
+        return parameters;
+    }
 
-        // enrich runContext
-        runContext.setContingencies(contingencyList);
-        runContext.setDynamicModelContent(dynamicModel);
-        runContext.setDynamicSecurityAnalysisParameters(parameters);
+    private DynamicSecurityAnalysisParameters createCoarseParameters(DynamicSecurityAnalysisRunContext runContext, DynamicSimulationParameters dynamicSimulationParameters) {
+        DynamicSecurityAnalysisParametersInfos parametersInfos = runContext.getParameters();
+        DynamicSecurityAnalysisParameters coarseParameters = new DynamicSecurityAnalysisParameters();
+        if (runContext.getDebugDir() != null) {
+            coarseParameters.setDebugDir(runContext.getDebugDir().toString());
+        }
+        coarseParameters.setDynamicSimulationParameters(dynamicSimulationParameters);
 
-        // create a working folder for this run
-        Path workDir;
-        workDir = createWorkingDirectory();
-        runContext.setWorkDir(workDir);
+        // shortened scenario
+        double coarseScenarioDuration = Optional.ofNullable(parametersInfos.getCoarseScenarioDuration()).orElse(parametersInfos.getScenarioDuration());
+        dynamicSimulationParameters.setStartTime(dynamicSimulationParameters.getStopTime());
+        dynamicSimulationParameters.setStopTime(dynamicSimulationParameters.getStopTime() + coarseScenarioDuration);
+
+        // relaxed solver precision
+        if (parametersInfos.getCoarsePrecision() != null) {
+            dynamicSimulationParameters.getExtension(DynawoSimulationParameters.class).setPrecision(parametersInfos.getCoarsePrecision());
+        }
+
+        coarseParameters.getDynamicContingenciesParameters().setContingenciesStartTime(parametersInfos.getContingenciesStartTime());
+        return coarseParameters;
+    }
+
+    private List<ContingencyResultInfos> getCarriedOverContingencyResults(DynamicSecurityAnalysisRunContext runContext, Map<String, String> contingencyFingerprints) {
+        if (runContext.getPreviousResultUuid() == null) {
+            return List.of();
+        }
+        // previous results are reusable only if computed against the same dynamic simulation result,
+        // and only completed verdicts, contingencies timed out, skipped or not simulated are simulated again
+        List<ContingencyResultInfos> carriedOverContingencyResults = resultService.findContingencyResults(runContext.getPreviousResultUuid(), runContext.getDynamicSimulationResultUuid()).stream()
+                .filter(contingencyResult -> contingencyResult.getStatus() == ContingencyResultStatus.SUCCEED ||
+                        contingencyResult.getStatus() == ContingencyResultStatus.FAILED)
+                .filter(contingencyResult -> contingencyResult.getFingerprint() != null &&
+                        contingencyResult.getFingerprint().equals(contingencyFingerprints.get(contingencyResult.getContingencyId())))
+                .toList();
+        LOGGER.info("Incremental re-run from result {}: {} contingencies carried over, {} to simulate", runContext.getPreviousResultUuid(),
+                carriedOverContingencyResults.size(), contingencyFingerprints.size() - carriedOverContingencyResults.size());
+        return carriedOverContingencyResults;
+    }
+
+    /**
+     * Results already stored for the contingencies of this run, i.e. checkpointed by a previous delivery of the same message
+     * which did not complete. Not applicable to a sweep whose results are stored by combination.
+     */
+    private List<ContingencyResultInfos> getCheckpointedContingencyResults(DynamicSecurityAnalysisRunContext runContext, List<Contingency> contingencies) {
+        if (runContext.getResultUuid() == null || !runContext.getSweepCombinations().isEmpty()) {
+            return List.of();
+        }
+        Set<String> contingencyIds = contingencies.stream().map(Contingency::getId).collect(Collectors.toSet());
+        // a contingency may have been checkpointed by several previous deliveries, the first result is kept
+        List<ContingencyResultInfos> checkpointedContingencyResults = new ArrayList<>(resultService.findContingencyResults(runContext.getResultUuid()).stream()
+                .filter(contingencyResult -> contingencyIds.contains(contingencyResult.getContingencyId()))
+                .collect(Collectors.toMap(ContingencyResultInfos::getContingencyId, Function.identity(), (first, second) -> first, LinkedHashMap::new))
+                .values());
+        if (!checkpointedContingencyResults.isEmpty()) {
+            LOGGER.info("Resume of result {}: {} contingencies checkpointed, {} to simulate", runContext.getResultUuid(),
+                    checkpointedContingencyResults.size(), contingencies.size() - checkpointedContingencyResults.size());
+        }
+        return checkpointedContingencyResults;
+    }
 
-        // enrich dump parameters
-        parametersService.setupDumpParameters(workDir, parameters.getDynamicSimulationParameters(), dynamicSimulationZippedOutputState);
+    /**
+     * Static pre-screening: only contingencies whose estimated severity reaches the threshold are kept for the dynamic simulation,
+     * the others are reported as skipped. Contingencies with an unknown severity are always kept.
+     *
+     * @return contingencies to simulate
+     */
+    private List<Contingency> screenContingencies(DynamicSecurityAnalysisRunContext runContext, List<Contingency> contingencies) {
+        DynamicSecurityAnalysisParametersInfos parametersInfos = runContext.getParameters();
+        if (!Boolean.TRUE.equals(parametersInfos.getScreeningEnabled()) || parametersInfos.getScreeningThreshold() == null) {
+            return contingencies;
+        }
+
+        Map<String, Double> severities = contingencyScreeningService.computeSeverities(runContext.getNetwork(), contingencies);
+        List<Contingency> contingenciesToSimulate = new ArrayList<>();
+        List<ContingencyResultInfos> skippedContingencyResults = new ArrayList<>();
+        for (Contingency contingency : contingencies) {
+            Double severity = severities.get(contingency.getId());
+            if (severity == null || severity >= parametersInfos.getScreeningThreshold()) {
+                contingenciesToSimulate.add(contingency);
+            } else {
+                skippedContingencyResults.add(ContingencyResultInfos.builder()
+                        .contingencyId(contingency.getId())
+                        .status(ContingencyResultStatus.SKIPPED)
+                        .severity(severity)
+                        .fingerprint(runContext.getContingencyFingerprints().get(contingency.getId()))
+                        .build());
+            }
+        }
+        LOGGER.info("Pre-screening with threshold {} MW: {} contingencies skipped, {} to simulate", parametersInfos.getScreeningThreshold(),
+                skippedContingencyResults.size(), contingenciesToSimulate.size());
+
+        runContext.setContingencySeverities(severities);
+        runContext.setSkippedContingencyResults(skippedContingencyResults);
+        return contingenciesToSimulate;
+    }
+
+    private List<Contingency> orderContingencies(DynamicSecurityAnalysisRunContext runContext, List<Contingency> contingencies) {
+        if (runContext.getParameters().getContingencyOrdering() != ContingencyOrdering.SEVERITY) {
+            return contingencies;
+        }
+        return contingencyOrderingService.sortBySeverity(runContext.getNetwork(), runContext.getNetworkUuid(), contingencies);
     }
 
     @Override
     public CompletableFuture<SecurityAnalysisReport> getCompletableFuture(DynamicSecurityAnalysisRunContext runContext, String provider, UUID resultUuid) {
 
-        DynamicModelsSupplier dynamicModelsSupplier = new DynawoModelsSupplier(runContext.getDynamicModelContent());
+        List<Contingency> contingencies = runContext.getContingencies();
+        if (contingencies.isEmpty()) {
+            // all contingency results have been carried over or skipped, nothing to simulate
+            return CompletableFuture.completedFuture(new SecurityAnalysisReport(SecurityAnalysisResult.empty()));
+        }
+
+        runContext.setResultUuid(resultUuid);
+        runContext.setComputationManager(new RunScopedComputationManager(getComputationManager()));
+        // the providers are found by the consumer thread, the simulation starting on another one
+        DynamicSecurityAnalysis.Runner runner = DynamicSecurityAnalysis.find(provider);
+        DynamicSimulation.Runner warmStartRunner = runContext.getWarmStartDynamicSimulationParameters() != null ?
+                DynamicSimulation.find(runContext.getProvider()) : null;
+
+        // the inputs are ready, wait for a simulation slot (pipelined mode when all slots are busy). The wait is part of the
+        // returned future, out of the lock of the computation, so that the stop of any run, waiting or simulating, goes through
+        CompletableFuture<SecurityAnalysisReport> future = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<SecurityAnalysisReport>> simulationFuture = new AtomicReference<>();
+        Thread.ofVirtual().name("run-" + resultUuid).start(() -> {
+            long slotWaitStartTime = System.nanoTime();
+            try {
+                if (!simulationSlots.acquire(future::isDone)) {
+                    LOGGER.info("Run {} stopped while waiting for a simulation slot", resultUuid);
+                    return;
+                }
+            } catch (CancellationException e) {
+                future.completeExceptionally(e);
+                return;
+            }
+            dynamicSecurityAnalysisObserver.recordSlotWaitTime(Duration.ofNanos(System.nanoTime() - slotWaitStartTime));
+            // stopped while acquiring
+            if (future.isDone()) {
+                simulationSlots.release();
+                return;
+            }
+            startSimulation(runner, warmStartRunner, runContext, future, simulationFuture);
+        });
+
+        // cancelling the returned future cancels the simulation, if started
+        future.whenComplete((report, throwable) -> {
+            if (future.isCancelled()) {
+                Optional.ofNullable(simulationFuture.get()).ifPresent(runFuture -> runFuture.cancel(true));
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * Start the simulation of a run holding a slot, its outcome completing the future of the run
+     */
+    private void startSimulation(DynamicSecurityAnalysis.Runner runner, DynamicSimulation.Runner warmStartRunner, DynamicSecurityAnalysisRunContext runContext,
+                                 CompletableFuture<SecurityAnalysisReport> future, AtomicReference<CompletableFuture<SecurityAnalysisReport>> simulationFuture) {
+        allocateCpus(runContext);
+
+        CompletableFuture<SecurityAnalysisReport> runFuture;
+        try {
+            runFuture = runAll(runner, warmStartRunner, runContext);
+        } catch (RuntimeException e) {
+            releaseSlot(runContext);
+            future.completeExceptionally(e);
+            return;
+        }
+
+        runFuture.whenComplete((report, throwable) -> {
+            if (runFuture.isCancelled()) {
+                // cancelling the run does not wait for the native simulations to end by themselves,
+                // the slot is free once the processes have been killed
+                releaseProcesses(runContext).whenComplete((unused, releaseThrowable) -> releaseSlot(runContext));
+            } else {
+                releaseSlot(runContext);
+            }
+            if (throwable != null) {
+                future.completeExceptionally(throwable);
+            } else {
+                future.complete(report);
+            }
+        });
+
+        // stopped while starting
+        simulationFuture.set(runFuture);
+        if (future.isCancelled()) {
+            runFuture.cancel(true);
+        }
+    }
+
+    /**
+     * The CPUs of the worker are partitioned between the simulating runs, the running processes of the run being pinned again
+     * when its share changes if the worker is restricted to a cpuset. Not applicable when the simulations are run by an executor pool.
+     */
+    private void allocateCpus(DynamicSecurityAnalysisRunContext runContext) {
+        if (executorPoolComputationManager != null) {
+            return;
+        }
+        RunScopedComputationManager computationManager = runContext.getComputationManager();
+        CpuAllocation cpuAllocation = cpuAllocationService.allocate(allocation -> ProcessUtils.setAffinity(
+                ProcessUtils.findDescendantsByWorkingDirectory(computationManager.getWorkingDirs()), allocation.getCpus()));
+        computationManager.setCpuAllocation(cpuAllocation);
+        runContext.setCpuAllocation(cpuAllocation);
+    }
+
+    private void releaseSlot(DynamicSecurityAnalysisRunContext runContext) {
+        // the CPUs of the run are shared between the remaining runs
+        cpuAllocationService.release(runContext.getCpuAllocation());
+        simulationSlots.release();
+    }
+
+    /**
+     * @param warmStartRunner runner of the warm start simulation, null if not applicable
+     */
+    private CompletableFuture<SecurityAnalysisReport> runAll(DynamicSecurityAnalysis.Runner runner, DynamicSimulation.Runner warmStartRunner,
+                                                             DynamicSecurityAnalysisRunContext runContext) {
+        if (!runContext.getSweepDynamicSecurityAnalysisParameters().isEmpty()) {
+            return runSweep(runner, runContext);
+        }
+
+        if (runContext.getWarmStartDynamicSimulationParameters() != null) {
+            return runWarmStarted(runner, warmStartRunner, runContext);
+        }
+
+        return runStages(runner, runContext);
+    }
 
+    private CompletableFuture<SecurityAnalysisReport> runStages(DynamicSecurityAnalysis.Runner runner, DynamicSecurityAnalysisRunContext runContext) {
         List<Contingency> contingencies = runContext.getContingencies();
+
+        if (runContext.getCoarseDynamicSecurityAnalysisParameters() != null) {
+            // two-stage mode: all contingencies are first simulated with the coarse profile, then only the flagged ones,
+            // i.e. failed or having limit violations, are re-simulated at full accuracy
+            return runThenRerun(runner, runContext, runContext.getCoarseDynamicSecurityAnalysisParameters(), contingencies,
+                    DynamicSecurityAnalysisWorkerService::isFlagged,
+                    contingencyId -> runContext.getContingencyStages().put(contingencyId, ContingencyResultStage.COARSE),
+                    flaggedContingencies -> runAsync(runner, runContext, runContext.getDynamicSecurityAnalysisParameters(), flaggedContingencies),
+                    contingencyId -> runContext.getContingencyStages().put(contingencyId, ContingencyResultStage.REFINED));
+        }
+
+        return runAsync(runner, runContext, runContext.getDynamicSecurityAnalysisParameters(), contingencies);
+    }
+
+    /**
+     * The warm start applies to single runs whose contingencies start strictly inside the simulated interval of every stage
+     */
+    private static boolean isWarmStartApplicable(DynamicSecurityAnalysisRunContext runContext) {
+        DynamicSecurityAnalysisParametersInfos parametersInfos = runContext.getParameters();
+        if (!Boolean.TRUE.equals(parametersInfos.getWarmStartEnabled()) || !runContext.getSweepCombinations().isEmpty() ||
+            runContext.getContingencies().isEmpty()) {
+            return false;
+        }
+        double startTime = runContext.getDynamicSecurityAnalysisParameters().getDynamicSimulationParameters().getStartTime();
+        double contingenciesStartTime = parametersInfos.getContingenciesStartTime();
+        return contingenciesStartTime > startTime && getWarmStartedParameters(runContext).stream()
+                .allMatch(dynamicSimulationParameters -> dynamicSimulationParameters.getStartTime() == startTime &&
+                                                         dynamicSimulationParameters.getStopTime() > contingenciesStartTime);
+    }
+
+    private static List<DynamicSimulationParameters> getWarmStartedParameters(DynamicSecurityAnalysisRunContext runContext) {
+        List<DynamicSimulationParameters> dynamicSimulationParametersList = new ArrayList<>();
+        dynamicSimulationParametersList.add(runContext.getDynamicSecurityAnalysisParameters().getDynamicSimulationParameters());
+        Optional.ofNullable(runContext.getCoarseDynamicSecurityAnalysisParameters())
+                .ifPresent(coarseParameters -> dynamicSimulationParametersList.add(coarseParameters.getDynamicSimulationParameters()));
+        return dynamicSimulationParametersList;
+    }
+
+    /**
+     * Simulate the pre-contingency interval once, then all stages with the contingencies starting from its final state.
+     * On a failure of the warm start, the contingencies start from the dynamic simulation result as usual. The warm start
+     * is killed after the contingency timeout, like a contingency simulation, then also falls back to the usual start.
+     */
+    private CompletableFuture<SecurityAnalysisReport> runWarmStarted(DynamicSecurityAnalysis.Runner runner, DynamicSimulation.Runner warmStartRunner,
+                                                                     DynamicSecurityAnalysisRunContext runContext) {
+        long warmStartTime = System.nanoTime();
+        DynamicSimulationRunParameters runParameters = new DynamicSimulationRunParameters()
+                .setComputationManager(Optional.<ComputationManager>ofNullable(runContext.getComputationManager()).orElseGet(this::getComputationManager))
+                .setDynamicSimulationParameters(runContext.getWarmStartDynamicSimulationParameters())
+                // the warm start may be killed by the watchdog then still be reporting while the stages start
+                .setReportNode(newSimulationReportNode(runContext, "dynamicsecurityanalysis.server.warmStart", Map.of()));
+        CompletableFuture<DynamicSimulationResult> warmStartFuture = warmStartRunner.runAsync(runContext.getNetwork(),
+                runContext.getVariantId() != null ? runContext.getVariantId() : VariantManagerConstants.INITIAL_VARIANT_ID,
+                new DynawoModelsSupplier(runContext.getDynamicModelContent()),
+                runParameters);
+
+        // watchdog
+        AtomicBoolean warmStartTimedOut = new AtomicBoolean();
+        Double contingencyTimeout = runContext.getParameters().getContingencyTimeout();
+        if (contingencyTimeout != null) {
+            CompletableFuture.delayedExecutor(Math.round(contingencyTimeout * 1000), TimeUnit.MILLISECONDS).execute(() -> {
+                if (!warmStartFuture.isDone()) {
+                    warmStartTimedOut.set(true);
+                    if (!warmStartFuture.cancel(true)) {
+                        warmStartTimedOut.set(false);
+                    }
+                }
+            });
+        }
+
+        AtomicReference<CompletableFuture<SecurityAnalysisReport>> stagesFuture = new AtomicReference<>();
+        CompletableFuture<SecurityAnalysisReport> future = warmStartFuture.handle((result, throwable) -> {
+            if (warmStartTimedOut.get()) {
+                LOGGER.warn("Warm start on network {} killed after a timeout of {} s, the contingencies start from the dynamic simulation result",
+                        runContext.getNetworkUuid(), contingencyTimeout);
+                dynamicSecurityAnalysisObserver.incrementContingencyTimeoutCount();
+                return null;
+            }
+            if (warmStartFuture.isCancelled()) {
+                throw new CancellationException();
+            }
+            Duration warmStartDuration = Duration.ofNanos(System.nanoTime() - warmStartTime);
+            Optional<Path> warmStartDumpFile = throwable == null && result.getStatus() == DynamicSimulationResult.Status.SUCCESS ?
+                    parametersService.findWarmStartDumpFile(runContext.getWorkDir()) : Optional.empty();
+            if (warmStartDumpFile.isEmpty()) {
+                LOGGER.warn("Warm start on network {} failed, the contingencies start from the dynamic simulation result", runContext.getNetworkUuid(), throwable);
+                return null;
+            }
+            parametersService.setupWarmStartedParameters(warmStartDumpFile.get(), getWarmStartedParameters(runContext),
+                    runContext.getParameters().getContingenciesStartTime());
+            runContext.setWarmStarted(true);
+            runContext.setWarmStartTime(warmStartDuration);
+            dynamicSecurityAnalysisObserver.recordWarmStartTime(warmStartDuration);
+            LOGGER.info("Warm start on network {} done in {} ms", runContext.getNetworkUuid(), warmStartDuration.toMillis());
+            return null;
+        }).thenCompose(unused -> {
+            stagesFuture.set(runStages(runner, runContext));
+            return stagesFuture.get();
+        });
+
+        // cancelling the composed future does not cancel the warm start nor the stages by themselves
+        future.whenComplete((report, throwable) -> {
+            if (future.isCancelled()) {
+                warmStartFuture.cancel(true);
+                Optional.ofNullable(stagesFuture.get()).ifPresent(runFuture -> runFuture.cancel(true));
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * Kill the processes of the run still alive after the cancellation (SIGTERM, then SIGKILL after the grace period),
+     * then remove the working directory as soon as they have exited
+     */
+    private CompletableFuture<Void> releaseProcesses(DynamicSecurityAnalysisRunContext runContext) {
+        long cancelTime = System.nanoTime();
+        List<ProcessHandle> processes = ProcessUtils.findDescendantsByWorkingDirectory(runContext.getComputationManager().getWorkingDirs());
+        LOGGER.info("Run on network {} cancelled, {} processes to terminate", runContext.getNetworkUuid(), processes.size());
+        return ProcessUtils.terminate(processes, cancelGracePeriod).whenComplete((unused, throwable) -> {
+            // a debug run keeps its working directory to be uploaded
+            if (runContext.getDebugDir() == null) {
+                removeWorkingDirectory(runContext);
+            }
+            Duration releaseTime = Duration.ofNanos(System.nanoTime() - cancelTime);
+            dynamicSecurityAnalysisObserver.recordCancelReleaseTime(releaseTime);
+            LOGGER.info("Resources of run on network {} released in {} ms", runContext.getNetworkUuid(), releaseTime.toMillis());
+        });
+    }
+
+    /**
+     * Simulate all combinations of a sweep in parallel, the report of each combination being kept in the run context.
+     * The two-stage, timeout and abort modes apply to single runs only.
+     */
+    private CompletableFuture<SecurityAnalysisReport> runSweep(DynamicSecurityAnalysis.Runner runner, DynamicSecurityAnalysisRunContext runContext) {
+        // a report node per combination, all created before the combinations start
+        Map<UUID, ReportNode> combinationReportNodes = new LinkedHashMap<>();
+        runContext.getSweepDynamicSecurityAnalysisParameters().keySet().forEach(combinationResultUuid ->
+                combinationReportNodes.put(combinationResultUuid, newSimulationReportNode(runContext, "dynamicsecurityanalysis.server.sweepCombination",
+                        Map.of("combinationResultUuid", combinationResultUuid.toString()))));
+
+        List<CompletableFuture<SecurityAnalysisReport>> combinationFutures = new ArrayList<>();
+        runContext.getSweepDynamicSecurityAnalysisParameters().forEach((combinationResultUuid, combinationParameters) ->
+                combinationFutures.add(runAllAsync(runner, runContext, combinationParameters, runContext.getContingencies(),
+                                combinationReportNodes.get(combinationResultUuid))
+                        .thenApply(report -> {
+                            runContext.getSweepReports().put(combinationResultUuid, report);
+                            return report;
+                        })));
+
+        CompletableFuture<SecurityAnalysisReport> future = CompletableFuture.allOf(combinationFutures.toArray(CompletableFuture[]::new))
+                .thenApply(unused -> new SecurityAnalysisReport(SecurityAnalysisResult.empty()));
+
+        // cancelling the sweep cancels all combinations
+        future.whenComplete((report, throwable) -> {
+            if (future.isCancelled()) {
+                combinationFutures.forEach(combinationFuture -> combinationFuture.cancel(true));
+            }
+        });
+
+        return future;
+    }
+
+    private CompletableFuture<SecurityAnalysisReport> runAsync(DynamicSecurityAnalysis.Runner runner, DynamicSecurityAnalysisRunContext runContext,
+                                                               DynamicSecurityAnalysisParameters parameters, List<Contingency> contingencies) {
+        DynamicSecurityAnalysisParametersInfos parametersInfos = runContext.getParameters();
+        Double contingencyTimeout = parametersInfos.getContingencyTimeout();
+        AbortPolicy abortPolicy = Optional.ofNullable(parametersInfos.getAbortPolicy()).orElse(AbortPolicy.NONE);
+        // the abort policy and the publication only apply on final verdicts, i.e. not on a coarse pass
+        boolean finalVerdicts = parameters == runContext.getDynamicSecurityAnalysisParameters();
+        boolean abortable = abortPolicy != AbortPolicy.NONE && finalVerdicts;
+        boolean progressive = isPublishingContingencyResults(runContext) && finalVerdicts;
+        Integer parallelism = parametersInfos.getParallelism();
+        // a single simulation of all contingencies unless a feature of the chunks is requested, the chunks exporting the inputs
+        // of the run each and adding their own concurrency to the one of the simulator
+        if (contingencyTimeout == null && !abortable && !progressive && parallelism == null) {
+            return runAllAsync(runner, runContext, parameters, contingencies, runContext.getReportNode());
+        }
+        // final results of a run in chunks checkpointable per contingency, so that a run in flight on a drain resumes from
+        // them once redelivered
+        boolean checkpointable = isCheckpointable(runContext) && finalVerdicts;
+
+        // simulations by chunks of contingencies sharing the inputs exported for a run, so that the watchdog can kill a chunk
+        // while the others continue, the outstanding contingencies can be cancelled on abort, results are published in the
+        // simulation order and the parallelism of the run is applied
+        int maxConcurrency = getMaxConcurrency(runContext, parallelism);
+        // no more simultaneous simulations than CPUs allocated to the run, if any
+        CpuAllocation cpuAllocation = runContext.getCpuAllocation();
+        IntSupplier concurrency = () -> cpuAllocation != null ? Math.min(maxConcurrency, cpuAllocation.getCpuCount()) : maxConcurrency;
+        ContingencyExecutionScheduler scheduler = ContingencyExecutionScheduler.ofChunks(concurrency,
+                contingencyTimeout != null ? Math.round(contingencyTimeout * 1000) : null, contingencies, contingencyChunkSize,
+                chunk -> runAllAsync(runner, runContext, parameters, chunk, newSimulationReportNode(runContext, "dynamicsecurityanalysis.server.contingencyChunk",
+                        Map.of("firstContingencyId", chunk.get(0).getId(), "contingencyCount", String.valueOf(chunk.size())))),
+                contingencyId -> {
+                    LOGGER.warn("Simulation of contingency {} killed after a timeout of {} s", contingencyId, contingencyTimeout);
+                    runContext.getTimedOutContingencyIds().add(contingencyId);
+                    dynamicSecurityAnalysisObserver.incrementContingencyTimeoutCount();
+                });
+        if (checkpointable) {
+            // published from the start, or from the drain of the worker on, the results computed so far first
+            scheduler.withResultConsumer(postContingencyResult -> publishContingencyResult(runContext, postContingencyResult),
+                    isPublishingContingencyResults(runContext));
+        }
+        if (abortable) {
+            scheduler.withAbortCondition(
+                    abortPolicy == AbortPolicy.ON_FAILURE ? DynamicSecurityAnalysisWorkerService::isFailed : DynamicSecurityAnalysisWorkerService::isFlagged,
+                    Optional.ofNullable(parametersInfos.getAbortThreshold()).orElse(1),
+                    notSimulatedContingencyIds -> {
+                        LOGGER.info("Abort policy {} fired on network {}, {} contingencies not simulated", abortPolicy,
+                                runContext.getNetworkUuid(), notSimulatedContingencyIds.size());
+                        runContext.setAborted(true);
+                        runContext.getNotSimulatedContingencyIds().addAll(notSimulatedContingencyIds);
+                    });
+        }
+
+        // the memory of the simulations is measured to tune the next runs in auto mode, when they are local processes
+        RunScopedComputationManager computationManager = runContext.getComputationManager();
+        CompletableFuture<SecurityAnalysisReport> future;
+        if (computationManager == null || executorPoolComputationManager != null) {
+            future = scheduler.run();
+        } else {
+            ParallelismTuner.Sampling sampling = parallelismTuner.startSampling(runContext.getNetworkUuid(),
+                    () -> ProcessUtils.findDescendantsByWorkingDirectory(computationManager.getWorkingDirs()), scheduler::getRunningCount);
+            future = scheduler.run();
+            future.whenComplete((report, throwable) -> sampling.stop());
+        }
+        if (checkpointable) {
+            Runnable unregisterCheckpoint = drainService.onDrain(scheduler::startResultConsumer);
+            future.whenComplete((report, throwable) -> unregisterCheckpoint.run());
+        }
+        return future;
+    }
+
+    /**
+     * @param parallelism parallelism of the run, null for the default concurrency of the worker
+     */
+    private int getMaxConcurrency(DynamicSecurityAnalysisRunContext runContext, Integer parallelism) {
+        if (parallelism == null) {
+            return contingencyConcurrency;
+        }
+        if (parallelism == DynamicSecurityAnalysisParametersInfos.AUTO_PARALLELISM) {
+            return parallelismTuner.getAutoParallelism(runContext.getNetworkUuid(), Runtime.getRuntime().availableProcessors());
+        }
+        return parallelism;
+    }
+
+    /**
+     * Whether the final result of each contingency is stored as soon as it is computed, either to be displayed progressively
+     * or as a checkpoint from which a redelivered run resumes
+     */
+    private boolean isPublishingContingencyResults(DynamicSecurityAnalysisRunContext runContext) {
+        return isCheckpointable(runContext) &&
+               (checkpointEnabled || runContext.getParameters().getContingencyOrdering() == ContingencyOrdering.SEVERITY);
+    }
+
+    /**
+     * Whether the final result of each contingency can be stored before the end of the run, i.e. a single result
+     */
+    private static boolean isCheckpointable(DynamicSecurityAnalysisRunContext runContext) {
+        return runContext.getResultUuid() != null && runContext.getSweepCombinations().isEmpty();
+    }
+
+    private void publishContingencyResult(DynamicSecurityAnalysisRunContext runContext, PostContingencyResult postContingencyResult) {
+        resultService.addContingencyResult(runContext.getResultUuid(), toContingencyResultInfos(runContext, postContingencyResult));
+    }
+
+    /**
+     * Child of the report node of the run for a simulation running concurrently with others, a report node not being
+     * thread-safe: each simulation reports to its own child, the children being added under the lock of the report node
+     * of the run
+     *
+     * @return null if the run has no report node
+     */
+    private static ReportNode newSimulationReportNode(DynamicSecurityAnalysisRunContext runContext, String key, Map<String, String> values) {
+        ReportNode reportNode = runContext.getReportNode();
+        if (reportNode == null) {
+            return null;
+        }
+        synchronized (reportNode) {
+            ReportNodeAdder adder = reportNode.newReportNode().withMessageTemplate(key);
+            values.forEach(adder::withUntypedValue);
+            return adder.add();
+        }
+    }
+
+    /**
+     * @param reportNode report node of this simulation only, see {@link #newSimulationReportNode(DynamicSecurityAnalysisRunContext, String, Map)}
+     */
+    private CompletableFuture<SecurityAnalysisReport> runAllAsync(DynamicSecurityAnalysis.Runner runner, DynamicSecurityAnalysisRunContext runContext,
+                                                                  DynamicSecurityAnalysisParameters parameters, List<Contingency> contingencies,
+                                                                  ReportNode reportNode) {
+
+        DynamicModelsSupplier dynamicModelsSupplier = new DynawoModelsSupplier(runContext.getDynamicModelContent());
+
         ContingenciesProvider contingenciesProvider = network -> contingencies;
 
-        DynamicSecurityAnalysisParameters parameters = runContext.getDynamicSecurityAnalysisParameters();
         LOGGER.info("Run dynamic security analysis on network {}, startTime {}, stopTime {}, contingenciesStartTime {}",
                 runContext.getNetworkUuid(), parameters.getDynamicSimulationParameters().getStartTime(),
                 parameters.getDynamicSimulationParameters().getStopTime(),
                 parameters.getDynamicContingenciesParameters().getContingenciesStartTime());
 
         DynamicSecurityAnalysisRunParameters runParameters = new DynamicSecurityAnalysisRunParameters()
-                .setComputationManager(getComputationManager())
+                .setComputationManager(Optional.<ComputationManager>ofNullable(runContext.getComputationManager()).orElseGet(this::getComputationManager))
                 .setDynamicSecurityAnalysisParameters(parameters)
-                .setReportNode(runContext.getReportNode());
-
-        DynamicSecurityAnalysis.Runner runner = DynamicSecurityAnalysis.find(provider);
+                .setReportNode(reportNode);
 
-        return runner.runAsync(runContext.getNetwork(),
+        // time per contingency, to compare the cold and the warm starts and the overhead of a run by chunk size
+        long simulationStartTime = System.nanoTime();
+        boolean warmStarted = runContext.isWarmStarted();
+        CompletableFuture<SecurityAnalysisReport> future = runner.runAsync(runContext.getNetwork(),
             runContext.getVariantId() != null ? runContext.getVariantId() : VariantManagerConstants.INITIAL_VARIANT_ID,
             dynamicModelsSupplier,
             contingenciesProvider,
             runParameters
         );
+        // the returned future is the one of the runner so that cancelling it kills the simulation
+        future.whenComplete((report, throwable) -> {
+            if (throwable == null && !contingencies.isEmpty()) {
+                Duration simulationTime = Duration.ofNanos((System.nanoTime() - simulationStartTime) / contingencies.size());
+                dynamicSecurityAnalysisObserver.recordContingencySimulationTime(warmStarted, contingencies.size(), simulationTime);
+                dynamicSecurityAnalysisObserver.recordContingencyStartupTime(warmStarted, getContingencyStartupTime(parameters, simulationTime,
+                        warmStarted ? runContext.getWarmStartTime() : null, runContext.getContingencies().size()));
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Time per contingency spent simulating the pre-contingency interval: the share of the simulation of the contingency
+     * in proportion to the simulated interval when each contingency simulates it (cold start), plus the share of the warm
+     * start simulating it once for all contingencies
+     *
+     * @param simulationTime time of the simulation of the contingency
+     * @param warmStartTime  time of the warm start, null if not warm started
+     */
+    static Duration getContingencyStartupTime(DynamicSecurityAnalysisParameters parameters, Duration simulationTime,
+                                              Duration warmStartTime, int warmStartedContingencyCount) {
+        double startTime = parameters.getDynamicSimulationParameters().getStartTime();
+        double stopTime = parameters.getDynamicSimulationParameters().getStopTime();
+        double contingenciesStartTime = parameters.getDynamicContingenciesParameters().getContingenciesStartTime();
+        Duration startupTime = Duration.ZERO;
+        if (stopTime > startTime && contingenciesStartTime > startTime) {
+            startupTime = Duration.ofNanos(Math.round(simulationTime.toNanos() * Math.min(1, (contingenciesStartTime - startTime) / (stopTime - startTime))));
+        }
+        if (warmStartTime != null && warmStartedContingencyCount > 0) {
+            startupTime = startupTime.plus(warmStartTime.dividedBy(warmStartedContingencyCount));
+        }
+        return startupTime;
+    }
+
+    /**
+     * Simulate all contingencies with the given parameters, then re-simulate those matching the rerun predicate.
+     * Results of the second pass replace the ones of the first pass.
+     */
+    private CompletableFuture<SecurityAnalysisReport> runThenRerun(DynamicSecurityAnalysis.Runner runner, DynamicSecurityAnalysisRunContext runContext,
+                                                                   DynamicSecurityAnalysisParameters firstPassParameters, List<Contingency> contingencies,
+                                                                   Predicate<PostContingencyResult> rerunPredicate,
+                                                                   Consumer<String> firstPassResultConsumer,
+                                                                   Function<List<Contingency>, CompletableFuture<SecurityAnalysisReport>> rerunFunction,
+                                                                   Consumer<String> rerunResultConsumer) {
+        AtomicReference<CompletableFuture<SecurityAnalysisReport>> rerunFuture = new AtomicReference<>();
+        CompletableFuture<SecurityAnalysisReport> firstPassFuture = runAsync(runner, runContext, firstPassParameters, contingencies);
+
+        CompletableFuture<SecurityAnalysisReport> future = firstPassFuture.thenCompose(firstPassReport -> {
+            Map<String, PostContingencyResult> results = new LinkedHashMap<>();
+            firstPassReport.getResult().getPostContingencyResults().forEach(postContingencyResult ->
+                    results.put(postContingencyResult.getContingency().getId(), postContingencyResult));
+
+            // a contingency missing in the first pass result is always re-simulated
+            List<Contingency> rerunContingencies = contingencies.stream()
+                    .filter(contingency -> Optional.ofNullable(results.get(contingency.getId())).map(rerunPredicate::test).orElse(true))
+                    .toList();
+            results.keySet().forEach(firstPassResultConsumer);
+            LOGGER.info("{} contingencies to re-simulate among {}", rerunContingencies.size(), contingencies.size());
+
+            // results of the first pass which are not re-simulated are final
+            if (isPublishingContingencyResults(runContext)) {
+                Set<String> rerunContingencyIds = rerunContingencies.stream().map(Contingency::getId).collect(Collectors.toSet());
+                results.values().stream()
+                        .filter(postContingencyResult -> !rerunContingencyIds.contains(postContingencyResult.getContingency().getId()))
+                        .forEach(postContingencyResult -> publishContingencyResult(runContext, postContingencyResult));
+            }
+
+            if (rerunContingencies.isEmpty() || runContext.isAborted()) {
+                return CompletableFuture.completedFuture(firstPassReport);
+            }
+
+            rerunFuture.set(rerunFunction.apply(rerunContingencies));
+            return rerunFuture.get().thenApply(rerunReport -> {
+                rerunReport.getResult().getPostContingencyResults().forEach(postContingencyResult -> {
+                    String contingencyId = postContingencyResult.getContingency().getId();
+                    results.put(contingencyId, postContingencyResult);
+                    rerunResultConsumer.accept(contingencyId);
+                });
+                return new SecurityAnalysisReport(new SecurityAnalysisResult(rerunReport.getResult().getPreContingencyResult(),
+                        new ArrayList<>(results.values()), rerunReport.getResult().getOperatorStrategyResults()));
+            });
+        });
+
+        // cancelling the composed future does not cancel the passes by itself
+        future.whenComplete((report, throwable) -> {
+            if (future.isCancelled()) {
+                firstPassFuture.cancel(true);
+                Optional.ofNullable(rerunFuture.get()).ifPresent(passFuture -> passFuture.cancel(true));
+            }
+        });
+
+        return future;
+    }
+
+    private static boolean isFailed(PostContingencyResult postContingencyResult) {
+        return postContingencyResult.getStatus() == PostContingencyComputationStatus.FAILED;
+    }
+
+    private static boolean isFlagged(PostContingencyResult postContingencyResult) {
+        return postContingencyResult.getStatus() == PostContingencyComputationStatus.FAILED ||
+               !postContingencyResult.getLimitViolationsResult().getLimitViolations().isEmpty();
     }
 
     @Override
     protected void handleNonCancellationException(AbstractResultContext<DynamicSecurityAnalysisRunContext> resultContext, Exception exception, AtomicReference<ReportNode> rootReporter) {
+        // receivers of identical runs attached to this one, read before the result is deleted by the super
+        List<ReceiverInfos> attachedReceivers = resultService.findAttachedReceivers(resultContext.getResultUuid());
         super.handleNonCancellationException(resultContext, exception, rootReporter);
+        attachedReceivers.forEach(receiverInfos -> notificationService.publishFail(resultContext.getResultUuid(), receiverInfos.getReceiver(),
+                exception.getMessage(), receiverInfos.getUserId(), getComputationType(), null));
         // try to get report nodes at powsybl level
         List<ReportNode> computationReportNodes = Optional.ofNullable(resultContext.getRunContext().getReportNode()).map(ReportNode::getChildren).orElse(null);
         if (CollectionUtils.isNotEmpty(computationReportNodes)) { // means computing has started at powsybl level
@@ -211,28 +1092,85 @@ public class DynamicSecurityAnalysisWorkerService extends AbstractWorkerService<
         }
     }
 
+    /**
+     * A run is only cancelled once all the callers sharing its result have stopped it, still notify the receivers attached
+     * in the meantime
+     */
+    @Override
+    protected void cleanResultsAndPublishCancel(UUID resultUuid, String receiver) {
+        List<ReceiverInfos> attachedReceivers = resultService.findAttachedReceivers(resultUuid);
+        super.cleanResultsAndPublishCancel(resultUuid, receiver);
+        attachedReceivers.forEach(receiverInfos -> notificationService.publishStop(resultUuid, receiverInfos.getReceiver(), getComputationType()));
+    }
+
+    /**
+     * The run consumers count their runs in flight so that a drain waits for them, see {@link DrainService}
+     */
     @Bean
     public Consumer<Message<String>> consumeRun1() {
-        return super.consumeRun();
+        return drainService.track(super.consumeRun());
     }
 
     @Bean
     public Consumer<Message<String>> consumeRun2() {
-        return super.consumeRun();
+        return drainService.track(super.consumeRun());
     }
 
+    /**
+     * Extra consumer preparing the next run while the others simulate, see {@link SimulationSlots}
+     */
     @Bean
-    @Override
-    public Consumer<Message<String>> consumeCancel() {
-        return super.consumeCancel();
+    public Consumer<Message<String>> consumeRun3() {
+        return drainService.track(super.consumeRun());
+    }
+
+    /**
+     * Consumer of the runs routed to this worker by a consistent hash of their dynamic simulation result, i.e. affinity routing,
+     * so that the artifacts of a dynamic simulation result are fetched by a single worker. A run arriving while all simulation
+     * slots are busy spills over to the shared run queue, consumed by any worker.
+     */
+    @Bean
+    public Consumer<Message<String>> consumeRunAffinity() {
+        Consumer<Message<String>> consumeRun = super.consumeRun();
+        return drainService.track(message -> {
+            if (simulationSlots.getAvailableSlotCount() == 0) {
+                LOGGER.info("Worker saturated, run of dynamic simulation result {} spilled over to the shared queue",
+                        message.getHeaders().get(DynamicSecurityAnalysisResultContext.HEADER_DYNAMIC_SIMULATION_RESULT_UUID));
+                streamBridge.send(SPILL_OVER_BINDING, message);
+                dynamicSecurityAnalysisObserver.incrementSpillOverCount();
+                return;
+            }
+            consumeRun.accept(message);
+        });
     }
 
     @Override
     protected void clean(AbstractResultContext<DynamicSecurityAnalysisRunContext> resultContext) {
         super.clean(resultContext);
+        // the run is not counted anymore by the fair-share scheduling
+        fairShareScheduler.release(resultContext.getResultUuid());
         // clean working directory
-        Path workDir = resultContext.getRunContext().getWorkDir();
-        removeDirectory(workDir);
+        removeWorkingDirectory(resultContext.getRunContext());
+    }
+
+    private void removeWorkingDirectory(DynamicSecurityAnalysisRunContext runContext) {
+        Path workDir = runContext.getWorkDir();
+        // already removed after a cancellation
+        if (workDir == null || !Files.exists(workDir)) {
+            return;
+        }
+        boolean inMemory = workDirectoryService.isInMemory(workDir);
+        long removeStartTime = System.nanoTime();
+
+        // the consumer does not wait for the recursive delete of the outputs
+        workDirectoryService.removeAsync(workDir).thenAccept(size -> {
+            // I/O time of the working directory by medium, the saving of the memory mode being estimated from the disk ones
+            Duration ioTime = Optional.ofNullable(runContext.getWorkDirIoTime()).orElse(Duration.ZERO)
+                    .plusNanos(System.nanoTime() - removeStartTime);
+            LOGGER.info("Working directory {} {}, size {} bytes, I/O time {} ms", workDir, inMemory ? "in memory" : "on disk", size, ioTime.toMillis());
+            dynamicSecurityAnalysisObserver.recordWorkDirIoTime(inMemory, ioTime);
+            workDirectoryService.recordIoTime(inMemory, size, ioTime).ifPresent(dynamicSecurityAnalysisObserver::recordWorkDirSavedIoTime);
+        });
     }
 
     @Override
@@ -250,16 +1188,8 @@ public class DynamicSecurityAnalysisWorkerService extends AbstractWorkerService<
         super.processDebug(resultContext);
     }
 
-    private Path createWorkingDirectory() {
-        Path workDir;
-        Path localDir = getComputationManager().getLocalDir();
-        try {
-            workDir = Files.createTempDirectory(localDir, buildComputationDirPrefix());
-        } catch (IOException e) {
-            throw new UncheckedIOException(String.format("Error occurred while creating a working directory inside the local directory %s",
-                    localDir.toAbsolutePath()), e);
-        }
-        return workDir;
+    private Path createWorkingDirectory(long dumpSize, int simulationCount) {
+        return workDirectoryService.createWorkingDirectory(getComputationManager().getLocalDir(), buildComputationDirPrefix(), dumpSize, simulationCount);
     }
 
 }
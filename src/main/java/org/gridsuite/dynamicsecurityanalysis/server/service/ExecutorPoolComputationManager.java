@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.dynamicsecurityanalysis.server.service;
+
+import com.powsybl.computation.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Computation manager dispatching each execution to one of a pool of executor nodes, so that the simulations are not run
+ * by the pod which has consumed the run message. Each node is reached through its own computation manager, e.g. a local
+ * one submitting its commands to the executor processes of a job spool, see {@link SpoolCommandExecutor}.
+ * <p>
+ * An execution is placed on the node with the most free capacity, i.e. capacity minus running executions, the first node
+ * winning ties. When all nodes are full, the execution is queued by the node with the fewest executions beyond its capacity.
+ * <p>
+ * The working directories of the runs are created in the local directory of the pool, which must be visible from all nodes.
+ *
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+public class ExecutorPoolComputationManager implements ComputationManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExecutorPoolComputationManager.class);
+
+    /**
+     * @param computationManager computation manager of the node, owned by the pool
+     * @param capacity           number of simultaneous executions of the node
+     */
+    public record ExecutorNode(String name, ComputationManager computationManager, int capacity) {
+        public ExecutorNode {
+            Objects.requireNonNull(name);
+            Objects.requireNonNull(computationManager);
+            capacity = Math.max(1, capacity);
+        }
+    }
+
+    private final Path localDir;
+    private final List<ExecutorNode> nodes;
+    private final Map<ExecutorNode, AtomicInteger> runningExecutions = new IdentityHashMap<>();
+
+    public ExecutorPoolComputationManager(Path localDir, List<ExecutorNode> nodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("An executor pool needs at least one node");
+        }
+        this.localDir = Objects.requireNonNull(localDir);
+        this.nodes = List.copyOf(nodes);
+        this.nodes.forEach(node -> runningExecutions.put(node, new AtomicInteger()));
+    }
+
+    public int getRunningExecutionCount(String nodeName) {
+        return nodes.stream()
+                .filter(node -> node.name().equals(nodeName))
+                .mapToInt(node -> runningExecutions.get(node).get())
+                .sum();
+    }
+
+    private synchronized ExecutorNode acquireNode() {
+        ExecutorNode selectedNode = nodes.stream()
+                .max(Comparator.<ExecutorNode>comparingInt(node -> node.capacity() - runningExecutions.get(node).get())
+                        .thenComparingInt(node -> -nodes.indexOf(node)))
+                .orElseThrow();
+        runningExecutions.get(selectedNode).incrementAndGet();
+        return selectedNode;
+    }
+
+    private <R> CompletableFuture<R> dispatch(Supplier<CompletableFuture<R>> execution, ExecutorNode node) {
+        LOGGER.debug("Execution dispatched to node {} ({}/{} running)", node.name(), runningExecutions.get(node).get(), node.capacity());
+        CompletableFuture<R> future;
+        try {
+            future = execution.get();
+        } catch (RuntimeException e) {
+            runningExecutions.get(node).decrementAndGet();
+            throw e;
+        }
+        future.whenComplete((result, throwable) -> runningExecutions.get(node).decrementAndGet());
+        return future;
+    }
+
+    @Override
+    public String getVersion() {
+        return nodes.get(0).computationManager().getVersion();
+    }
+
+    /**
+     * The common file is written once then copied to every node
+     */
+    @Override
+    public OutputStream newCommonFile(String fileName) {
+        return new ByteArrayOutputStream() {
+            @Override
+            public void close() throws IOException {
+                super.close();
+                for (ExecutorNode node : nodes) {
+                    try (OutputStream os = node.computationManager().newCommonFile(fileName)) {
+                        writeTo(os);
+                    }
+                }
+            }
+        };
+    }
+
+    @Override
+    public <R> CompletableFuture<R> execute(ExecutionEnvironment environment, ExecutionHandler<R> handler) {
+        ExecutorNode node = acquireNode();
+        return dispatch(() -> node.computationManager().execute(environment, handler), node);
+    }
+
+    @Override
+    public <R> CompletableFuture<R> execute(ExecutionEnvironment environment, ExecutionHandler<R> handler, ComputationParameters parameters) {
+        ExecutorNode node = acquireNode();
+        return dispatch(() -> node.computationManager().execute(environment, handler, parameters), node);
+    }
+
+    @Override
+    public ComputationResourcesStatus getResourcesStatus() {
+        int availableCores = nodes.stream().mapToInt(ExecutorNode::capacity).sum();
+        int busyCores = runningExecutions.values().stream().mapToInt(AtomicInteger::get).sum();
+        Map<String, Integer> busyCoresPerNode = new LinkedHashMap<>();
+        nodes.forEach(node -> busyCoresPerNode.put(node.name(), runningExecutions.get(node).get()));
+        ZonedDateTime date = ZonedDateTime.now();
+        return new ComputationResourcesStatus() {
+            @Override
+            public ZonedDateTime getDate() {
+                return date;
+            }
+
+            @Override
+            public int getAvailableCores() {
+                return availableCores;
+            }
+
+            @Override
+            public int getBusyCores() {
+                return busyCores;
+            }
+
+            @Override
+            public Map<String, Integer> getBusyCoresPerApp() {
+                return busyCoresPerNode;
+            }
+        };
+    }
+
+    @Override
+    public Executor getExecutor() {
+        return nodes.get(0).computationManager().getExecutor();
+    }
+
+    @Override
+    public Path getLocalDir() {
+        return localDir;
+    }
+
+    @Override
+    public void close() {
+        nodes.forEach(node -> node.computationManager().close());
+    }
+}
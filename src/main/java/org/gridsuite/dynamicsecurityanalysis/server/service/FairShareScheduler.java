@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.dynamicsecurityanalysis.server.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.gridsuite.computation.service.NotificationService;
+import org.gridsuite.dynamicsecurityanalysis.server.config.FairShareConfig.FairShareProperties;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.DynamicSecurityAnalysisStatus;
+import org.gridsuite.dynamicsecurityanalysis.server.entities.PendingRunEntity;
+import org.gridsuite.dynamicsecurityanalysis.server.repositories.PendingRunRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.gridsuite.computation.service.AbstractResultContext.RESULT_UUID_HEADER;
+
+/**
+ * Per-user fair-share scheduling of the runs. Instead of being published right away, the run messages are held in the
+ * database, i.e. one sub-queue per user, then dispatched to the workers by weighted round-robin across the users,
+ * each user being capped to a number of running runs. A single user submitting a large batch thus no longer takes every
+ * worker.
+ * <p>
+ * The dispatched runs are kept until completed, so that the running runs are counted whatever the server instance.
+ * A dispatched run whose result is not pending anymore, e.g. its worker has died before releasing it, is released by the
+ * next dispatch. A run whose result stays pending, e.g. its message has been dead-lettered, is released after the running
+ * timeout, which should be at least the longest run.
+ * <p>
+ * A dispatch only locks the runs selected to be dispatched, skipping those locked by another server instance, marks them
+ * dispatched then publishes their messages once committed. The instances dispatching at the same time may thus exceed the
+ * caps by the runs selected from the same snapshot. A run whose message cannot be published is waiting again.
+ *
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+@Service
+public class FairShareScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FairShareScheduler.class);
+
+    private static final String UNKNOWN_USER = "unknown";
+
+    private final PendingRunRepository pendingRunRepository;
+    private final NotificationService notificationService;
+    private final DynamicSecurityAnalysisObserver observer;
+    private final ObjectMapper objectMapper;
+    private final FairShareProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    // smooth weighted round-robin state, the current weight of each user with waiting runs
+    private final Map<String, Long> currentWeights = new HashMap<>();
+
+    public FairShareScheduler(PendingRunRepository pendingRunRepository,
+                              NotificationService notificationService,
+                              DynamicSecurityAnalysisObserver observer,
+                              ObjectMapper objectMapper,
+                              FairShareProperties properties,
+                              PlatformTransactionManager transactionManager) {
+        this.pendingRunRepository = Objects.requireNonNull(pendingRunRepository);
+        this.notificationService = Objects.requireNonNull(notificationService);
+        this.observer = Objects.requireNonNull(observer);
+        this.objectMapper = Objects.requireNonNull(objectMapper);
+        this.properties = Objects.requireNonNull(properties);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Publish the run message, through the per-user sub-queues when the fair-share scheduling is enabled
+     */
+    public void sendRunMessage(Message<String> message, String userId) {
+        if (!isEnabled()) {
+            notificationService.sendRunMessage(message);
+            return;
+        }
+
+        // id and timestamp are regenerated on dispatch
+        Map<String, Object> headers = new HashMap<>(message.getHeaders());
+        headers.remove(MessageHeaders.ID);
+        headers.remove(MessageHeaders.TIMESTAMP);
+        UUID resultUuid = UUID.fromString((String) Objects.requireNonNull(headers.get(RESULT_UUID_HEADER)));
+        try {
+            pendingRunRepository.save(new PendingRunEntity(resultUuid, userId != null ? userId : UNKNOWN_USER, message.getPayload(),
+                    objectMapper.writeValueAsString(headers), Instant.now(), null));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The run is not counted anymore for its user, no-op if the fair-share scheduling is not enabled
+     */
+    @Transactional
+    public void release(UUID resultUuid) {
+        if (isEnabled() && resultUuid != null) {
+            pendingRunRepository.findById(resultUuid).ifPresent(pendingRunRepository::delete);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${dynamic-security-analysis.fair-share.dispatch-interval:1s}")
+    public void dispatch() {
+        if (!isEnabled()) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        List<PendingRunEntity> dispatchedRuns = Objects.requireNonNull(transactionTemplate.execute(status -> markDispatched(now)));
+
+        // published once the dispatch is committed, without holding any lock
+        for (PendingRunEntity pendingRun : dispatchedRuns) {
+            try {
+                notificationService.sendRunMessage(toMessage(pendingRun));
+            } catch (RuntimeException e) {
+                LOGGER.error("Error occurred while dispatching the run {}, it is waiting again", pendingRun.getId(), e);
+                transactionTemplate.executeWithoutResult(status -> pendingRunRepository.resetDispatchDate(pendingRun.getId()));
+                continue;
+            }
+            observer.recordQueueWaitTime(pendingRun.getUserId(), Duration.between(pendingRun.getSubmissionDate(), now));
+            LOGGER.debug("Run {} of user {} dispatched", pendingRun.getId(), pendingRun.getUserId());
+        }
+    }
+
+    /**
+     * @return the runs marked dispatched, to be published once committed
+     */
+    private List<PendingRunEntity> markDispatched(Instant now) {
+        int releasedCount = pendingRunRepository.deleteAllDispatchedWithoutResultIn(
+                EnumSet.of(DynamicSecurityAnalysisStatus.QUEUED, DynamicSecurityAnalysisStatus.RUNNING));
+        if (releasedCount > 0) {
+            LOGGER.warn("{} dispatched runs completed or deleted without being released, not counted anymore", releasedCount);
+        }
+        int timedOutCount = pendingRunRepository.deleteAllDispatchedBefore(now.minus(properties.getRunningTimeout()));
+        if (timedOutCount > 0) {
+            LOGGER.warn("{} dispatched runs not completed after {}, not counted anymore", timedOutCount, properties.getRunningTimeout());
+        }
+
+        List<PendingRunEntity> pendingRuns = pendingRunRepository.findAllByOrderBySubmissionDate();
+        List<PendingRunEntity> selectedRuns = selectRuns(pendingRuns);
+        List<PendingRunEntity> dispatchedRuns = List.of();
+        if (!selectedRuns.isEmpty()) {
+            Set<UUID> lockedIds = pendingRunRepository.findAllWaitingForUpdateSkipLockedByIdIn(
+                            selectedRuns.stream().map(PendingRunEntity::getId).toList()).stream()
+                    .map(PendingRunEntity::getId)
+                    .collect(Collectors.toSet());
+            dispatchedRuns = selectedRuns.stream().filter(pendingRun -> lockedIds.contains(pendingRun.getId())).toList();
+            dispatchedRuns.forEach(pendingRun -> pendingRun.setDispatchDate(now));
+        }
+
+        Map<String, Integer> runningCounts = new HashMap<>();
+        Map<String, Integer> waitingCounts = new HashMap<>();
+        pendingRuns.forEach(pendingRun -> (pendingRun.getDispatchDate() != null ? runningCounts : waitingCounts)
+                .merge(pendingRun.getUserId(), 1, Integer::sum));
+        observer.setUserRunCounts(runningCounts, waitingCounts);
+        return dispatchedRuns;
+    }
+
+    /**
+     * Select the waiting runs to dispatch by smooth weighted round-robin across the users under their cap, in submission
+     * order for each user, as long as the total number of running runs is under its maximum
+     *
+     * @param pendingRuns waiting and dispatched runs, in submission order
+     */
+    synchronized List<PendingRunEntity> selectRuns(List<PendingRunEntity> pendingRuns) {
+        Map<String, Integer> runningCounts = new HashMap<>();
+        Map<String, Deque<PendingRunEntity>> waitingRuns = new LinkedHashMap<>();
+        for (PendingRunEntity pendingRun : pendingRuns) {
+            if (pendingRun.getDispatchDate() != null) {
+                runningCounts.merge(pendingRun.getUserId(), 1, Integer::sum);
+            } else {
+                waitingRuns.computeIfAbsent(pendingRun.getUserId(), userId -> new ArrayDeque<>()).add(pendingRun);
+            }
+        }
+        currentWeights.keySet().retainAll(waitingRuns.keySet());
+
+        List<PendingRunEntity> selectedRuns = new ArrayList<>();
+        int runningCount = runningCounts.values().stream().mapToInt(Integer::intValue).sum();
+        while (runningCount < properties.getMaxRunningRuns()) {
+            List<String> eligibleUsers = waitingRuns.entrySet().stream()
+                    .filter(entry -> !entry.getValue().isEmpty()
+                            && runningCounts.getOrDefault(entry.getKey(), 0) < properties.getMaxRunningRuns(entry.getKey()))
+                    .map(Map.Entry::getKey)
+                    .toList();
+            if (eligibleUsers.isEmpty()) {
+                break;
+            }
+
+            // each eligible user gains its weight, the richest one is served then pays the total weight
+            String selectedUser = null;
+            long totalWeight = 0;
+            for (String userId : eligibleUsers) {
+                int weight = properties.getWeight(userId);
+                totalWeight += weight;
+                long currentWeight = currentWeights.merge(userId, (long) weight, Long::sum);
+                if (selectedUser == null || currentWeight > currentWeights.get(selectedUser)) {
+                    selectedUser = userId;
+                }
+            }
+            currentWeights.merge(selectedUser, -totalWeight, Long::sum);
+
+            selectedRuns.add(waitingRuns.get(selectedUser).poll());
+            runningCounts.merge(selectedUser, 1, Integer::sum);
+            runningCount++;
+        }
+        return selectedRuns;
+    }
+
+    private Message<String> toMessage(PendingRunEntity pendingRun) {
+        try {
+            Map<String, Object> headers = objectMapper.readValue(pendingRun.getHeaders(), new TypeReference<>() { });
+            return MessageBuilder.withPayload(pendingRun.getPayload()).copyHeaders(headers).build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
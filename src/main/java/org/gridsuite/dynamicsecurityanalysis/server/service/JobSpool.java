@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.dynamicsecurityanalysis.server.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Job spool on a shared filesystem, the transport between the workers submitting commands and the executor processes
+ * running them, see {@link SpoolCommandExecutor} and {@link SpoolExecutor}.
+ * <p>
+ * A job is a command to run in a working directory of the shared filesystem. It moves by atomic renames through the
+ * directories of the spool: {@code pending} once submitted, {@code running} once claimed by an executor, the only one
+ * to win the rename, then its exit code is written in {@code done}. A cancellation is a marker in {@code cancelled}.
+ *
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+public final class JobSpool {
+
+    private static final String PENDING_DIR = "pending";
+    private static final String RUNNING_DIR = "running";
+    private static final String DONE_DIR = "done";
+    private static final String CANCELLED_DIR = "cancelled";
+    private static final String JOB_EXTENSION = ".job";
+    private static final String TMP_EXTENSION = ".tmp";
+
+    private static final String PROGRAM = "program";
+    private static final String TIMEOUT = "timeout";
+    private static final String ARG = "arg.";
+    private static final String ENV = "env.";
+    private static final String OUT_FILE = "out";
+    private static final String ERR_FILE = "err";
+    private static final String WORKING_DIR = "workingDir";
+
+    // exit code of a pending job cancelled before being claimed, as killed by SIGTERM
+    public static final int CANCELLED_EXIT_CODE = 143;
+
+    /**
+     * @param timeoutSeconds timeout of the command, 0 or negative for no timeout
+     */
+    public record Job(String id, String program, long timeoutSeconds, List<String> args, Path outFile, Path errFile,
+                      Path workingDir, Map<String, String> env) {
+    }
+
+    private final Path pendingDir;
+    private final Path runningDir;
+    private final Path doneDir;
+    private final Path cancelledDir;
+
+    public JobSpool(Path spoolDir) {
+        this.pendingDir = spoolDir.resolve(PENDING_DIR);
+        this.runningDir = spoolDir.resolve(RUNNING_DIR);
+        this.doneDir = spoolDir.resolve(DONE_DIR);
+        this.cancelledDir = spoolDir.resolve(CANCELLED_DIR);
+        try {
+            for (Path dir : List.of(pendingDir, runningDir, doneDir, cancelledDir)) {
+                Files.createDirectories(dir);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return the id of the submitted job, ordered by submission time so that the jobs are claimed first in first out
+     */
+    public String submit(String program, long timeoutSeconds, List<String> args, Path outFile, Path errFile, Path workingDir,
+                         Map<String, String> env) throws IOException {
+        String id = String.format("%013d-%s", System.currentTimeMillis(), UUID.randomUUID());
+        Properties properties = new Properties();
+        properties.setProperty(PROGRAM, program);
+        properties.setProperty(TIMEOUT, String.valueOf(timeoutSeconds));
+        for (int i = 0; i < args.size(); i++) {
+            properties.setProperty(ARG + i, args.get(i));
+        }
+        env.forEach((name, value) -> properties.setProperty(ENV + name, value));
+        properties.setProperty(OUT_FILE, outFile.toAbsolutePath().toString());
+        properties.setProperty(ERR_FILE, errFile.toAbsolutePath().toString());
+        properties.setProperty(WORKING_DIR, workingDir.toAbsolutePath().toString());
+        Path tmpFile = pendingDir.resolve(id + TMP_EXTENSION);
+        try (Writer writer = Files.newBufferedWriter(tmpFile)) {
+            properties.store(writer, null);
+        }
+        Files.move(tmpFile, pendingDir.resolve(id + JOB_EXTENSION), StandardCopyOption.ATOMIC_MOVE);
+        return id;
+    }
+
+    /**
+     * @return the oldest pending job, now running, empty if none
+     */
+    public Optional<Job> claim() throws IOException {
+        List<Path> pendingJobs;
+        try (Stream<Path> files = Files.list(pendingDir)) {
+            pendingJobs = files.filter(file -> file.getFileName().toString().endsWith(JOB_EXTENSION)).sorted().toList();
+        }
+        for (Path pendingJob : pendingJobs) {
+            Path runningJob = runningDir.resolve(pendingJob.getFileName());
+            try {
+                Files.move(pendingJob, runningJob, StandardCopyOption.ATOMIC_MOVE);
+            } catch (NoSuchFileException e) {
+                // claimed by another executor or cancelled meanwhile
+                continue;
+            }
+            return Optional.of(read(runningJob));
+        }
+        return Optional.empty();
+    }
+
+    private static Job read(Path jobFile) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(jobFile)) {
+            properties.load(reader);
+        }
+        String fileName = jobFile.getFileName().toString();
+        List<String> args = new ArrayList<>();
+        for (int i = 0; properties.containsKey(ARG + i); i++) {
+            args.add(properties.getProperty(ARG + i));
+        }
+        Map<String, String> env = new HashMap<>();
+        properties.stringPropertyNames().stream()
+                .filter(name -> name.startsWith(ENV))
+                .forEach(name -> env.put(name.substring(ENV.length()), properties.getProperty(name)));
+        return new Job(fileName.substring(0, fileName.length() - JOB_EXTENSION.length()), properties.getProperty(PROGRAM),
+                Long.parseLong(properties.getProperty(TIMEOUT)), args, Path.of(properties.getProperty(OUT_FILE)),
+                Path.of(properties.getProperty(ERR_FILE)), Path.of(properties.getProperty(WORKING_DIR)), env);
+    }
+
+    /**
+     * Record the exit code of a job, no longer running
+     */
+    public void complete(String id, int exitCode) throws IOException {
+        Path tmpFile = doneDir.resolve(id + TMP_EXTENSION);
+        Files.writeString(tmpFile, String.valueOf(exitCode));
+        Files.move(tmpFile, doneDir.resolve(id), StandardCopyOption.ATOMIC_MOVE);
+        Files.deleteIfExists(runningDir.resolve(id + JOB_EXTENSION));
+    }
+
+    /**
+     * @return the exit code of a completed job, empty while the job is pending or running
+     */
+    public OptionalInt getExitCode(String id) throws IOException {
+        try {
+            return OptionalInt.of(Integer.parseInt(Files.readString(doneDir.resolve(id)).trim()));
+        } catch (NoSuchFileException e) {
+            return OptionalInt.empty();
+        }
+    }
+
+    /**
+     * A pending job is completed at once, a running job is killed by its executor
+     */
+    public void cancel(String id) throws IOException {
+        if (Files.deleteIfExists(pendingDir.resolve(id + JOB_EXTENSION))) {
+            complete(id, CANCELLED_EXIT_CODE);
+        } else {
+            Files.writeString(cancelledDir.resolve(id), "");
+        }
+    }
+
+    public boolean isCancelled(String id) {
+        return Files.exists(cancelledDir.resolve(id));
+    }
+
+    /**
+     * Remove what is left of a job whose exit code has been read or which is given up
+     */
+    public void remove(String id) throws IOException {
+        Files.deleteIfExists(doneDir.resolve(id));
+        Files.deleteIfExists(cancelledDir.resolve(id));
+    }
+}
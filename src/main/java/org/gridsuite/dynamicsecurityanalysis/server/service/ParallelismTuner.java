@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.dynamicsecurityanalysis.server.service;
+
+import jakarta.annotation.PreDestroy;
+import org.gridsuite.dynamicsecurityanalysis.server.utils.ProcessUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Picks the number of contingencies simulated in parallel of a run in auto mode: as many as free cores, as long as the
+ * memory needed by the simultaneous simulations fits in the free memory of the worker.
+ * <p>
+ * The memory needed per contingency is measured on each network by sampling the resident memory of the simulation
+ * processes of a run divided by the number of running simulations, the peak of a run being averaged with the previous
+ * measures. A network never measured gets the configured default.
+ *
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+@Service
+public class ParallelismTuner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelismTuner.class);
+
+    private static final int MAX_MEASURED_NETWORKS = 100;
+
+    private final long defaultMemoryPerContingency;
+    private final Duration samplingPeriod;
+    private final LongSupplier freeMemory;
+
+    // measured memory per contingency in bytes by network, least recently used evicted
+    private final Map<UUID, Long> memoryPerContingencies = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Long> eldest) {
+            return size() > MAX_MEASURED_NETWORKS;
+        }
+    };
+
+    private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "parallelism-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Memory sampling of the simulations of a run, to be stopped once the run is done
+     */
+    public final class Sampling {
+
+        private final UUID networkUuid;
+        private final AtomicLong peakMemoryPerContingency = new AtomicLong();
+        private ScheduledFuture<?> sampleFuture;
+
+        private Sampling(UUID networkUuid) {
+            this.networkUuid = networkUuid;
+        }
+
+        private void sample(Supplier<List<ProcessHandle>> processes, IntSupplier runningCount) {
+            int count = runningCount.getAsInt();
+            if (count > 0) {
+                long memory = ProcessUtils.getResidentSetSize(processes.get());
+                peakMemoryPerContingency.accumulateAndGet(memory / count, Math::max);
+            }
+        }
+
+        /**
+         * Stop the sampling and record the peak memory per contingency of the run, if any
+         */
+        public void stop() {
+            sampleFuture.cancel(false);
+            long peak = peakMemoryPerContingency.get();
+            if (peak > 0) {
+                recordMemoryPerContingency(networkUuid, peak);
+            }
+        }
+    }
+
+    @Autowired
+    public ParallelismTuner(@Value("${dynamic-security-analysis.parallelism.default-memory-per-contingency:512MB}") DataSize defaultMemoryPerContingency,
+                            @Value("${dynamic-security-analysis.parallelism.sampling-period:1s}") Duration samplingPeriod) {
+        this(defaultMemoryPerContingency.toBytes(), samplingPeriod, ParallelismTuner::getFreeMemorySize);
+    }
+
+    ParallelismTuner(long defaultMemoryPerContingency, Duration samplingPeriod, LongSupplier freeMemory) {
+        this.defaultMemoryPerContingency = defaultMemoryPerContingency;
+        this.samplingPeriod = samplingPeriod;
+        this.freeMemory = Objects.requireNonNull(freeMemory);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sampler.shutdownNow();
+    }
+
+    /**
+     * @param cpuCount cores available to the run
+     * @return the number of contingencies to simulate in parallel in auto mode, at least one
+     */
+    public int getAutoParallelism(UUID networkUuid, int cpuCount) {
+        long memoryPerContingency = getMemoryPerContingency(networkUuid);
+        long memoryBound = memoryPerContingency > 0 ? freeMemory.getAsLong() / memoryPerContingency : Integer.MAX_VALUE;
+        int parallelism = (int) Math.max(1, Math.min(cpuCount, memoryBound));
+        LOGGER.info("Auto parallelism of {} on network {}: {} cores, {} MB per contingency", parallelism, networkUuid, cpuCount,
+                memoryPerContingency / (1024 * 1024));
+        return parallelism;
+    }
+
+    public synchronized long getMemoryPerContingency(UUID networkUuid) {
+        return memoryPerContingencies.getOrDefault(networkUuid, defaultMemoryPerContingency);
+    }
+
+    synchronized void recordMemoryPerContingency(UUID networkUuid, long memoryPerContingency) {
+        memoryPerContingencies.merge(networkUuid, memoryPerContingency, (previous, current) -> (previous + current) / 2);
+    }
+
+    /**
+     * @param processes    the simulation processes of the run
+     * @param runningCount the number of simulations currently running
+     */
+    public Sampling startSampling(UUID networkUuid, Supplier<List<ProcessHandle>> processes, IntSupplier runningCount) {
+        Sampling sampling = new Sampling(networkUuid);
+        sampling.sampleFuture = sampler.scheduleAtFixedRate(() -> sampling.sample(processes, runningCount),
+                samplingPeriod.toMillis(), samplingPeriod.toMillis(), TimeUnit.MILLISECONDS);
+        return sampling;
+    }
+
+    private static long getFreeMemorySize() {
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean operatingSystem) {
+            return operatingSystem.getFreeMemorySize();
+        }
+        // not supported platform, no memory bound
+        return Long.MAX_VALUE;
+    }
+}
@@ -6,8 +6,12 @@
  */
 package org.gridsuite.dynamicsecurityanalysis.server.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.powsybl.contingency.Contingency;
 import com.powsybl.dynamicsimulation.DynamicSimulationParameters;
 import com.powsybl.dynamicsimulation.DynamicSimulationProvider;
@@ -18,6 +22,7 @@ import com.powsybl.security.dynamic.DynamicSecurityAnalysisParameters;
 import org.apache.commons.collections4.CollectionUtils;
 import org.gridsuite.computation.dto.ReportInfos;
 import org.gridsuite.computation.error.ComputationException;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.batch.BatchVariantInfos;
 import org.gridsuite.dynamicsecurityanalysis.server.dto.contingency.ContingencyInfos;
 import org.gridsuite.dynamicsecurityanalysis.server.dto.parameters.DynamicSecurityAnalysisParametersInfos;
 import org.gridsuite.dynamicsecurityanalysis.server.dto.parameters.DynamicSecurityAnalysisParametersValues;
@@ -27,6 +32,8 @@ import org.gridsuite.dynamicsecurityanalysis.server.repositories.DynamicSecurity
 import org.gridsuite.dynamicsecurityanalysis.server.service.client.ActionsClient;
 import org.gridsuite.dynamicsecurityanalysis.server.service.contexts.DynamicSecurityAnalysisRunContext;
 import org.gridsuite.dynamicsecurityanalysis.server.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -34,13 +41,20 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.gridsuite.computation.error.ComputationBusinessErrorCode.PARAMETERS_NOT_FOUND;
+import static org.gridsuite.dynamicsecurityanalysis.server.error.DynamicSecurityAnalysisBusinessErrorCode.BATCH_VARIANTS_EMPTY;
 import static org.gridsuite.dynamicsecurityanalysis.server.error.DynamicSecurityAnalysisBusinessErrorCode.CONTINGENCIES_NOT_FOUND;
 import static org.gridsuite.dynamicsecurityanalysis.server.error.DynamicSecurityAnalysisBusinessErrorCode.PROVIDER_NOT_FOUND;
 
@@ -50,20 +64,34 @@ import static org.gridsuite.dynamicsecurityanalysis.server.error.DynamicSecurity
 @Service
 public class ParametersService {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParametersService.class);
+
     public static final String MSG_PARAMETERS_UUID_NOT_FOUND = "Parameters uuid not found: ";
 
+    private static final String DUMP_FILE_NAME = "outputState.dmp";
+    private static final String DUMP_FILE_EXTENSION = ".dmp";
+    private static final String WARM_START_DIR = "warm-start";
+    private static final String WARM_START_INITIAL_DUMP_FILE_NAME = "initialState.dmp";
+
+    // parameters the result of a simulated contingency depends on, the screening ones only decide whether it is simulated
+    private static final List<String> RESULT_PARAMETERS = List.of("provider", "scenarioDuration", "contingenciesStartTime",
+            "twoStageEnabled", "coarseScenarioDuration", "coarsePrecision");
+
     private final String defaultProvider;
 
     private final DynamicSecurityAnalysisParametersRepository dynamicSecurityAnalysisParametersRepository;
     private final ActionsClient actionsClient;
+    private final ObjectMapper objectMapper;
 
     @Autowired
     public ParametersService(@Value("${dynamic-security-analysis.default-provider}") String defaultProvider,
                              DynamicSecurityAnalysisParametersRepository dynamicSecurityAnalysisParametersRepository,
-                             ActionsClient actionsClient) {
+                             ActionsClient actionsClient,
+                             ObjectMapper objectMapper) {
         this.defaultProvider = defaultProvider;
         this.dynamicSecurityAnalysisParametersRepository = dynamicSecurityAnalysisParametersRepository;
         this.actionsClient = actionsClient;
+        this.objectMapper = objectMapper;
     }
 
     @Transactional(readOnly = true)
@@ -71,6 +99,7 @@ public class ParametersService {
                                                               ReportInfos reportInfos, String userId,
                                                               UUID dynamicSimulationResultUuid,
                                                               UUID dynamicSecurityAnalysisParametersUuid,
+                                                              UUID previousResultUuid,
                                                               boolean debug) {
 
         // get parameters from the local database
@@ -87,6 +116,7 @@ public class ParametersService {
                 .debug(debug)
                 .build();
         runContext.setDynamicSimulationResultUuid(dynamicSimulationResultUuid);
+        runContext.setPreviousResultUuid(previousResultUuid);
 
         // set provider for run context
         String providerToUse = Optional.ofNullable(runContext.getParameters().getProvider()).orElse(defaultProvider);
@@ -98,19 +128,184 @@ public class ParametersService {
             throw new DynamicSecurityAnalysisException(PROVIDER_NOT_FOUND, "Dynamic security analysis provider not found: " + runContext.getProvider());
         }
 
+        // a debug run always produces its own artifacts, so it is never deduplicated
+        if (!debug) {
+            runContext.setInputsHash(computeInputsHash(runContext));
+        }
+
         return runContext;
     }
 
+    /**
+     * Create the run contexts of a batch, one per variant, the parameters being read once for the whole batch
+     */
+    public List<DynamicSecurityAnalysisRunContext> createBatchRunContexts(UUID networkUuid, List<BatchVariantInfos> variants, String receiver,
+                                                                          ReportInfos reportInfos, String userId,
+                                                                          UUID dynamicSecurityAnalysisParametersUuid) {
+        if (CollectionUtils.isEmpty(variants)) {
+            throw new DynamicSecurityAnalysisException(BATCH_VARIANTS_EMPTY, "No variants in batch");
+        }
+
+        // get parameters from the local database
+        DynamicSecurityAnalysisParametersInfos dynamicSecurityAnalysisParametersInfos = doGetParameters(dynamicSecurityAnalysisParametersUuid);
+        String providerToUse = Optional.ofNullable(dynamicSecurityAnalysisParametersInfos.getProvider()).orElse(defaultProvider);
+        if (DynamicSimulationProvider.findAll().stream()
+                .noneMatch(elem -> Objects.equals(elem.getName(), providerToUse))) {
+            throw new DynamicSecurityAnalysisException(PROVIDER_NOT_FOUND, "Dynamic security analysis provider not found: " + providerToUse);
+        }
+
+        return variants.stream().map(variant -> {
+            DynamicSecurityAnalysisRunContext runContext = DynamicSecurityAnalysisRunContext.builder()
+                    .networkUuid(networkUuid)
+                    .variantId(variant.getVariantId())
+                    .receiver(receiver)
+                    .reportInfos(reportInfos)
+                    .userId(userId)
+                    .parameters(dynamicSecurityAnalysisParametersInfos)
+                    .debug(false)
+                    .build();
+            runContext.setDynamicSimulationResultUuid(Objects.requireNonNull(variant.getDynamicSimulationResultUuid()));
+            runContext.setProvider(providerToUse);
+            runContext.setInputsHash(computeInputsHash(runContext));
+            return runContext;
+        }).toList();
+    }
+
+    /**
+     * Compute a canonical hash of everything which determines the outcome of a run, i.e. the network variant,
+     * the dynamic simulation result, the parameters values (the parameters id is excluded so that two
+     * parameters sets having the same values lead to the same hash) and the contingencies the lists resolve to,
+     * a list being editable in place
+     *
+     * @return the hash, null if the contingencies cannot be resolved, the run being never deduplicated then
+     */
+    private String computeInputsHash(DynamicSecurityAnalysisRunContext runContext) {
+        List<Contingency> contingencies;
+        try {
+            contingencies = getContingencies(runContext.getParameters().getContingencyListIds(), runContext.getNetworkUuid(), runContext.getVariantId());
+        } catch (RuntimeException e) {
+            LOGGER.warn("Contingencies of the run on network {} not resolved, the run is not deduplicated => {}", runContext.getNetworkUuid(), e.getMessage());
+            return null;
+        }
+
+        ObjectNode inputs = objectMapper.createObjectNode();
+        inputs.put("networkUuid", runContext.getNetworkUuid().toString());
+        inputs.put("variantId", runContext.getVariantId());
+        inputs.put("dynamicSimulationResultUuid", runContext.getDynamicSimulationResultUuid().toString());
+        inputs.put("provider", runContext.getProvider());
+        ObjectNode parameters = objectMapper.valueToTree(runContext.getParameters());
+        parameters.remove("id");
+        // the parallelism does not change the results
+        parameters.remove("parallelism");
+        inputs.set("parameters", parameters);
+        ArrayNode contingencyNodes = inputs.putArray("contingencies");
+        contingencies.stream()
+                .sorted(Comparator.comparing(Contingency::getId))
+                .forEach(contingency -> contingencyNodes.add(objectMapper.<JsonNode>valueToTree(contingency)));
+        try {
+            return Utils.sha256(objectMapper.writeValueAsString(inputs));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Error occurred while computing the hash of the run inputs", e);
+        }
+    }
+
+    /**
+     * Compute for each contingency a fingerprint of its definition and of the parameters values its result depends on.
+     * Only the {@link #RESULT_PARAMETERS} are retained so that editing a list or how the run is scheduled
+     * (ordering, abort, parallelism, warm start...) does not change the fingerprint of the unchanged contingencies
+     *
+     * @return fingerprints indexed by contingency id
+     */
+    public Map<String, String> computeContingencyFingerprints(List<Contingency> contingencies, DynamicSecurityAnalysisParametersInfos parametersInfos) {
+        ObjectNode parameters = objectMapper.valueToTree(parametersInfos);
+        parameters.retain(RESULT_PARAMETERS);
+        Map<String, String> fingerprints = new HashMap<>();
+        for (Contingency contingency : contingencies) {
+            ObjectNode inputs = objectMapper.createObjectNode();
+            inputs.set("contingency", objectMapper.valueToTree(contingency));
+            inputs.set("parameters", parameters);
+            try {
+                fingerprints.put(contingency.getId(), Utils.sha256(objectMapper.writeValueAsString(inputs)));
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException("Error occurred while computing the fingerprint of the contingency " + contingency.getId(), e);
+            }
+        }
+        return fingerprints;
+    }
+
     // --- Dynamic simulation result related methods --- //
 
     public void setupDumpParameters(Path workDir, DynamicSimulationParameters dynamicSimulationParameters, byte[] zippedOutputState) {
+        setupDumpParameters(workDir, List.of(dynamicSimulationParameters), zippedOutputState);
+    }
+
+    /**
+     * Same as {@link #setupDumpParameters(Path, DynamicSimulationParameters, byte[])} for several copies of the parameters, the dump file being unzipped once
+     */
+    public void setupDumpParameters(Path workDir, List<DynamicSimulationParameters> dynamicSimulationParametersList, byte[] zippedOutputState) {
         Path dumpFile = unZipDumpFile(workDir, zippedOutputState);
-        DynawoSimulationParameters dynawoSimulationParameters = dynamicSimulationParameters.getExtension(DynawoSimulationParameters.class);
-        dynawoSimulationParameters.setDumpFileParameters(DumpFileParameters.createImportDumpFileParameters(workDir, dumpFile.getFileName().toString()));
+        dynamicSimulationParametersList.forEach(dynamicSimulationParameters ->
+                dynamicSimulationParameters.getExtension(DynawoSimulationParameters.class)
+                        .setDumpFileParameters(DumpFileParameters.createImportDumpFileParameters(workDir, dumpFile.getFileName().toString())));
+    }
+
+    /**
+     * Warm start: the simulation of the pre-contingency interval imports the dump file of the dynamic simulation result,
+     * previously set up by {@link #setupDumpParameters(Path, List, byte[])}, and exports its final state into a dedicated
+     * directory of the working directory
+     */
+    public void setupWarmStartParameters(Path workDir, DynamicSimulationParameters warmStartParameters) {
+        Path warmStartDir = workDir.resolve(WARM_START_DIR);
+        Path initialDumpFile = warmStartDir.resolve(WARM_START_INITIAL_DUMP_FILE_NAME);
+        try {
+            Files.createDirectories(warmStartDir);
+            try {
+                Files.createLink(initialDumpFile, workDir.resolve(DUMP_FILE_NAME));
+            } catch (UnsupportedOperationException | IOException e) {
+                Files.copy(workDir.resolve(DUMP_FILE_NAME), initialDumpFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Error occurred while preparing the warm start in the directory %s",
+                    warmStartDir.toAbsolutePath()), e);
+        }
+        warmStartParameters.getExtension(DynawoSimulationParameters.class)
+                .setDumpFileParameters(DumpFileParameters.createImportExportDumpFileParameters(warmStartDir, WARM_START_INITIAL_DUMP_FILE_NAME));
+    }
+
+    /**
+     * @return the dump file exported by the warm start simulation, empty if it has not produced any
+     */
+    public Optional<Path> findWarmStartDumpFile(Path workDir) {
+        Path warmStartDir = workDir.resolve(WARM_START_DIR);
+        if (!Files.isDirectory(warmStartDir)) {
+            return Optional.empty();
+        }
+        try (Stream<Path> files = Files.list(warmStartDir)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(DUMP_FILE_EXTENSION) &&
+                            !file.getFileName().toString().equals(WARM_START_INITIAL_DUMP_FILE_NAME))
+                    .findFirst();
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Error occurred while looking for the warm start dump file in the directory %s",
+                    warmStartDir.toAbsolutePath()), e);
+        }
+    }
+
+    /**
+     * Start the simulations of the contingencies from the final state of the warm start simulation
+     *
+     * @param startTime end of the warm start simulation, i.e. the contingencies start time
+     */
+    public void setupWarmStartedParameters(Path warmStartDumpFile, List<DynamicSimulationParameters> dynamicSimulationParametersList, double startTime) {
+        dynamicSimulationParametersList.forEach(dynamicSimulationParameters -> {
+            dynamicSimulationParameters.setStartTime(startTime);
+            dynamicSimulationParameters.getExtension(DynawoSimulationParameters.class)
+                    .setDumpFileParameters(DumpFileParameters.createImportDumpFileParameters(warmStartDumpFile.getParent(),
+                            warmStartDumpFile.getFileName().toString()));
+        });
     }
 
     private Path unZipDumpFile(Path dumpDir, byte[] zippedOutputState) {
-        Path dumpFile = dumpDir.resolve("outputState.dmp");
+        Path dumpFile = dumpDir.resolve(DUMP_FILE_NAME);
         try {
             // UNZIP output state
             Utils.unzip(zippedOutputState, dumpFile);
@@ -151,7 +346,11 @@ public class ParametersService {
         DynamicSecurityAnalysisParametersEntity entity = dynamicSecurityAnalysisParametersRepository.findById(parametersUuid)
                 .orElseThrow(() -> new ComputationException(PARAMETERS_NOT_FOUND, MSG_PARAMETERS_UUID_NOT_FOUND + parametersUuid));
 
-        return new DynamicSecurityAnalysisParametersInfos(parametersUuid, entity.getProvider(), entity.getScenarioDuration(), entity.getContingenciesStartTime(), entity.getContingencyListIds());
+        return new DynamicSecurityAnalysisParametersInfos(parametersUuid, entity.getProvider(), entity.getScenarioDuration(), entity.getContingenciesStartTime(), entity.getContingencyListIds(),
+                entity.getScreeningEnabled(), entity.getScreeningThreshold(), entity.getTwoStageEnabled(), entity.getCoarseScenarioDuration(), entity.getCoarsePrecision(),
+                entity.getContingencyTimeout(),
+                entity.getAbortPolicy(), entity.getAbortThreshold(), entity.getContingencyOrdering(), entity.getParallelism(),
+                entity.getWarmStartEnabled());
     }
 
     @Transactional
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.dynamicsecurityanalysis.server.service;
+
+import org.gridsuite.dynamicsecurityanalysis.server.error.RunQueueFullException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Backpressure on the submitted runs: the queue depth is the number of runs queued or running, each variant of a batch and
+ * each combination of a sweep being a run, and the estimated wait of a new run is the number of rounds of parallel runs
+ * ahead of it times the average duration of a run. Runs submitted for longer than the maximum age are not counted, so that
+ * runs left running by a dead worker do not inflate the depth forever.
+ * <p>
+ * Beyond the configured depth a new run is either rejected, the caller being told when to retry, or accepted with the
+ * {@code QUEUED} status and its estimated wait. Disabled when the maximum depth is 0.
+ *
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+@Service
+public class RunQueueService {
+
+    public enum OverloadMode {
+        REJECT,
+        QUEUE
+    }
+
+    private final DynamicSecurityAnalysisResultService resultService;
+    private final int maxQueueDepth;
+    private final OverloadMode overloadMode;
+    private final int parallelRuns;
+    private final Duration averageRunDuration;
+    private final Duration pendingMaxAge;
+
+    public RunQueueService(DynamicSecurityAnalysisResultService resultService,
+                           @Value("${dynamic-security-analysis.backpressure.max-queue-depth:0}") int maxQueueDepth,
+                           @Value("${dynamic-security-analysis.backpressure.overload-mode:REJECT}") OverloadMode overloadMode,
+                           // runs simulated at the same time by all the workers
+                           @Value("${dynamic-security-analysis.backpressure.parallel-runs:2}") int parallelRuns,
+                           @Value("${dynamic-security-analysis.backpressure.average-run-duration:10m}") Duration averageRunDuration,
+                           @Value("${dynamic-security-analysis.backpressure.pending-max-age:6h}") Duration pendingMaxAge) {
+        this.resultService = Objects.requireNonNull(resultService);
+        this.maxQueueDepth = maxQueueDepth;
+        this.overloadMode = overloadMode;
+        this.parallelRuns = Math.max(1, parallelRuns);
+        this.averageRunDuration = averageRunDuration;
+        this.pendingMaxAge = pendingMaxAge;
+    }
+
+    public Duration estimateWait(long queueDepth) {
+        long roundsAhead = queueDepth / parallelRuns;
+        return averageRunDuration.multipliedBy(roundsAhead);
+    }
+
+    /**
+     * @return null if the run is admitted right away, otherwise the estimated wait of the run accepted in the queue
+     * @throws RunQueueFullException if the queue is full and overloaded runs are rejected
+     */
+    public Duration admit() {
+        return admit(1);
+    }
+
+    /**
+     * @param runCount number of runs submitted at once, e.g. the variants of a batch
+     * @return null if the runs are admitted right away, otherwise the estimated wait of the runs accepted in the queue
+     * @throws RunQueueFullException if the queue is full and overloaded runs are rejected
+     */
+    public Duration admit(int runCount) {
+        if (maxQueueDepth <= 0) {
+            return null;
+        }
+
+        long queueDepth = resultService.countPendingResults(pendingMaxAge);
+        long overflow = queueDepth + runCount - maxQueueDepth;
+        if (overflow <= 0) {
+            return null;
+        }
+
+        if (overloadMode == OverloadMode.REJECT) {
+            // retry once the runs beyond the threshold have been absorbed, at least one round
+            Duration retryAfter = estimateWait(Math.max(overflow, parallelRuns));
+            throw new RunQueueFullException("Too many runs in the queue: " + queueDepth + " and " + runCount + " submitted, maximum is " +
+                    maxQueueDepth, retryAfter);
+        }
+        return estimateWait(queueDepth);
+    }
+}
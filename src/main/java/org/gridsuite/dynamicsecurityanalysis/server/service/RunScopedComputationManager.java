@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.dynamicsecurityanalysis.server.service;
+
+import com.powsybl.computation.*;
+import org.gridsuite.dynamicsecurityanalysis.server.service.CpuAllocationService.CpuAllocation;
+import org.gridsuite.dynamicsecurityanalysis.server.utils.ProcessUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Computation manager of a single run, delegating to the shared one while keeping track of the working directories
+ * of the executions of the run, so that its processes can be found and killed on cancellation.
+ * <p>
+ * When CPUs are pinned to the run, its simple commands and the sub-commands of its group commands are launched pinned to
+ * these CPUs with taskset. A command of another type is launched unchanged, its processes being only pinned on the next
+ * rebalancing of the CPUs.
+ * <p>
+ * Closing it does not close the shared computation manager.
+ *
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+public class RunScopedComputationManager implements ComputationManager {
+
+    private final ComputationManager delegate;
+    private final Set<Path> workingDirs = ConcurrentHashMap.newKeySet();
+    private volatile CpuAllocation cpuAllocation;
+
+    public RunScopedComputationManager(ComputationManager delegate) {
+        this.delegate = Objects.requireNonNull(delegate);
+    }
+
+    public void setCpuAllocation(CpuAllocation cpuAllocation) {
+        this.cpuAllocation = cpuAllocation;
+    }
+
+    /**
+     * @return working directories of the executions of the run, including the completed ones
+     */
+    public Set<Path> getWorkingDirs() {
+        return Set.copyOf(workingDirs);
+    }
+
+    @Override
+    public String getVersion() {
+        return delegate.getVersion();
+    }
+
+    @Override
+    public OutputStream newCommonFile(String fileName) throws IOException {
+        return delegate.newCommonFile(fileName);
+    }
+
+    @Override
+    public <R> CompletableFuture<R> execute(ExecutionEnvironment environment, ExecutionHandler<R> handler) {
+        return delegate.execute(environment, new TrackingExecutionHandler<>(handler));
+    }
+
+    @Override
+    public <R> CompletableFuture<R> execute(ExecutionEnvironment environment, ExecutionHandler<R> handler, ComputationParameters parameters) {
+        return delegate.execute(environment, new TrackingExecutionHandler<>(handler), parameters);
+    }
+
+    @Override
+    public ComputationResourcesStatus getResourcesStatus() {
+        return delegate.getResourcesStatus();
+    }
+
+    @Override
+    public Executor getExecutor() {
+        return delegate.getExecutor();
+    }
+
+    @Override
+    public Path getLocalDir() {
+        return delegate.getLocalDir();
+    }
+
+    @Override
+    public void close() {
+        // the shared computation manager outlives the run
+    }
+
+    private final class TrackingExecutionHandler<R> implements ExecutionHandler<R> {
+
+        private final ExecutionHandler<R> handler;
+
+        private TrackingExecutionHandler(ExecutionHandler<R> handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public List<CommandExecution> before(Path workingDir) throws IOException {
+            workingDirs.add(workingDir);
+            List<CommandExecution> commandExecutions = handler.before(workingDir);
+            CpuAllocation allocation = cpuAllocation;
+            return allocation != null && allocation.isPinned() ? commandExecutions.stream().map(execution -> pin(execution, allocation.getCpus())).toList() : commandExecutions;
+        }
+
+        @Override
+        public void onExecutionStart(CommandExecution execution, int executionIndex) {
+            handler.onExecutionStart(execution, executionIndex);
+        }
+
+        @Override
+        public void onExecutionCompletion(CommandExecution execution, int executionIndex) {
+            handler.onExecutionCompletion(execution, executionIndex);
+        }
+
+        @Override
+        public R after(Path workingDir, ExecutionReport report) throws IOException {
+            return handler.after(workingDir, report);
+        }
+    }
+
+    private static CommandExecution pin(CommandExecution execution, List<Integer> cpus) {
+        String cpuList = ProcessUtils.toCpuList(cpus);
+        Command pinnedCommand;
+        if (execution.getCommand() instanceof SimpleCommand command) {
+            pinnedCommand = new SimpleCommandBuilder()
+                    .id(command.getId())
+                    .program(ProcessUtils.TASKSET)
+                    .args(executionIndex -> pinArgs(cpuList, command.getProgram(), command.getArgs(executionIndex)))
+                    .inputFiles(command.getInputFiles())
+                    .outputFiles(command.getOutputFiles())
+                    .timeout(command.getTimeout())
+                    .build();
+        } else if (execution.getCommand() instanceof GroupCommand command) {
+            GroupCommandBuilder builder = new GroupCommandBuilder()
+                    .id(command.getId())
+                    .inputFiles(command.getInputFiles())
+                    .outputFiles(command.getOutputFiles());
+            for (GroupCommand.SubCommand subCommand : command.getSubCommands()) {
+                builder.subCommand()
+                        .program(ProcessUtils.TASKSET)
+                        .args(executionIndex -> pinArgs(cpuList, subCommand.getProgram(), subCommand.getArgs(executionIndex)))
+                        .timeout(subCommand.getTimeout())
+                        .add();
+            }
+            pinnedCommand = builder.build();
+        } else {
+            return execution;
+        }
+        return new CommandExecution(pinnedCommand, execution.getExecutionCount(), execution.getPriority(), execution.getTags(),
+                execution.getOverloadedVariables());
+    }
+
+    private static List<String> pinArgs(String cpuList, String program, List<String> args) {
+        List<String> pinnedArgs = new ArrayList<>(List.of("-c", cpuList, program));
+        pinnedArgs.addAll(args);
+        return pinnedArgs;
+    }
+}
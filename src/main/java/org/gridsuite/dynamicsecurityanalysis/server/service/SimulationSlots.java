@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.dynamicsecurityanalysis.server.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Bounds the number of runs simulating at the same time on a worker, independently of the number of run consumers.
+ * With one consumer more than simulation slots, the extra consumer takes the next message and prepares its inputs
+ * while the other runs simulate, then waits for a slot to start simulating, i.e. pipelined mode.
+ *
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+@Service
+public class SimulationSlots {
+
+    // period at which a run waiting for a slot checks its cancellation
+    private static final Duration POLL_PERIOD = Duration.ofMillis(200);
+
+    private final Semaphore semaphore;
+
+    public SimulationSlots(@Value("${dynamic-security-analysis.simulation-slots:2}") int slotCount) {
+        this.semaphore = new Semaphore(Math.max(1, slotCount), true);
+    }
+
+    /**
+     * Wait for a free slot, in order of arrival
+     */
+    public void acquire() {
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for a simulation slot");
+        }
+    }
+
+    /**
+     * Wait for a free slot, in order of arrival, as long as the run is not cancelled
+     *
+     * @param cancelled checked at each poll period while waiting
+     * @return whether a slot has been acquired, false if the run has been cancelled while waiting
+     */
+    public boolean acquire(BooleanSupplier cancelled) {
+        try {
+            while (!semaphore.tryAcquire(POLL_PERIOD.toMillis(), TimeUnit.MILLISECONDS)) {
+                if (cancelled.getAsBoolean()) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for a simulation slot");
+        }
+    }
+
+    public void release() {
+        semaphore.release();
+    }
+
+    public int getAvailableSlotCount() {
+        return semaphore.availablePermits();
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.dynamicsecurityanalysis.server.service;
+
+import com.powsybl.computation.local.LocalCommandExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Command executor of a local computation manager submitting its commands to a {@link JobSpool}, so that they are run by
+ * {@link SpoolExecutor} processes, possibly on other hosts mounting the same shared filesystem, instead of being spawned
+ * by the worker. The working directories of the computation manager must be on the shared filesystem as well.
+ * <p>
+ * The calling thread waits for the exit code of the job. A stopped job is given up after a grace period if no executor
+ * reports its exit, e.g. because the executor running it has died.
+ *
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+public class SpoolCommandExecutor implements LocalCommandExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpoolCommandExecutor.class);
+
+    // exit code of a job given up, as killed by SIGKILL
+    public static final int KILLED_EXIT_CODE = 137;
+
+    private final JobSpool spool;
+    private final Duration pollPeriod;
+    private final Duration stopGracePeriod;
+    private final Map<Path, Set<String>> jobIdsByWorkingDir = new ConcurrentHashMap<>();
+    private final Map<String, Long> stopTimes = new ConcurrentHashMap<>();
+
+    public SpoolCommandExecutor(Path spoolDir) {
+        this(new JobSpool(spoolDir), Duration.ofMillis(200), Duration.ofSeconds(30));
+    }
+
+    SpoolCommandExecutor(JobSpool spool, Duration pollPeriod, Duration stopGracePeriod) {
+        this.spool = Objects.requireNonNull(spool);
+        this.pollPeriod = pollPeriod;
+        this.stopGracePeriod = stopGracePeriod;
+    }
+
+    @Override
+    public int execute(String program, List<String> args, Path outFile, Path errFile, Path workingDir, Map<String, String> env)
+            throws IOException, InterruptedException {
+        return execute(program, 0, args, outFile, errFile, workingDir, env);
+    }
+
+    public int execute(String program, long timeoutSeconds, List<String> args, Path outFile, Path errFile, Path workingDir,
+                       Map<String, String> env) throws IOException, InterruptedException {
+        String jobId = spool.submit(program, timeoutSeconds, args, outFile, errFile, workingDir, env);
+        jobIdsByWorkingDir.computeIfAbsent(workingDir, dir -> ConcurrentHashMap.newKeySet()).add(jobId);
+        try {
+            return awaitExitCode(jobId);
+        } catch (InterruptedException e) {
+            spool.cancel(jobId);
+            throw e;
+        } finally {
+            jobIdsByWorkingDir.computeIfPresent(workingDir, (dir, jobIds) -> {
+                jobIds.remove(jobId);
+                return jobIds.isEmpty() ? null : jobIds;
+            });
+            stopTimes.remove(jobId);
+            spool.remove(jobId);
+        }
+    }
+
+    private int awaitExitCode(String jobId) throws IOException, InterruptedException {
+        while (true) {
+            OptionalInt exitCode = spool.getExitCode(jobId);
+            if (exitCode.isPresent()) {
+                return exitCode.getAsInt();
+            }
+            Long stopTime = stopTimes.get(jobId);
+            if (stopTime != null && System.nanoTime() - stopTime > stopGracePeriod.toNanos()) {
+                LOGGER.warn("Job {} stopped but not reported by any executor after {}, given up", jobId, stopGracePeriod);
+                return KILLED_EXIT_CODE;
+            }
+            Thread.sleep(pollPeriod.toMillis());
+        }
+    }
+
+    @Override
+    public void stop(Path workingDir) {
+        jobIdsByWorkingDir.getOrDefault(workingDir, Set.of()).forEach(jobId -> {
+            try {
+                spool.cancel(jobId);
+                stopTimes.putIfAbsent(jobId, System.nanoTime());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Override
+    public void stopForcibly(Path workingDir) {
+        // the executor kills the process tree of a cancelled job after its own grace period
+        stop(workingDir);
+    }
+}
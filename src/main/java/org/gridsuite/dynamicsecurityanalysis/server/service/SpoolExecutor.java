@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.dynamicsecurityanalysis.server.service;
+
+import org.gridsuite.dynamicsecurityanalysis.server.service.JobSpool.Job;
+import org.gridsuite.dynamicsecurityanalysis.server.utils.ProcessUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor process of a {@link JobSpool}, run apart from the workers, e.g. in its own pod or on a host mounting the shared
+ * filesystem, with the same image and classpath as the server:
+ * <pre>
+ * java -cp &lt;classpath of the server&gt; org.gridsuite.dynamicsecurityanalysis.server.service.SpoolExecutor &lt;spool dir&gt; [capacity]
+ * </pre>
+ * It claims pending jobs as long as it runs fewer than its capacity, by default its number of available processors,
+ * runs each one as a child process in the working directory of the job, and reports its exit code. A cancelled job is
+ * terminated with its descendants, a job running longer than its timeout is killed.
+ *
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+public final class SpoolExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpoolExecutor.class);
+
+    // exit code of a command killed after its timeout
+    public static final int TIMEOUT_EXIT_CODE = 124;
+    // exit code of a command which could not be started
+    public static final int NOT_STARTED_EXIT_CODE = 127;
+
+    private static final Duration POLL_PERIOD = Duration.ofMillis(200);
+    private static final Duration TERMINATION_GRACE_PERIOD = Duration.ofSeconds(10);
+
+    private final JobSpool spool;
+    private final Semaphore slots;
+
+    SpoolExecutor(JobSpool spool, int capacity) {
+        this.spool = Objects.requireNonNull(spool);
+        this.slots = new Semaphore(Math.max(1, capacity));
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            throw new IllegalArgumentException("Usage: SpoolExecutor <spool dir> [capacity]");
+        }
+        int capacity = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        LOGGER.info("Executor of the spool {} started with a capacity of {}", args[0], capacity);
+        new SpoolExecutor(new JobSpool(Path.of(args[0])), capacity).run();
+    }
+
+    /**
+     * Claim and run the jobs until interrupted
+     */
+    void run() throws InterruptedException {
+        while (!Thread.currentThread().isInterrupted()) {
+            slots.acquire();
+            Optional<Job> job;
+            try {
+                job = spool.claim();
+            } catch (IOException e) {
+                LOGGER.warn("Error occurred while claiming a job => {}", e.getMessage());
+                job = Optional.empty();
+            }
+            if (job.isEmpty()) {
+                slots.release();
+                Thread.sleep(POLL_PERIOD.toMillis());
+                continue;
+            }
+            Job claimedJob = job.get();
+            Thread.ofVirtual().name("job-" + claimedJob.id()).start(() -> {
+                try {
+                    spool.complete(claimedJob.id(), execute(claimedJob));
+                } catch (IOException e) {
+                    LOGGER.error("Error occurred while reporting the exit of the job {}", claimedJob.id(), e);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    slots.release();
+                }
+            });
+        }
+    }
+
+    private int execute(Job job) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(job.program());
+        command.addAll(job.args());
+        ProcessBuilder processBuilder = new ProcessBuilder(command)
+                .directory(job.workingDir().toFile())
+                .redirectOutput(job.outFile().toFile())
+                .redirectError(job.errFile().toFile());
+        processBuilder.environment().putAll(job.env());
+        Process process;
+        try {
+            process = processBuilder.start();
+        } catch (IOException e) {
+            Files.writeString(job.errFile(), e.getMessage());
+            return NOT_STARTED_EXIT_CODE;
+        }
+        LOGGER.debug("Job {} started as process {}", job.id(), process.pid());
+
+        long startTime = System.nanoTime();
+        long timeoutNanos = TimeUnit.SECONDS.toNanos(job.timeoutSeconds());
+        while (!process.waitFor(POLL_PERIOD.toMillis(), TimeUnit.MILLISECONDS)) {
+            if (spool.isCancelled(job.id())) {
+                ProcessUtils.terminate(List.of(process.toHandle()), TERMINATION_GRACE_PERIOD).join();
+                return process.waitFor();
+            }
+            if (timeoutNanos > 0 && System.nanoTime() - startTime > timeoutNanos) {
+                ProcessUtils.terminate(List.of(process.toHandle()), Duration.ZERO).join();
+                process.waitFor();
+                return TIMEOUT_EXIT_CODE;
+            }
+        }
+        return process.exitValue();
+    }
+}
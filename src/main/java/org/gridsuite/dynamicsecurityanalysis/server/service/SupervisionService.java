@@ -16,12 +16,29 @@ import org.springframework.stereotype.Service;
 @Service
 public class SupervisionService {
     private final DynamicSecurityAnalysisResultRepository resultRepository;
+    private final DrainService drainService;
 
-    public SupervisionService(DynamicSecurityAnalysisResultRepository resultRepository) {
+    public SupervisionService(DynamicSecurityAnalysisResultRepository resultRepository, DrainService drainService) {
         this.resultRepository = resultRepository;
+        this.drainService = drainService;
     }
 
     public Integer getResultsCount() {
         return (int) resultRepository.count();
     }
+
+    /**
+     * @return the number of runs still in flight
+     */
+    public Integer drain() {
+        drainService.drain();
+        return drainService.getInFlightRunCount();
+    }
+
+    /**
+     * @return false if the worker is shutting down
+     */
+    public boolean undrain() {
+        return drainService.undrain();
+    }
 }
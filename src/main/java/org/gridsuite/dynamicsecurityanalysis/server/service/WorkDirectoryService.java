@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.dynamicsecurityanalysis.server.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates the working directories of the runs, in memory (e.g. on a tmpfs such as /dev/shm) when configured and when
+ * the estimated size of the run fits in the remaining memory budget, on disk otherwise.
+ * <p>
+ * The memory budget is reserved at creation and given back by {@link #release(Path)} once the directory is removed.
+ * The size per contingency of the estimate is refined with the actual size of each directory measured on its removal.
+ * <p>
+ * Empty directories are created ahead in background so that a run takes one from the pool, and finished directories are
+ * deleted in background so that a run does not wait for the recursive delete of its outputs.
+ *
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+@Service
+public class WorkDirectoryService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WorkDirectoryService.class);
+
+    private static final String DELETED_SUFFIX = ".deleted";
+    // weight of the past in the moving averages refined on each removal
+    private static final int HISTORY_WEIGHT = 3;
+
+    private final Path ramDir;
+    private final long ramMaxSize;
+    private final int poolSize;
+
+    private final Map<Path, Long> ramReservations = new ConcurrentHashMap<>();
+    private final Map<Path, Sizing> sizings = new ConcurrentHashMap<>();
+    // guarded by this
+    private long reservedSize;
+    private long sizePerContingency;
+    private double diskIoNanosPerByte = Double.NaN;
+
+    // pre-created empty directories by parent directory and prefix
+    private final Map<PoolKey, Deque<Path>> pools = new ConcurrentHashMap<>();
+    private final ExecutorService backgroundExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "work-dir-background");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private record PoolKey(Path parent, String prefix) { }
+
+    private record Sizing(long dumpSize, int contingencyCount) { }
+
+    public WorkDirectoryService(@Value("${dynamic-security-analysis.ram-work-dir.path:}") String ramDir,
+                                @Value("${dynamic-security-analysis.ram-work-dir.max-size:2GB}") DataSize ramMaxSize,
+                                @Value("${dynamic-security-analysis.ram-work-dir.size-per-contingency:1MB}") DataSize sizePerContingency,
+                                @Value("${dynamic-security-analysis.work-dir-pool-size:4}") int poolSize) {
+        this.ramDir = ramDir != null && !ramDir.isBlank() ? Path.of(ramDir) : null;
+        this.ramMaxSize = ramMaxSize.toBytes();
+        this.sizePerContingency = sizePerContingency.toBytes();
+        this.poolSize = poolSize;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        backgroundExecutor.shutdown();
+    }
+
+    /**
+     * Estimated size of a working directory: the dump file and the outputs of each contingency
+     */
+    public synchronized long estimateSize(long dumpSize, int contingencyCount) {
+        return dumpSize + contingencyCount * sizePerContingency;
+    }
+
+    /**
+     * @param dumpSize         size of the dump file of the run
+     * @param contingencyCount number of contingencies simulated by the run, the estimate being refined on its removal
+     */
+    public Path createWorkingDirectory(Path localDir, String prefix, long dumpSize, int contingencyCount) {
+        Path workDir = createWorkingDirectory(localDir, prefix, estimateSize(dumpSize, contingencyCount));
+        sizings.put(workDir, new Sizing(dumpSize, contingencyCount));
+        return workDir;
+    }
+
+    /**
+     * @param localDir      directory on disk, used when the run does not fit in memory
+     * @param estimatedSize estimated size of the working directory in bytes
+     */
+    public Path createWorkingDirectory(Path localDir, String prefix, long estimatedSize) {
+        if (ramDir != null && reserve(estimatedSize)) {
+            try {
+                Path workDir = takeOrCreate(ramDir, prefix);
+                ramReservations.put(workDir, estimatedSize);
+                return workDir;
+            } catch (IOException e) {
+                unreserve(estimatedSize);
+                LOGGER.warn("Error occurred while creating a working directory inside the memory directory {}, fallback to disk => {}",
+                        ramDir.toAbsolutePath(), e.getMessage());
+            }
+        }
+
+        try {
+            return takeOrCreate(localDir, prefix);
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Error occurred while creating a working directory inside the local directory %s",
+                    localDir.toAbsolutePath()), e);
+        }
+    }
+
+    private Path takeOrCreate(Path parent, String prefix) throws IOException {
+        Deque<Path> pool = pools.computeIfAbsent(new PoolKey(parent, prefix), key -> new ConcurrentLinkedDeque<>());
+        Path workDir = pool.poll();
+        refill(parent, prefix, pool);
+        // a pooled directory may have been removed meanwhile, e.g. by a tmp cleaner
+        return workDir != null && Files.isDirectory(workDir) ? workDir : Files.createTempDirectory(parent, prefix);
+    }
+
+    private void refill(Path parent, String prefix, Deque<Path> pool) {
+        if (poolSize <= 0) {
+            return;
+        }
+        backgroundExecutor.execute(() -> {
+            try {
+                while (pool.size() < poolSize) {
+                    pool.add(Files.createTempDirectory(parent, prefix));
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Error occurred while pre-creating a working directory inside the directory {} => {}",
+                        parent.toAbsolutePath(), e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Remove a working directory in background: it is first renamed so that the run does not see it anymore,
+     * then deleted recursively. If it can not be renamed, e.g. a previous removal of the same directory has left it
+     * behind, it is deleted in place, the directories of the pool being other directories.
+     *
+     * @return a future completed with the size in bytes of the directory once deleted, 0 if already removed
+     */
+    public CompletableFuture<Long> removeAsync(Path workDir) {
+        Path deletedDir = workDir.resolveSibling(workDir.getFileName() + DELETED_SUFFIX);
+        try {
+            Files.move(workDir, deletedDir, StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException e) {
+            // already removed
+            sizings.remove(workDir);
+            release(workDir);
+            return CompletableFuture.completedFuture(0L);
+        } catch (IOException e) {
+            LOGGER.debug("Working directory {} not renamed, deleted in place => {}", workDir.toAbsolutePath(), e.getMessage());
+            deletedDir = workDir;
+        }
+
+        Path dirToDelete = deletedDir;
+        return CompletableFuture.supplyAsync(() -> {
+            long size = 0;
+            try {
+                size = removeDir(dirToDelete);
+                Sizing sizing = sizings.get(workDir);
+                if (sizing != null) {
+                    refineSizePerContingency(sizing, size);
+                }
+            } catch (IOException e) {
+                LOGGER.error("Error occurred while deleting the working directory {} => {}", dirToDelete.toAbsolutePath(), e.getMessage());
+            } finally {
+                sizings.remove(workDir);
+                release(workDir);
+            }
+            return size;
+        }, backgroundExecutor);
+    }
+
+    /**
+     * Delete a directory recursively
+     *
+     * @return the size in bytes of its files
+     */
+    private static long removeDir(Path dir) throws IOException {
+        long[] size = {0};
+        Files.walkFileTree(dir, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                size[0] += attrs.size();
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path directory, IOException exc) throws IOException {
+                if (exc != null) {
+                    throw exc;
+                }
+                Files.delete(directory);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return size[0];
+    }
+
+    private synchronized void refineSizePerContingency(Sizing sizing, long size) {
+        if (sizing.contingencyCount() <= 0) {
+            return;
+        }
+        long measuredSizePerContingency = Math.max(0, size - sizing.dumpSize()) / sizing.contingencyCount();
+        sizePerContingency = (sizePerContingency * HISTORY_WEIGHT + measuredSizePerContingency) / (HISTORY_WEIGHT + 1);
+        LOGGER.debug("Size per contingency of the working directories refined to {} bytes, {} measured", sizePerContingency, measuredSizePerContingency);
+    }
+
+    /**
+     * Record the I/O time of a removed working directory, the I/O time per byte on disk being refined with each directory on disk
+     *
+     * @param size size in bytes of the removed directory
+     * @return for a directory in memory, the I/O time saved compared to the disk, empty until a directory on disk has been measured
+     */
+    public synchronized Optional<Duration> recordIoTime(boolean inMemory, long size, Duration ioTime) {
+        if (size <= 0) {
+            return Optional.empty();
+        }
+        if (!inMemory) {
+            double ioNanosPerByte = (double) ioTime.toNanos() / size;
+            diskIoNanosPerByte = Double.isNaN(diskIoNanosPerByte) ? ioNanosPerByte
+                    : (diskIoNanosPerByte * HISTORY_WEIGHT + ioNanosPerByte) / (HISTORY_WEIGHT + 1);
+            return Optional.empty();
+        }
+        if (Double.isNaN(diskIoNanosPerByte)) {
+            return Optional.empty();
+        }
+        return Optional.of(Duration.ofNanos(Math.max(0, Math.round(diskIoNanosPerByte * size) - ioTime.toNanos())));
+    }
+
+    public boolean isInMemory(Path workDir) {
+        return workDir != null && ramReservations.containsKey(workDir);
+    }
+
+    /**
+     * Give back the memory reserved for a working directory which has been removed, no-op for a directory on disk
+     */
+    public void release(Path workDir) {
+        if (workDir != null) {
+            Long estimatedSize = ramReservations.remove(workDir);
+            if (estimatedSize != null) {
+                unreserve(estimatedSize);
+            }
+        }
+    }
+
+    private synchronized boolean reserve(long estimatedSize) {
+        // both the configured budget and the actual free space of the tmpfs, which may be shared with other processes
+        long usableSpace;
+        try {
+            usableSpace = Files.getFileStore(ramDir).getUsableSpace();
+        } catch (IOException e) {
+            return false;
+        }
+        if (reservedSize + estimatedSize > ramMaxSize || estimatedSize > usableSpace) {
+            return false;
+        }
+        reservedSize += estimatedSize;
+        return true;
+    }
+
+    private synchronized void unreserve(long estimatedSize) {
+        reservedSize -= estimatedSize;
+    }
+}
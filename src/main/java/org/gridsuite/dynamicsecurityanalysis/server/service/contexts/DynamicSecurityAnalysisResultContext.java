@@ -7,6 +7,7 @@
 package org.gridsuite.dynamicsecurityanalysis.server.service.contexts;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.gridsuite.computation.dto.ReportInfos;
 import org.gridsuite.computation.service.AbstractResultContext;
@@ -15,6 +16,7 @@ import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageHeaders;
 
 import java.io.UncheckedIOException;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
@@ -27,7 +29,11 @@ import static org.gridsuite.computation.utils.MessageUtils.getNonNullHeader;
  */
 public class DynamicSecurityAnalysisResultContext extends AbstractResultContext<DynamicSecurityAnalysisRunContext> {
 
-    private static final String HEADER_DYNAMIC_SIMULATION_RESULT_UUID = "dynamicSimulationResultUuid";
+    // also the routing key of the runs in affinity routing mode
+    public static final String HEADER_DYNAMIC_SIMULATION_RESULT_UUID = "dynamicSimulationResultUuid";
+    private static final String HEADER_PREVIOUS_RESULT_UUID = "previousResultUuid";
+    private static final String HEADER_BATCH_UUID = "batchUuid";
+    private static final String HEADER_SWEEP_COMBINATIONS = "sweepCombinations";
 
     public DynamicSecurityAnalysisResultContext(UUID resultUuid, DynamicSecurityAnalysisRunContext runContext) {
         super(resultUuid, runContext);
@@ -73,12 +79,48 @@ public class DynamicSecurityAnalysisResultContext extends AbstractResultContext<
 
         runContext.setDynamicSimulationResultUuid(dynamicSimulationResultUuid);
 
+        // known from the start of the run so that a redelivered run can resume from its checkpoint
+        runContext.setResultUuid(resultUuid);
+
+        String previousResultUuidStr = (String) headers.get(HEADER_PREVIOUS_RESULT_UUID);
+        if (previousResultUuidStr != null) {
+            runContext.setPreviousResultUuid(UUID.fromString(previousResultUuidStr));
+        }
+
+        String batchUuidStr = (String) headers.get(HEADER_BATCH_UUID);
+        if (batchUuidStr != null) {
+            runContext.setBatchUuid(UUID.fromString(batchUuidStr));
+        }
+
+        String sweepCombinationsStr = (String) headers.get(HEADER_SWEEP_COMBINATIONS);
+        if (sweepCombinationsStr != null) {
+            try {
+                runContext.setSweepCombinations(objectMapper.readValue(sweepCombinationsStr, new TypeReference<>() { }));
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
         return new DynamicSecurityAnalysisResultContext(resultUuid, runContext);
     }
 
     @Override
     public Map<String, String> getSpecificMsgHeaders(ObjectMapper objectMapper) {
-
-        return Map.of(HEADER_DYNAMIC_SIMULATION_RESULT_UUID, getRunContext().getDynamicSimulationResultUuid().toString());
+        Map<String, String> specificMsgHeaders = new HashMap<>();
+        specificMsgHeaders.put(HEADER_DYNAMIC_SIMULATION_RESULT_UUID, getRunContext().getDynamicSimulationResultUuid().toString());
+        if (getRunContext().getPreviousResultUuid() != null) {
+            specificMsgHeaders.put(HEADER_PREVIOUS_RESULT_UUID, getRunContext().getPreviousResultUuid().toString());
+        }
+        if (getRunContext().getBatchUuid() != null) {
+            specificMsgHeaders.put(HEADER_BATCH_UUID, getRunContext().getBatchUuid().toString());
+        }
+        if (!getRunContext().getSweepCombinations().isEmpty()) {
+            try {
+                specificMsgHeaders.put(HEADER_SWEEP_COMBINATIONS, objectMapper.writeValueAsString(getRunContext().getSweepCombinations()));
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return specificMsgHeaders;
     }
 }
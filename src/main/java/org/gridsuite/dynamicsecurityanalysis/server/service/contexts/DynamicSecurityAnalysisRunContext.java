@@ -7,18 +7,32 @@
 package org.gridsuite.dynamicsecurityanalysis.server.service.contexts;
 
 import com.powsybl.contingency.Contingency;
+import com.powsybl.dynamicsimulation.DynamicSimulationParameters;
 import com.powsybl.dynawo.suppliers.dynamicmodels.DynamicModelConfig;
+import com.powsybl.security.SecurityAnalysisReport;
 import com.powsybl.security.dynamic.DynamicSecurityAnalysisParameters;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
 import org.gridsuite.computation.dto.ReportInfos;
 import org.gridsuite.computation.service.AbstractComputationRunContext;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.contingency.ContingencyResultInfos;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.contingency.ContingencyResultStage;
 import org.gridsuite.dynamicsecurityanalysis.server.dto.parameters.DynamicSecurityAnalysisParametersInfos;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.sweep.SweepCombinationInfos;
+import org.gridsuite.dynamicsecurityanalysis.server.service.CpuAllocationService.CpuAllocation;
+import org.gridsuite.dynamicsecurityanalysis.server.service.RunScopedComputationManager;
 
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author Thang PHAM <quyet-thang.pham at rte-france.com>
@@ -29,12 +43,56 @@ public class DynamicSecurityAnalysisRunContext extends AbstractComputationRunCon
 
     private UUID dynamicSimulationResultUuid;
 
+    // canonical hash of the run inputs, null when the run must not be deduplicated (e.g. debug run)
+    private String inputsHash;
+
+    // result whose unchanged contingency results are carried over, i.e. incremental re-run
+    private UUID previousResultUuid;
+
+    // batch grouping the runs of several variants, null for a single run
+    private UUID batchUuid;
+
+    // combinations of a parametric sweep, each with its own result, empty for a single run
+    private List<SweepCombinationInfos> sweepCombinations = new ArrayList<>();
+
+    // estimated wait of a run accepted beyond the backpressure threshold, null when the run is not queued
+    private Duration estimatedWait;
+
     // --- Fields which are enriched in worker service --- //
 
+    private UUID resultUuid;
     private Path workDir;
+    // time spent writing the inputs into the working directory
+    private Duration workDirIoTime;
+    // tracks the executions of the run so that its processes can be killed on cancellation
+    private RunScopedComputationManager computationManager;
+    // CPUs of the worker allocated to the run while simulating, null if not enabled
+    private CpuAllocation cpuAllocation;
     private List<Contingency> contingencies;
+    private Map<String, String> contingencyFingerprints = new HashMap<>();
+    private List<ContingencyResultInfos> carriedOverContingencyResults = new ArrayList<>();
+    // results checkpointed by a previous delivery of the same run, e.g. interrupted by a worker crash
+    private List<ContingencyResultInfos> checkpointedContingencyResults = new ArrayList<>();
+    private Map<String, Double> contingencySeverities = new HashMap<>();
+    private List<ContingencyResultInfos> skippedContingencyResults = new ArrayList<>();
     private List<DynamicModelConfig> dynamicModelContent;
     private DynamicSecurityAnalysisParameters dynamicSecurityAnalysisParameters;
+    // parameters of the coarse stage, null if the two-stage mode is not enabled
+    private DynamicSecurityAnalysisParameters coarseDynamicSecurityAnalysisParameters;
+    private Map<String, ContingencyResultStage> contingencyStages = new ConcurrentHashMap<>();
+    // parameters of the simulation of the pre-contingency interval, null if the warm start is not applicable
+    private DynamicSimulationParameters warmStartDynamicSimulationParameters;
+    // contingencies started from the final state of the warm start simulation
+    private boolean warmStarted;
+    // time of the warm start simulation, shared by the warm started contingencies
+    private Duration warmStartTime;
+    private Set<String> timedOutContingencyIds = ConcurrentHashMap.newKeySet();
+    // run stopped by the abort policy
+    private volatile boolean aborted;
+    private Set<String> notSimulatedContingencyIds = ConcurrentHashMap.newKeySet();
+    // parameters then reports of the sweep combinations indexed by result uuid
+    private Map<UUID, DynamicSecurityAnalysisParameters> sweepDynamicSecurityAnalysisParameters = new LinkedHashMap<>();
+    private Map<UUID, SecurityAnalysisReport> sweepReports = new ConcurrentHashMap<>();
 
     @Builder
     public DynamicSecurityAnalysisRunContext(UUID networkUuid, String variantId, String receiver, String provider,
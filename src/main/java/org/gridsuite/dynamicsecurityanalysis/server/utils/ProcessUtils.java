@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package org.gridsuite.dynamicsecurityanalysis.server.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+public final class ProcessUtils {
+
+    private static final Path PROC_DIR = Path.of("/proc");
+    private static final Path ONLINE_CPUS_FILE = Path.of("/sys/devices/system/cpu/online");
+    private static final String CPUS_ALLOWED_LIST = "Cpus_allowed_list:";
+    private static final String VM_RSS = "VmRSS:";
+
+    public static final String TASKSET = "taskset";
+
+    private ProcessUtils() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    /**
+     * Find the processes launched by this JVM whose current directory is inside one of the given directories,
+     * only supported where the current directory of a process is exposed by /proc (i.e. Linux)
+     */
+    public static List<ProcessHandle> findDescendantsByWorkingDirectory(Collection<Path> directories) {
+        List<Path> realDirectories = directories.stream().map(ProcessUtils::toRealPath).toList();
+        return ProcessHandle.current().descendants()
+                .filter(process -> getWorkingDirectory(process)
+                        .map(workingDir -> realDirectories.stream().anyMatch(workingDir::startsWith))
+                        .orElse(false))
+                .toList();
+    }
+
+    /**
+     * Terminate the given processes with their descendants: SIGTERM first, then SIGKILL to the ones still alive after the grace period
+     *
+     * @return a future completed once all processes have exited
+     */
+    public static CompletableFuture<Void> terminate(List<ProcessHandle> processes, Duration gracePeriod) {
+        List<ProcessHandle> processTree = processes.stream()
+                .flatMap(process -> Stream.concat(Stream.of(process), process.descendants()))
+                .distinct()
+                .toList();
+        if (processTree.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        processTree.forEach(ProcessHandle::destroy);
+        return CompletableFuture.allOf(processTree.stream().map(ProcessHandle::onExit).toArray(CompletableFuture[]::new))
+                .completeOnTimeout(null, gracePeriod.toMillis(), TimeUnit.MILLISECONDS)
+                .thenCompose(unused -> {
+                    List<ProcessHandle> aliveProcesses = processTree.stream().filter(ProcessHandle::isAlive).toList();
+                    aliveProcesses.forEach(ProcessHandle::destroyForcibly);
+                    return CompletableFuture.allOf(aliveProcesses.stream().map(ProcessHandle::onExit).toArray(CompletableFuture[]::new));
+                });
+    }
+
+    /**
+     * @return the CPUs this JVM may run on, as restricted by its cpuset and read from /proc (i.e. Linux),
+     * otherwise 0 to the number of available processors
+     */
+    public static List<Integer> getAllowedCpus() {
+        try (Stream<String> lines = Files.lines(PROC_DIR.resolve("self").resolve("status"))) {
+            Optional<String> cpusAllowedList = lines.filter(line -> line.startsWith(CPUS_ALLOWED_LIST))
+                    .map(line -> line.substring(CPUS_ALLOWED_LIST.length()).trim())
+                    .findFirst();
+            if (cpusAllowedList.isPresent()) {
+                return parseCpuList(cpusAllowedList.get());
+            }
+        } catch (IOException | UncheckedIOException | NumberFormatException e) {
+            // not supported platform
+        }
+        return IntStream.range(0, Runtime.getRuntime().availableProcessors()).boxed().toList();
+    }
+
+    /**
+     * @return whether this JVM is restricted by its cpuset to a subset of the online CPUs of the host, as read from /proc
+     * and /sys (i.e. Linux), false on a not supported platform. A container only limited by a CFS quota may run on all the CPUs.
+     */
+    public static boolean isCpusetRestricted(List<Integer> allowedCpus) {
+        try {
+            return allowedCpus.size() < parseCpuList(Files.readString(ONLINE_CPUS_FILE).trim()).size();
+        } catch (IOException | UncheckedIOException | NumberFormatException e) {
+            // not supported platform
+            return false;
+        }
+    }
+
+    /**
+     * @param cpuList list of CPUs in the format of the kernel, e.g. 0-3,8
+     */
+    public static List<Integer> parseCpuList(String cpuList) {
+        List<Integer> cpus = new ArrayList<>();
+        for (String range : cpuList.split(",")) {
+            String[] bounds = range.trim().split("-");
+            int first = Integer.parseInt(bounds[0]);
+            int last = bounds.length > 1 ? Integer.parseInt(bounds[1]) : first;
+            IntStream.rangeClosed(first, last).forEach(cpus::add);
+        }
+        return cpus;
+    }
+
+    public static String toCpuList(Collection<Integer> cpus) {
+        return cpus.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    /**
+     * Set the CPU affinity of all threads of the given processes with taskset, best effort: a process may have exited meanwhile
+     */
+    public static void setAffinity(List<ProcessHandle> processes, Collection<Integer> cpus) {
+        String cpuList = toCpuList(cpus);
+        for (ProcessHandle process : processes) {
+            try {
+                new ProcessBuilder(TASKSET, "-a", "-p", "-c", cpuList, String.valueOf(process.pid()))
+                        .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                        .redirectError(ProcessBuilder.Redirect.DISCARD)
+                        .start()
+                        .waitFor();
+            } catch (IOException e) {
+                // taskset not available or process exited
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return the resident memory in bytes of the given processes with their descendants, as read from /proc (i.e. Linux),
+     * 0 for a process already exited or a not supported platform
+     */
+    public static long getResidentSetSize(List<ProcessHandle> processes) {
+        return processes.stream()
+                .flatMap(process -> Stream.concat(Stream.of(process), process.descendants()))
+                .distinct()
+                .mapToLong(ProcessUtils::getResidentSetSize)
+                .sum();
+    }
+
+    private static long getResidentSetSize(ProcessHandle process) {
+        try (Stream<String> lines = Files.lines(PROC_DIR.resolve(String.valueOf(process.pid())).resolve("status"))) {
+            // e.g. VmRSS:     1234 kB
+            return lines.filter(line -> line.startsWith(VM_RSS))
+                    .map(line -> line.substring(VM_RSS.length()).trim().split("\\s+")[0])
+                    .mapToLong(Long::parseLong)
+                    .map(kiloBytes -> kiloBytes * 1024)
+                    .findFirst()
+                    .orElse(0);
+        } catch (IOException | UncheckedIOException | NumberFormatException e) {
+            // process already exited or not supported platform
+            return 0;
+        }
+    }
+
+    private static Optional<Path> getWorkingDirectory(ProcessHandle process) {
+        try {
+            return Optional.of(PROC_DIR.resolve(String.valueOf(process.pid())).resolve("cwd").toRealPath());
+        } catch (IOException | SecurityException e) {
+            // process already exited or not supported platform
+            return Optional.empty();
+        }
+    }
+
+    private static Path toRealPath(Path path) {
+        try {
+            return path.toRealPath();
+        } catch (IOException e) {
+            return path.toAbsolutePath().normalize();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package org.gridsuite.dynamicsecurityanalysis.server.utils;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Concurrent subtasks of a run, each one on its own virtual thread, failing fast: the first failure interrupts the other
+ * subtasks, e.g. their blocking I/O, then is rethrown by {@link #join()}. Closing the scope waits for all its subtasks,
+ * so that none outlives the run. A stand-in for {@code StructuredTaskScope.ShutdownOnFailure}, still a preview API.
+ *
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+public final class RunScope implements AutoCloseable {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<Future<?>> subtasks = new CopyOnWriteArrayList<>();
+    private final AtomicReference<Exception> failure = new AtomicReference<>();
+
+    /**
+     * @return the future of the subtask, whose result is available once joined without failure
+     */
+    public <T> Future<T> fork(Callable<T> task) {
+        Future<T> subtask = executor.submit(() -> {
+            try {
+                return task.call();
+            } catch (Exception e) {
+                fail(e);
+                throw e;
+            }
+        });
+        subtasks.add(subtask);
+        // forked after a failure
+        if (failure.get() != null) {
+            subtask.cancel(true);
+        }
+        return subtask;
+    }
+
+    private void fail(Exception e) {
+        // the interruption of the siblings makes them fail as well, only the first failure is kept
+        if (failure.compareAndSet(null, e)) {
+            subtasks.forEach(subtask -> subtask.cancel(true));
+        }
+    }
+
+    /**
+     * Wait for all the subtasks
+     *
+     * @throws RuntimeException the first failure of a subtask, wrapped in a {@link CompletionException} if checked
+     */
+    public void join() {
+        for (Future<?> subtask : subtasks) {
+            try {
+                subtask.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+                break;
+            } catch (ExecutionException | CancellationException e) {
+                // the failure is the first one, not the one of this subtask
+            }
+        }
+        Exception firstFailure = failure.get();
+        if (firstFailure instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (firstFailure != null) {
+            throw new CompletionException(firstFailure);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
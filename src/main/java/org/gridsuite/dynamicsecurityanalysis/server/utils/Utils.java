@@ -11,7 +11,11 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
@@ -71,4 +75,28 @@ public final class Utils {
         }
     }
 
+    /**
+     * Uncompressed size of gzipped bytes, read from the gzip trailer without unzipping. Exact for a single gzip member
+     * below 4 GB, the trailer holding the size modulo 2^32.
+     */
+    public static long getUnzippedSize(byte[] zippedBytes) {
+        int length = zippedBytes.length;
+        if (length < 4) {
+            return 0;
+        }
+        return (zippedBytes[length - 1] & 0xFFL) << 24 |
+               (zippedBytes[length - 2] & 0xFFL) << 16 |
+               (zippedBytes[length - 3] & 0xFFL) << 8 |
+               zippedBytes[length - 4] & 0xFFL;
+    }
+
+    public static String sha256(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm is not available", e);
+        }
+    }
+
 }
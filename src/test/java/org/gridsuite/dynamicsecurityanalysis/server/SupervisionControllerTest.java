@@ -6,13 +6,20 @@
  */
 package org.gridsuite.dynamicsecurityanalysis.server;
 
+import org.gridsuite.dynamicsecurityanalysis.server.service.DrainService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -26,6 +33,9 @@ class SupervisionControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @MockitoSpyBean
+    private DrainService drainService;
+
     @Test
     void testResultCount() throws Exception {
         //get count of the result uuids
@@ -33,4 +43,27 @@ class SupervisionControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string("0"));
     }
+
+    @Test
+    void testDrain() throws Exception {
+        // the run consumers are not actually stopped
+        doReturn(CompletableFuture.completedFuture(null)).when(drainService).drain();
+
+        mockMvc.perform(put("/v1/supervision/drain"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("0"));
+        verify(drainService).drain();
+    }
+
+    @Test
+    void testUndrain() throws Exception {
+        doReturn(true).when(drainService).undrain();
+        mockMvc.perform(put("/v1/supervision/undrain"))
+                .andExpect(status().isOk());
+
+        // shutting down
+        doReturn(false).when(drainService).undrain();
+        mockMvc.perform(put("/v1/supervision/undrain"))
+                .andExpect(status().isConflict());
+    }
 }
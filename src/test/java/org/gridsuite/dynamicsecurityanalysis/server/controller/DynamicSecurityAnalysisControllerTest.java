@@ -6,34 +6,62 @@
  */
 package org.gridsuite.dynamicsecurityanalysis.server.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.powsybl.commons.datasource.ReadOnlyDataSource;
 import com.powsybl.commons.datasource.ResourceDataSource;
 import com.powsybl.commons.datasource.ResourceSet;
+import com.powsybl.commons.report.ReportNode;
 import com.powsybl.contingency.Contingency;
 import com.powsybl.contingency.violations.LimitViolation;
 import com.powsybl.contingency.violations.LimitViolationType;
+import com.powsybl.dynamicsimulation.DynamicSimulation;
+import com.powsybl.dynamicsimulation.DynamicSimulationParameters;
+import com.powsybl.dynamicsimulation.DynamicSimulationResult;
+import com.powsybl.dynamicsimulation.DynamicSimulationRunParameters;
+import com.powsybl.dynawo.DynawoSimulationParameters;
 import com.powsybl.iidm.network.Importers;
 import com.powsybl.iidm.network.Network;
 import com.powsybl.iidm.network.VariantManagerConstants;
 import com.powsybl.network.store.client.PreloadingStrategy;
 import com.powsybl.security.*;
 import com.powsybl.security.dynamic.DynamicSecurityAnalysis;
+import com.powsybl.security.dynamic.DynamicSecurityAnalysisParameters;
+import com.powsybl.security.dynamic.DynamicSecurityAnalysisRunParameters;
 import com.powsybl.security.results.ConnectivityResult;
 import com.powsybl.security.results.NetworkResult;
 import com.powsybl.security.results.PostContingencyResult;
 import com.powsybl.security.results.PreContingencyResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.gridsuite.computation.service.NotificationService;
 import org.gridsuite.dynamicsecurityanalysis.server.dto.DynamicSecurityAnalysisStatus;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.ReceiverInfos;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.batch.BatchInfos;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.batch.BatchResultInfos;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.batch.BatchVariantInfos;
 import org.gridsuite.dynamicsecurityanalysis.server.dto.contingency.ContingencyInfos;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.contingency.ContingencyResultInfos;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.contingency.ContingencyResultStage;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.contingency.ContingencyResultStatus;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.parameters.ContingencyOrdering;
 import org.gridsuite.dynamicsecurityanalysis.server.dto.parameters.DynamicSecurityAnalysisParametersInfos;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.sweep.SweepCombinationInfos;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.sweep.SweepInfos;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.sweep.SweepRangeInfos;
 import org.gridsuite.dynamicsecurityanalysis.server.entities.parameters.DynamicSecurityAnalysisParametersEntity;
+import org.gridsuite.dynamicsecurityanalysis.server.service.DynamicSecurityAnalysisResultService;
+import org.gridsuite.dynamicsecurityanalysis.server.service.SimulationSlots;
+import org.gridsuite.dynamicsecurityanalysis.server.service.contexts.DynamicSecurityAnalysisRunContext;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.MockedStatic;
+import org.mockito.stubbing.Answer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.stream.binder.test.OutputDestination;
 import org.springframework.messaging.Message;
 import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.http.AbortableInputStream;
@@ -47,13 +75,21 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import static com.powsybl.network.store.model.NetworkStoreApi.VERSION;
@@ -104,6 +140,15 @@ public class DynamicSecurityAnalysisControllerTest extends AbstractDynamicSecuri
     @MockitoSpyBean
     private S3Client s3Client;
 
+    @Autowired
+    private DynamicSecurityAnalysisResultService dynamicSecurityAnalysisResultService;
+
+    @Autowired
+    private SimulationSlots simulationSlots;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Override
     public OutputDestination getOutputDestination() {
         return output;
@@ -283,6 +328,460 @@ public class DynamicSecurityAnalysisControllerTest extends AbstractDynamicSecuri
             .andExpect(status().isOk());
     }
 
+    @Test
+    void testRunDeduplication() throws Exception {
+
+        // mock DynamicSecurityAnalysisWorkerService
+        doReturn(CompletableFuture.completedFuture(new SecurityAnalysisReport(SecurityAnalysisResult.empty())))
+                .when(dynamicSecurityAnalysisWorkerService).getCompletableFuture(any(), any(), any());
+
+        // first run => a new computation
+        UUID runUuid = runOnVariant1();
+        Message<byte[]> messageSwitch = output.receive(1000 * 10, dsaResultDestination);
+        assertThat(messageSwitch.getHeaders()).containsEntry(HEADER_RESULT_UUID, runUuid.toString());
+        assertResultStatus(runUuid, DynamicSecurityAnalysisStatus.SUCCEED);
+
+        // identical run => the succeeded result is reused and the receiver is notified right away
+        UUID identicalRunUuid = runOnVariant1();
+        assertThat(identicalRunUuid).isEqualTo(runUuid);
+        messageSwitch = output.receive(1000 * 10, dsaResultDestination);
+        assertThat(messageSwitch.getHeaders()).containsEntry(HEADER_RESULT_UUID, runUuid.toString());
+        verify(dynamicSecurityAnalysisWorkerService, times(1)).getCompletableFuture(any(), any(), any());
+
+        // once invalidated, the result is not reused anymore
+        mockMvc.perform(
+                put("/v1/results/invalidate-status?resultUuid=" + runUuid))
+            .andExpect(status().isOk());
+
+        UUID newRunUuid = runOnVariant1();
+        assertThat(newRunUuid).isNotEqualTo(runUuid);
+        messageSwitch = output.receive(1000 * 10, dsaResultDestination);
+        assertThat(messageSwitch.getHeaders()).containsEntry(HEADER_RESULT_UUID, newRunUuid.toString());
+        verify(dynamicSecurityAnalysisWorkerService, times(2)).getCompletableFuture(any(), any(), any());
+    }
+
+    @Test
+    void testRunDeduplicationContingencyListEdited() throws Exception {
+
+        // mock DynamicSecurityAnalysisWorkerService
+        doReturn(CompletableFuture.completedFuture(new SecurityAnalysisReport(SecurityAnalysisResult.empty())))
+                .when(dynamicSecurityAnalysisWorkerService).getCompletableFuture(any(), any(), any());
+
+        UUID runUuid = runOnVariant1();
+        Message<byte[]> messageSwitch = output.receive(1000 * 10, dsaResultDestination);
+        assertThat(messageSwitch.getHeaders()).containsEntry(HEADER_RESULT_UUID, runUuid.toString());
+        assertResultStatus(runUuid, DynamicSecurityAnalysisStatus.SUCCEED);
+
+        // the contingency list is edited in place => same parameters but not an identical run
+        when(actionsClient.getContingencyList(anyList(), eq(NETWORK_UUID), any()))
+                .thenReturn(List.of(new ContingencyInfos(Contingency.load("_LOAD__11_EC")), new ContingencyInfos(Contingency.load("_LOAD__10_EC"))));
+
+        UUID newRunUuid = runOnVariant1();
+        assertThat(newRunUuid).isNotEqualTo(runUuid);
+        messageSwitch = output.receive(1000 * 10, dsaResultDestination);
+        assertThat(messageSwitch.getHeaders()).containsEntry(HEADER_RESULT_UUID, newRunUuid.toString());
+        verify(dynamicSecurityAnalysisWorkerService, times(2)).getCompletableFuture(any(), any(), any());
+    }
+
+    @Test
+    void testRunDeduplicationAttachToRunning() throws Exception {
+        CountDownLatch runLatch = new CountDownLatch(1);
+        CompletableFuture<SecurityAnalysisReport> runFuture = new CompletableFuture<>();
+        mockSendRunMessage(() -> {
+            runLatch.countDown();
+            return runFuture;
+        });
+
+        // first run => a new computation
+        UUID runUuid = runOnVariant1("receiver1");
+        assertThat(runLatch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertResultStatus(runUuid, DynamicSecurityAnalysisStatus.RUNNING);
+
+        // identical runs while running => attached to the running result, no new computation
+        assertThat(runOnVariant1("receiver2")).isEqualTo(runUuid);
+        assertThat(runOnVariant1("receiver3")).isEqualTo(runUuid);
+        verify(notificationService, times(1)).sendRunMessage(any());
+        assertThat(dynamicSecurityAnalysisResultService.findAttachedReceivers(runUuid))
+                .extracting(ReceiverInfos::getReceiver).containsExactly("receiver2", "receiver3");
+
+        // a caller stopping the shared run only detaches itself, the run goes on for the others
+        mockMvc.perform(put("/" + VERSION + "/results/{resultUuid}/stop", runUuid).param("receiver", "receiver3"))
+                .andExpect(status().isOk());
+        Message<byte[]> messageSwitch = output.receive(1000 * 10, dsaStoppedDestination);
+        assertThat(messageSwitch.getHeaders())
+                .containsEntry(HEADER_RESULT_UUID, runUuid.toString())
+                .containsEntry(HEADER_RECEIVER, "receiver3");
+        assertResultStatus(runUuid, DynamicSecurityAnalysisStatus.RUNNING);
+
+        // on completion, the caller which launched the run and the attached one are notified
+        runFuture.complete(new SecurityAnalysisReport(SecurityAnalysisResult.empty()));
+        Set<Object> notifiedReceivers = new HashSet<>();
+        for (int i = 0; i < 2; i++) {
+            messageSwitch = output.receive(1000 * 10, dsaResultDestination);
+            assertThat(messageSwitch.getHeaders()).containsEntry(HEADER_RESULT_UUID, runUuid.toString());
+            notifiedReceivers.add(messageSwitch.getHeaders().get(HEADER_RECEIVER));
+        }
+        assertThat(notifiedReceivers).containsExactlyInAnyOrder("receiver1", "receiver2");
+        assertResultStatus(runUuid, DynamicSecurityAnalysisStatus.SUCCEED);
+
+        // the shared result is only deleted once deleted by its last caller
+        mockMvc.perform(delete("/v1/results/{resultUuid}", runUuid)).andExpect(status().isOk());
+        assertResultStatus(runUuid, DynamicSecurityAnalysisStatus.SUCCEED);
+        mockMvc.perform(delete("/v1/results/{resultUuid}", runUuid)).andExpect(status().isOk());
+        assertResultStatus(runUuid, null);
+    }
+
+    @Test
+    void testRunDeduplicationAttachToFailingRun() throws Exception {
+        CountDownLatch runLatch = new CountDownLatch(1);
+        CompletableFuture<SecurityAnalysisReport> runFuture = new CompletableFuture<>();
+        mockSendRunMessage(() -> {
+            runLatch.countDown();
+            return runFuture;
+        });
+
+        UUID runUuid = runOnVariant1("receiver1");
+        assertThat(runLatch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(runOnVariant1("receiver2")).isEqualTo(runUuid);
+
+        // the attached receiver is notified of the failure like the caller which launched the run
+        runFuture.completeExceptionally(new RuntimeException("Simulation crashed"));
+        verify(notificationService, timeout(1000 * 10)).publishFail(eq(runUuid), eq("receiver1"), any(), any(), eq(COMPUTATION_TYPE), any());
+        verify(notificationService, timeout(1000 * 10)).publishFail(eq(runUuid), eq("receiver2"), any(), any(), eq(COMPUTATION_TYPE), any());
+        verify(notificationService, never()).sendResultMessage(eq(runUuid), any(), any(), any());
+    }
+
+    @Test
+    void testRunBatch() throws Exception {
+
+        // mock DynamicSecurityAnalysisWorkerService
+        doReturn(CompletableFuture.completedFuture(new SecurityAnalysisReport(SecurityAnalysisResult.empty())))
+                .when(dynamicSecurityAnalysisWorkerService).getCompletableFuture(any(), any(), any());
+
+        List<BatchVariantInfos> variants = List.of(
+                new BatchVariantInfos(VariantManagerConstants.INITIAL_VARIANT_ID, DYNAMIC_SIMULATION_RESULT_UUID),
+                new BatchVariantInfos(VARIANT_1_ID, DYNAMIC_SIMULATION_RESULT_UUID));
+
+        MvcResult result = mockMvc.perform(
+                        post("/v1/networks/{networkUuid}/run-batch", NETWORK_UUID.toString())
+                        .param("parametersUuid", PARAMETERS_UUID.toString())
+                        .content(objectMapper.writeValueAsString(variants))
+                        .contentType(APPLICATION_JSON)
+                        .header(HEADER_USER_ID, "testUserId"))
+                .andExpect(status().isOk())
+                .andReturn();
+        BatchInfos batchInfos = objectMapper.readValue(result.getResponse().getContentAsString(), BatchInfos.class);
+        assertThat(batchInfos.getBatchUuid()).isNotNull();
+        assertThat(batchInfos.getResults()).extracting(BatchResultInfos::getVariantId)
+                .containsExactly(VariantManagerConstants.INITIAL_VARIANT_ID, VARIANT_1_ID);
+
+        // one result per variant
+        Set<String> notifiedResultUuids = new HashSet<>();
+        for (int i = 0; i < variants.size(); i++) {
+            Message<byte[]> messageSwitch = output.receive(1000 * 10, dsaResultDestination);
+            notifiedResultUuids.add((String) messageSwitch.getHeaders().get(HEADER_RESULT_UUID));
+        }
+        assertThat(notifiedResultUuids).containsExactlyInAnyOrderElementsOf(
+                batchInfos.getResults().stream().map(batchResult -> batchResult.getResultUuid().toString()).toList());
+
+        result = mockMvc.perform(
+                        get("/v1/batches/{batchUuid}/results", batchInfos.getBatchUuid()))
+                .andExpect(status().isOk()).andReturn();
+        List<BatchResultInfos> batchResults = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() { });
+        assertThat(batchResults).hasSize(2)
+                .allMatch(batchResult -> batchResult.getStatus() == DynamicSecurityAnalysisStatus.SUCCEED);
+
+        // shared inputs are fetched once for the whole batch, the contingencies being resolved per variant, by the hash
+        // of the run inputs then by the worker
+        verify(actionsClient, times(2)).getContingencyList(anyList(), eq(NETWORK_UUID), eq(VariantManagerConstants.INITIAL_VARIANT_ID));
+        verify(actionsClient, times(2)).getContingencyList(anyList(), eq(NETWORK_UUID), eq(VARIANT_1_ID));
+        verify(dynamicSimulationClient, times(1)).getOutputState(DYNAMIC_SIMULATION_RESULT_UUID);
+
+        // a batch without variant is rejected
+        mockMvc.perform(
+                        post("/v1/networks/{networkUuid}/run-batch", NETWORK_UUID.toString())
+                        .param("parametersUuid", PARAMETERS_UUID.toString())
+                        .content("[]")
+                        .contentType(APPLICATION_JSON)
+                        .header(HEADER_USER_ID, "testUserId"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testRunSweep() throws Exception {
+
+        // mock DynamicSecurityAnalysisWorkerService
+        ArgumentCaptor<DynamicSecurityAnalysisRunContext> runContextCaptor = ArgumentCaptor.forClass(DynamicSecurityAnalysisRunContext.class);
+        doReturn(CompletableFuture.completedFuture(new SecurityAnalysisReport(SecurityAnalysisResult.empty())))
+                .when(dynamicSecurityAnalysisWorkerService).getCompletableFuture(runContextCaptor.capture(), any(), any());
+
+        // sweep the scenario duration, keep the contingencies start time of the parameters
+        SweepInfos sweepInfos = SweepInfos.builder()
+                .scenarioDuration(new SweepRangeInfos(50.0, 60.0, 10.0))
+                .build();
+
+        MvcResult result = mockMvc.perform(
+                        post("/v1/networks/{networkUuid}/run-sweep", NETWORK_UUID.toString())
+                        .param(VARIANT_ID_HEADER, VARIANT_1_ID)
+                        .param("dynamicSimulationResultUuid", DYNAMIC_SIMULATION_RESULT_UUID.toString())
+                        .param("parametersUuid", PARAMETERS_UUID.toString())
+                        .content(objectMapper.writeValueAsString(sweepInfos))
+                        .contentType(APPLICATION_JSON)
+                        .header(HEADER_USER_ID, "testUserId"))
+                .andExpect(status().isOk())
+                .andReturn();
+        UUID sweepUuid = objectMapper.readValue(result.getResponse().getContentAsString(), UUID.class);
+
+        // a single job for the whole sweep
+        Message<byte[]> messageSwitch = output.receive(1000 * 10, dsaResultDestination);
+        assertThat(messageSwitch.getHeaders()).containsEntry(HEADER_RESULT_UUID, sweepUuid.toString());
+        assertResultStatus(sweepUuid, DynamicSecurityAnalysisStatus.SUCCEED);
+        verify(dynamicSimulationClient, times(1)).getOutputState(DYNAMIC_SIMULATION_RESULT_UUID);
+
+        // shared inputs prepared once, one parameters set per combination
+        Iterator<DynamicSecurityAnalysisParameters> combinationParameters = runContextCaptor.getValue()
+                .getSweepDynamicSecurityAnalysisParameters().values().iterator();
+        DynamicSecurityAnalysisParameters firstCombinationParameters = combinationParameters.next();
+        DynamicSecurityAnalysisParameters secondCombinationParameters = combinationParameters.next();
+        assertThat(secondCombinationParameters.getDynamicSimulationParameters().getStopTime() -
+                   firstCombinationParameters.getDynamicSimulationParameters().getStopTime()).isEqualTo(10.0);
+        assertThat(firstCombinationParameters.getDynamicContingenciesParameters().getContingenciesStartTime()).isEqualTo(5.0);
+
+        // results grouped under the sweep
+        result = mockMvc.perform(
+                        get("/v1/sweeps/{sweepUuid}/results", sweepUuid))
+                .andExpect(status().isOk()).andReturn();
+        List<SweepCombinationInfos> sweepResults = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() { });
+        assertThat(sweepResults).extracting(SweepCombinationInfos::getScenarioDuration).containsExactlyInAnyOrder(50.0, 60.0);
+        assertThat(sweepResults).allMatch(combination -> combination.getStatus() == DynamicSecurityAnalysisStatus.SUCCEED &&
+                                                         combination.getContingenciesStartTime() == 5.0);
+
+        // combinations are deleted with the sweep
+        mockMvc.perform(delete("/v1/results/{resultUuid}", sweepUuid))
+                .andExpect(status().isOk());
+        assertResultStatus(sweepResults.get(0).getResultUuid(), null);
+
+        // an invalid range is rejected
+        mockMvc.perform(
+                        post("/v1/networks/{networkUuid}/run-sweep", NETWORK_UUID.toString())
+                        .param("dynamicSimulationResultUuid", DYNAMIC_SIMULATION_RESULT_UUID.toString())
+                        .param("parametersUuid", PARAMETERS_UUID.toString())
+                        .content(objectMapper.writeValueAsString(SweepInfos.builder()
+                                .contingenciesStartTime(new SweepRangeInfos(1.0, 5.0, -1.0))
+                                .build()))
+                        .contentType(APPLICATION_JSON)
+                        .header(HEADER_USER_ID, "testUserId"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(
+                        post("/v1/networks/{networkUuid}/run-sweep", NETWORK_UUID.toString())
+                        .param("dynamicSimulationResultUuid", DYNAMIC_SIMULATION_RESULT_UUID.toString())
+                        .param("parametersUuid", PARAMETERS_UUID.toString())
+                        .content(objectMapper.writeValueAsString(SweepInfos.builder()
+                                .contingenciesStartTime(new SweepRangeInfos(5.0, 1.0, 1.0))
+                                .build()))
+                        .contentType(APPLICATION_JSON)
+                        .header(HEADER_USER_ID, "testUserId"))
+                .andExpect(status().isBadRequest());
+
+        // a huge range is rejected before its values are materialized, whatever its product with the other range
+        mockMvc.perform(
+                        post("/v1/networks/{networkUuid}/run-sweep", NETWORK_UUID.toString())
+                        .param("dynamicSimulationResultUuid", DYNAMIC_SIMULATION_RESULT_UUID.toString())
+                        .param("parametersUuid", PARAMETERS_UUID.toString())
+                        .content(objectMapper.writeValueAsString(SweepInfos.builder()
+                                .scenarioDuration(new SweepRangeInfos(0.0, 1e12, 1e-6))
+                                .contingenciesStartTime(new SweepRangeInfos(0.0, 1e12, 1e-6))
+                                .build()))
+                        .contentType(APPLICATION_JSON)
+                        .header(HEADER_USER_ID, "testUserId"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testIncrementalRun() throws Exception {
+
+        // second parameters with one more contingency list, same values but another ordering which does not change the results
+        UUID otherContingencyUuid = UUID.randomUUID();
+        DynamicSecurityAnalysisParametersInfos otherParams = parametersService.getDefaultParametersValues();
+        otherParams.setScenarioDuration(50.0);
+        otherParams.setContingenciesStartTime(5.0);
+        otherParams.setContingencyListIds(List.of(CONTINGENCY_UUID, otherContingencyUuid));
+        otherParams.setContingencyOrdering(ContingencyOrdering.SEVERITY);
+        UUID otherParametersUuid = UUID.randomUUID();
+        given(dynamicSecurityAnalysisParametersRepository.findById(otherParametersUuid))
+                .willReturn(Optional.of(new DynamicSecurityAnalysisParametersEntity(otherParams)));
+        when(actionsClient.getContingencyList(eq(List.of(CONTINGENCY_UUID, otherContingencyUuid)), eq(NETWORK_UUID), any()))
+                .thenReturn(List.of(new ContingencyInfos(Contingency.load("_LOAD__11_EC")), new ContingencyInfos(Contingency.load("_LOAD__10_EC"))));
+
+        // mock DynamicSecurityAnalysisWorkerService, first run has a violation on the simulated contingency
+        doReturn(CompletableFuture.completedFuture(new SecurityAnalysisReport(
+                new SecurityAnalysisResult(
+                    new PreContingencyResult(),
+                    List.of(new PostContingencyResult(
+                            Contingency.load("_LOAD__11_EC"),
+                            PostContingencyComputationStatus.CONVERGED,
+                            new LimitViolationsResult(List.of(
+                                new LimitViolation("subjectId01", LimitViolationType.HIGH_SHORT_CIRCUIT_CURRENT, 25.63, 4f, 33.54)
+                            )),
+                            NetworkResult.empty(), ConnectivityResult.empty(), 1.0)
+                    ),
+                    List.of()))),
+                CompletableFuture.completedFuture(new SecurityAnalysisReport(SecurityAnalysisResult.empty())))
+        .when(dynamicSecurityAnalysisWorkerService).getCompletableFuture(any(), any(), any());
+
+        // first run => full computation
+        UUID runUuid = runOnVariant1();
+        Message<byte[]> messageSwitch = output.receive(1000 * 10, dsaResultDestination);
+        assertThat(messageSwitch.getHeaders()).containsEntry(HEADER_RESULT_UUID, runUuid.toString());
+
+        MvcResult result = mockMvc.perform(
+                        get("/v1/results/{resultUuid}/contingency-results", runUuid))
+                .andExpect(status().isOk()).andReturn();
+        List<ContingencyResultInfos> contingencyResults = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() { });
+        assertThat(contingencyResults).hasSize(1);
+        assertThat(contingencyResults.get(0).getContingencyId()).isEqualTo("_LOAD__11_EC");
+        assertThat(contingencyResults.get(0).getStatus()).isEqualTo(ContingencyResultStatus.SUCCEED);
+        assertThat(contingencyResults.get(0).getLimitViolationCount()).isEqualTo(1);
+
+        // the added contingency timed out in the previous result, it is not a completed verdict
+        String timedOutFingerprint = parametersService.computeContingencyFingerprints(List.of(Contingency.load("_LOAD__10_EC")), otherParams).get("_LOAD__10_EC");
+        dynamicSecurityAnalysisResultService.addContingencyResult(runUuid, ContingencyResultInfos.builder()
+                .contingencyId("_LOAD__10_EC")
+                .status(ContingencyResultStatus.TIMEOUT)
+                .fingerprint(timedOutFingerprint)
+                .build());
+
+        // incremental re-run => only the added contingency is simulated
+        result = mockMvc.perform(
+                        post("/v1/networks/{networkUuid}/run", NETWORK_UUID.toString())
+                        .param(VARIANT_ID_HEADER, VARIANT_1_ID)
+                        .param("dynamicSimulationResultUuid", DYNAMIC_SIMULATION_RESULT_UUID.toString())
+                        .param("parametersUuid", otherParametersUuid.toString())
+                        .param("previousResultUuid", runUuid.toString())
+                        .contentType(APPLICATION_JSON)
+                        .header(HEADER_USER_ID, "testUserId"))
+                        .andExpect(status().isOk())
+                        .andReturn();
+        UUID incrementalRunUuid = objectMapper.readValue(result.getResponse().getContentAsString(), UUID.class);
+        messageSwitch = output.receive(1000 * 10, dsaResultDestination);
+        assertThat(messageSwitch.getHeaders()).containsEntry(HEADER_RESULT_UUID, incrementalRunUuid.toString());
+
+        ArgumentCaptor<DynamicSecurityAnalysisRunContext> runContextCaptor = ArgumentCaptor.forClass(DynamicSecurityAnalysisRunContext.class);
+        verify(dynamicSecurityAnalysisWorkerService, times(2)).getCompletableFuture(runContextCaptor.capture(), any(), any());
+        assertThat(runContextCaptor.getValue().getContingencies()).extracting(Contingency::getId).containsExactly("_LOAD__10_EC");
+
+        // carried over result is kept in the new result
+        result = mockMvc.perform(
+                        get("/v1/results/{resultUuid}/contingency-results", incrementalRunUuid))
+                .andExpect(status().isOk()).andReturn();
+        contingencyResults = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() { });
+        assertThat(contingencyResults).extracting(ContingencyResultInfos::getContingencyId).containsExactly("_LOAD__11_EC");
+        assertResultStatus(incrementalRunUuid, DynamicSecurityAnalysisStatus.SUCCEED);
+
+        // a previous result of another variant or network is rejected
+        mockMvc.perform(
+                        post("/v1/networks/{networkUuid}/run", NETWORK_UUID.toString())
+                        .param(VARIANT_ID_HEADER, VariantManagerConstants.INITIAL_VARIANT_ID)
+                        .param("dynamicSimulationResultUuid", DYNAMIC_SIMULATION_RESULT_UUID.toString())
+                        .param("parametersUuid", otherParametersUuid.toString())
+                        .param("previousResultUuid", runUuid.toString())
+                        .contentType(APPLICATION_JSON)
+                        .header(HEADER_USER_ID, "testUserId"))
+                        .andExpect(status().isBadRequest());
+        mockMvc.perform(
+                        post("/v1/networks/{networkUuid}/run", UUID.randomUUID().toString())
+                        .param(VARIANT_ID_HEADER, VARIANT_1_ID)
+                        .param("dynamicSimulationResultUuid", DYNAMIC_SIMULATION_RESULT_UUID.toString())
+                        .param("parametersUuid", otherParametersUuid.toString())
+                        .param("previousResultUuid", runUuid.toString())
+                        .contentType(APPLICATION_JSON)
+                        .header(HEADER_USER_ID, "testUserId"))
+                        .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testRunWithInvalidParallelism() throws Exception {
+        mockMvc.perform(
+                        post("/v1/networks/{networkUuid}/run", NETWORK_UUID.toString())
+                        .param(VARIANT_ID_HEADER, VARIANT_1_ID)
+                        .param("dynamicSimulationResultUuid", DYNAMIC_SIMULATION_RESULT_UUID.toString())
+                        .param("parametersUuid", PARAMETERS_UUID.toString())
+                        .param("parallelism", "-1")
+                        .contentType(APPLICATION_JSON)
+                        .header(HEADER_USER_ID, "testUserId"))
+                        .andExpect(status().isBadRequest());
+        verify(notificationService, never()).sendRunMessage(any());
+    }
+
+    @Test
+    void testResumeRun() throws Exception {
+        when(actionsClient.getContingencyList(anyList(), eq(NETWORK_UUID), any()))
+                .thenReturn(List.of(new ContingencyInfos(Contingency.load("_LOAD__11_EC")), new ContingencyInfos(Contingency.load("_LOAD__10_EC"))));
+
+        // a previous delivery of the run message has checkpointed one contingency before the worker crashed
+        doAnswer(invocation -> {
+            DynamicSecurityAnalysisRunContext runContext = invocation.getArgument(0);
+            dynamicSecurityAnalysisResultService.addContingencyResult(runContext.getResultUuid(), ContingencyResultInfos.builder()
+                    .contingencyId("_LOAD__11_EC")
+                    .status(ContingencyResultStatus.SUCCEED)
+                    .limitViolationCount(1)
+                    .build());
+            return invocation.callRealMethod();
+        }).when(dynamicSecurityAnalysisWorkerService).preRun(any());
+
+        doReturn(CompletableFuture.completedFuture(new SecurityAnalysisReport(
+                new SecurityAnalysisResult(
+                    new PreContingencyResult(),
+                    List.of(new PostContingencyResult(
+                            Contingency.load("_LOAD__10_EC"),
+                            PostContingencyComputationStatus.CONVERGED,
+                            new LimitViolationsResult(List.of()),
+                            NetworkResult.empty(), ConnectivityResult.empty(), 1.0)
+                    ),
+                    List.of()))))
+        .when(dynamicSecurityAnalysisWorkerService).getCompletableFuture(any(), any(), any());
+
+        UUID runUuid = runOnVariant1();
+        Message<byte[]> messageSwitch = output.receive(1000 * 10, dsaResultDestination);
+        assertThat(messageSwitch.getHeaders()).containsEntry(HEADER_RESULT_UUID, runUuid.toString());
+
+        // only the missing contingency is simulated
+        ArgumentCaptor<DynamicSecurityAnalysisRunContext> runContextCaptor = ArgumentCaptor.forClass(DynamicSecurityAnalysisRunContext.class);
+        verify(dynamicSecurityAnalysisWorkerService).getCompletableFuture(runContextCaptor.capture(), any(), any());
+        assertThat(runContextCaptor.getValue().getContingencies()).extracting(Contingency::getId).containsExactly("_LOAD__10_EC");
+
+        // the checkpointed result is kept once in the final result
+        MvcResult result = mockMvc.perform(
+                        get("/v1/results/{resultUuid}/contingency-results", runUuid))
+                .andExpect(status().isOk()).andReturn();
+        List<ContingencyResultInfos> contingencyResults = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() { });
+        assertThat(contingencyResults).extracting(ContingencyResultInfos::getContingencyId).containsExactlyInAnyOrder("_LOAD__11_EC", "_LOAD__10_EC");
+        assertThat(contingencyResults).filteredOn(contingencyResult -> contingencyResult.getContingencyId().equals("_LOAD__11_EC"))
+                .extracting(ContingencyResultInfos::getLimitViolationCount).containsExactly(1);
+        assertResultStatus(runUuid, DynamicSecurityAnalysisStatus.SUCCEED);
+    }
+
+    private UUID runOnVariant1() throws Exception {
+        return runOnVariant1(null);
+    }
+
+    private UUID runOnVariant1(String receiver) throws Exception {
+        MockHttpServletRequestBuilder request = post("/v1/networks/{networkUuid}/run", NETWORK_UUID.toString());
+        if (receiver != null) {
+            request.param(HEADER_RECEIVER, receiver);
+        }
+        MvcResult result = mockMvc.perform(
+                        request
+                        .param(VARIANT_ID_HEADER, VARIANT_1_ID)
+                        .param("dynamicSimulationResultUuid", DYNAMIC_SIMULATION_RESULT_UUID.toString())
+                        .param("parametersUuid", PARAMETERS_UUID.toString())
+                        .contentType(APPLICATION_JSON)
+                        .header(HEADER_USER_ID, "testUserId"))
+                        .andExpect(status().isOk())
+                        .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), UUID.class);
+    }
+
     @Test
     void testRunWithSynchronousExceptions() throws Exception {
 
@@ -354,21 +853,270 @@ public class DynamicSecurityAnalysisControllerTest extends AbstractDynamicSecuri
         assertThat(messageSwitch.getHeaders()).containsEntry(HEADER_RESULT_UUID, runUuid.toString());
     }
 
+    @Test
+    void testRunTwoStages() throws Exception {
+
+        // parameters with the two-stage mode
+        DynamicSecurityAnalysisParametersInfos twoStageParams = parametersService.getDefaultParametersValues();
+        twoStageParams.setScenarioDuration(50.0);
+        twoStageParams.setContingenciesStartTime(5.0);
+        twoStageParams.setContingencyListIds(List.of(CONTINGENCY_UUID));
+        twoStageParams.setTwoStageEnabled(true);
+        twoStageParams.setCoarseScenarioDuration(10.0);
+        twoStageParams.setCoarsePrecision(1e-4);
+        UUID twoStageParametersUuid = UUID.randomUUID();
+        given(dynamicSecurityAnalysisParametersRepository.findById(twoStageParametersUuid))
+                .willReturn(Optional.of(new DynamicSecurityAnalysisParametersEntity(twoStageParams)));
+
+        // coarse stage flags the contingency with a violation, refined stage clears it
+        Iterator<SecurityAnalysisReport> stageReports = List.of(
+                new SecurityAnalysisReport(new SecurityAnalysisResult(
+                        new PreContingencyResult(),
+                        List.of(new PostContingencyResult(
+                                Contingency.load("_LOAD__11_EC"),
+                                PostContingencyComputationStatus.CONVERGED,
+                                new LimitViolationsResult(List.of(
+                                        new LimitViolation("subjectId01", LimitViolationType.HIGH_VOLTAGE, 25.63, 4f, 33.54)
+                                )),
+                                NetworkResult.empty(), ConnectivityResult.empty(), 1.0)),
+                        List.of())),
+                new SecurityAnalysisReport(new SecurityAnalysisResult(
+                        new PreContingencyResult(),
+                        List.of(new PostContingencyResult(
+                                Contingency.load("_LOAD__11_EC"),
+                                PostContingencyComputationStatus.CONVERGED,
+                                new LimitViolationsResult(List.of()),
+                                NetworkResult.empty(), ConnectivityResult.empty(), 1.0)),
+                        List.of()))
+        ).iterator();
+        mockSendRunMessage(() -> CompletableFuture.completedFuture(stageReports.next()));
+
+        MvcResult result = mockMvc.perform(
+                        post("/v1/networks/{networkUuid}/run", NETWORK_UUID.toString())
+                        .param(VARIANT_ID_HEADER, VARIANT_1_ID)
+                        .param("dynamicSimulationResultUuid", DYNAMIC_SIMULATION_RESULT_UUID.toString())
+                        .param("parametersUuid", twoStageParametersUuid.toString())
+                        .contentType(APPLICATION_JSON)
+                        .header(HEADER_USER_ID, "testUserId"))
+                        .andExpect(status().isOk())
+                        .andReturn();
+        UUID runUuid = objectMapper.readValue(result.getResponse().getContentAsString(), UUID.class);
+
+        Message<byte[]> messageSwitch = output.receive(1000 * 10, dsaResultDestination);
+        assertThat(messageSwitch.getHeaders()).containsEntry(HEADER_RESULT_UUID, runUuid.toString());
+        assertThat(stageReports.hasNext()).isFalse();
+
+        // verdict comes from the refined stage
+        result = mockMvc.perform(
+                        get("/v1/results/{resultUuid}/contingency-results", runUuid))
+                .andExpect(status().isOk()).andReturn();
+        List<ContingencyResultInfos> contingencyResults = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() { });
+        assertThat(contingencyResults).hasSize(1);
+        assertThat(contingencyResults.get(0).getStage()).isEqualTo(ContingencyResultStage.REFINED);
+        assertThat(contingencyResults.get(0).getLimitViolationCount()).isZero();
+    }
+
+    @Test
+    void testRunByChunksReportNodes() throws Exception {
+        when(actionsClient.getContingencyList(anyList(), eq(NETWORK_UUID), any()))
+                .thenReturn(List.of(new ContingencyInfos(Contingency.load("_LOAD__11_EC")), new ContingencyInfos(Contingency.load("_LOAD__10_EC"))));
+
+        // parameters with a contingency timeout, the contingencies being simulated by chunks
+        DynamicSecurityAnalysisParametersInfos chunkParams = parametersService.getDefaultParametersValues();
+        chunkParams.setScenarioDuration(50.0);
+        chunkParams.setContingenciesStartTime(5.0);
+        chunkParams.setContingencyListIds(List.of(CONTINGENCY_UUID));
+        chunkParams.setContingencyTimeout(60.0);
+        chunkParams.setParallelism(2);
+        UUID chunkParametersUuid = UUID.randomUUID();
+        given(dynamicSecurityAnalysisParametersRepository.findById(chunkParametersUuid))
+                .willReturn(Optional.of(new DynamicSecurityAnalysisParametersEntity(chunkParams)));
+
+        doAnswer(invocation -> null).when(reportService).deleteReport(any());
+        doAnswer(invocation -> null).when(reportService).sendReport(any(), any());
+        List<ReportNode> chunkReportNodes = new CopyOnWriteArrayList<>();
+        mockSendRunMessage(invocation -> {
+            chunkReportNodes.add(invocation.<DynamicSecurityAnalysisRunParameters>getArgument(4).getReportNode());
+            return CompletableFuture.completedFuture(new SecurityAnalysisReport(SecurityAnalysisResult.empty()));
+        }, invocation -> {
+            throw new AssertionError("No warm start expected");
+        });
+
+        MvcResult result = mockMvc.perform(
+                        post("/v1/networks/{networkUuid}/run", NETWORK_UUID.toString())
+                        .param(VARIANT_ID_HEADER, VARIANT_1_ID)
+                        .param("dynamicSimulationResultUuid", DYNAMIC_SIMULATION_RESULT_UUID.toString())
+                        .param("parametersUuid", chunkParametersUuid.toString())
+                        .param("reportUuid", UUID.randomUUID().toString())
+                        .param(REPORTER_ID_HEADER, "dsa")
+                        .contentType(APPLICATION_JSON)
+                        .header(HEADER_USER_ID, "testUserId"))
+                        .andExpect(status().isOk())
+                        .andReturn();
+        UUID runUuid = objectMapper.readValue(result.getResponse().getContentAsString(), UUID.class);
+
+        Message<byte[]> messageSwitch = output.receive(1000 * 10, dsaResultDestination);
+        assertThat(messageSwitch.getHeaders()).containsEntry(HEADER_RESULT_UUID, runUuid.toString());
+
+        // each chunk reports to its own child of the report node of the run
+        assertThat(chunkReportNodes).isNotEmpty()
+                .doesNotHaveDuplicates()
+                .allMatch(reportNode -> "dynamicsecurityanalysis.server.contingencyChunk".equals(reportNode.getMessageKey()));
+    }
+
+    @Test
+    void testRunWithWarmStart() throws Exception {
+
+        // parameters with the warm start, the contingencies starting 10 s after the end of the dynamic simulation
+        DynamicSecurityAnalysisParametersInfos warmStartParams = parametersService.getDefaultParametersValues();
+        warmStartParams.setScenarioDuration(50.0);
+        warmStartParams.setContingenciesStartTime(60.0);
+        warmStartParams.setContingencyListIds(List.of(CONTINGENCY_UUID));
+        warmStartParams.setWarmStartEnabled(true);
+        UUID warmStartParametersUuid = UUID.randomUUID();
+        given(dynamicSecurityAnalysisParametersRepository.findById(warmStartParametersUuid))
+                .willReturn(Optional.of(new DynamicSecurityAnalysisParametersEntity(warmStartParams)));
+
+        long warmStartupCount = getContingencyStartupCount("warm");
+
+        // the warm start simulation exports its final state into the dump folder
+        List<DynamicSimulationParameters> warmStartParameters = new ArrayList<>();
+        List<DynamicSecurityAnalysisParameters> contingencyParameters = new ArrayList<>();
+        mockSendRunMessage(invocation -> {
+            contingencyParameters.add(invocation.<DynamicSecurityAnalysisRunParameters>getArgument(4).getDynamicSecurityAnalysisParameters());
+            return CompletableFuture.completedFuture(new SecurityAnalysisReport(new SecurityAnalysisResult(
+                    new PreContingencyResult(),
+                    List.of(new PostContingencyResult(
+                            Contingency.load("_LOAD__11_EC"),
+                            PostContingencyComputationStatus.CONVERGED,
+                            new LimitViolationsResult(List.of()),
+                            NetworkResult.empty(), ConnectivityResult.empty(), 1.0)),
+                    List.of())));
+        }, invocation -> {
+            DynamicSimulationParameters parameters = invocation.<DynamicSimulationRunParameters>getArgument(3).getDynamicSimulationParameters();
+            warmStartParameters.add(parameters);
+            Path dumpFileFolder = parameters.getExtension(DynawoSimulationParameters.class).getDumpFileParameters().dumpFileFolder();
+            Files.writeString(dumpFileFolder.resolve("outputState.dmp"), "warm state");
+            DynamicSimulationResult warmStartResult = mock(DynamicSimulationResult.class);
+            when(warmStartResult.getStatus()).thenReturn(DynamicSimulationResult.Status.SUCCESS);
+            return CompletableFuture.completedFuture(warmStartResult);
+        });
+
+        MvcResult result = mockMvc.perform(
+                        post("/v1/networks/{networkUuid}/run", NETWORK_UUID.toString())
+                        .param(VARIANT_ID_HEADER, VARIANT_1_ID)
+                        .param("dynamicSimulationResultUuid", DYNAMIC_SIMULATION_RESULT_UUID.toString())
+                        .param("parametersUuid", warmStartParametersUuid.toString())
+                        .contentType(APPLICATION_JSON)
+                        .header(HEADER_USER_ID, "testUserId"))
+                        .andExpect(status().isOk())
+                        .andReturn();
+        UUID runUuid = objectMapper.readValue(result.getResponse().getContentAsString(), UUID.class);
+
+        Message<byte[]> messageSwitch = output.receive(1000 * 10, dsaResultDestination);
+        assertThat(messageSwitch.getHeaders()).containsEntry(HEADER_RESULT_UUID, runUuid.toString());
+        assertResultStatus(runUuid, DynamicSecurityAnalysisStatus.SUCCEED);
+
+        // the startup time of the contingency is timed on the warm path
+        assertThat(getContingencyStartupCount("warm")).isEqualTo(warmStartupCount + 1);
+
+        // the pre-contingency interval is simulated once from the dynamic simulation result
+        assertThat(warmStartParameters).hasSize(1);
+        assertThat(warmStartParameters.get(0).getStartTime()).isEqualTo(50.0);
+        assertThat(warmStartParameters.get(0).getStopTime()).isEqualTo(60.0);
+
+        // then the contingencies start from its final state
+        assertThat(contingencyParameters).hasSize(1);
+        DynamicSimulationParameters dynamicSimulationParameters = contingencyParameters.get(0).getDynamicSimulationParameters();
+        assertThat(dynamicSimulationParameters.getStartTime()).isEqualTo(60.0);
+        assertThat(dynamicSimulationParameters.getStopTime()).isEqualTo(100.0);
+        assertThat(dynamicSimulationParameters.getExtension(DynawoSimulationParameters.class).getDumpFileParameters().dumpFile())
+                .isEqualTo("outputState.dmp");
+    }
+
+    @Test
+    void testRunWithWarmStartTimeout() throws Exception {
+
+        // parameters with the warm start and a contingency timeout
+        DynamicSecurityAnalysisParametersInfos warmStartParams = parametersService.getDefaultParametersValues();
+        warmStartParams.setScenarioDuration(50.0);
+        warmStartParams.setContingenciesStartTime(60.0);
+        warmStartParams.setContingencyListIds(List.of(CONTINGENCY_UUID));
+        warmStartParams.setWarmStartEnabled(true);
+        warmStartParams.setContingencyTimeout(1.0);
+        UUID warmStartParametersUuid = UUID.randomUUID();
+        given(dynamicSecurityAnalysisParametersRepository.findById(warmStartParametersUuid))
+                .willReturn(Optional.of(new DynamicSecurityAnalysisParametersEntity(warmStartParams)));
+        long coldStartupCount = getContingencyStartupCount("cold");
+
+        // the warm start simulation never ends
+        CompletableFuture<DynamicSimulationResult> warmStartFuture = new CompletableFuture<>();
+        List<DynamicSecurityAnalysisParameters> contingencyParameters = new ArrayList<>();
+        mockSendRunMessage(invocation -> {
+            contingencyParameters.add(invocation.<DynamicSecurityAnalysisRunParameters>getArgument(4).getDynamicSecurityAnalysisParameters());
+            return CompletableFuture.completedFuture(new SecurityAnalysisReport(new SecurityAnalysisResult(
+                    new PreContingencyResult(),
+                    List.of(new PostContingencyResult(
+                            Contingency.load("_LOAD__11_EC"),
+                            PostContingencyComputationStatus.CONVERGED,
+                            new LimitViolationsResult(List.of()),
+                            NetworkResult.empty(), ConnectivityResult.empty(), 1.0)),
+                    List.of())));
+        }, invocation -> warmStartFuture);
+
+        MvcResult result = mockMvc.perform(
+                        post("/v1/networks/{networkUuid}/run", NETWORK_UUID.toString())
+                        .param(VARIANT_ID_HEADER, VARIANT_1_ID)
+                        .param("dynamicSimulationResultUuid", DYNAMIC_SIMULATION_RESULT_UUID.toString())
+                        .param("parametersUuid", warmStartParametersUuid.toString())
+                        .contentType(APPLICATION_JSON)
+                        .header(HEADER_USER_ID, "testUserId"))
+                        .andExpect(status().isOk())
+                        .andReturn();
+        UUID runUuid = objectMapper.readValue(result.getResponse().getContentAsString(), UUID.class);
+
+        Message<byte[]> messageSwitch = output.receive(1000 * 10, dsaResultDestination);
+        assertThat(messageSwitch.getHeaders()).containsEntry(HEADER_RESULT_UUID, runUuid.toString());
+        assertResultStatus(runUuid, DynamicSecurityAnalysisStatus.SUCCEED);
+
+        // the warm start is killed after the timeout, then the contingencies start from the dynamic simulation result
+        assertThat(warmStartFuture).isCancelled();
+        assertThat(contingencyParameters).hasSize(1);
+        assertThat(contingencyParameters.get(0).getDynamicSimulationParameters().getStartTime()).isEqualTo(50.0);
+        assertThat(getContingencyStartupCount("cold")).isEqualTo(coldStartupCount + 1);
+    }
+
+    private long getContingencyStartupCount(String start) {
+        Timer timer = meterRegistry.find("app.computation.contingency.startup").tag("start", start).timer();
+        return timer != null ? timer.count() : 0;
+    }
+
     // --- BEGIN Test cancelling a running computation ---//
     private void mockSendRunMessage(Supplier<CompletableFuture<?>> runAsyncMock) {
+        mockSendRunMessage(invocation -> runAsyncMock.get(), invocation -> {
+            throw new AssertionError("No warm start expected");
+        });
+    }
+
+    private void mockSendRunMessage(Answer<CompletableFuture<?>> runAsyncMock, Answer<CompletableFuture<?>> warmStartMock) {
         // In test environment, the test binder calls consumers directly in the caller thread, i.e. the controller thread.
         // By consequence, a real asynchronous Producer/Consumer can not be simulated like prod
         // So mocking producer in a separated thread differing from the controller thread
         doAnswer(invocation -> CompletableFuture.runAsync(() -> {
             // static mock must be in the same thread of the consumer
             // see : https://stackoverflow.com/questions/76406935/mock-static-method-in-spring-boot-integration-test
-            try (MockedStatic<DynamicSecurityAnalysis> dynamicSecurityAnalysisMockedStatic = mockStatic(DynamicSecurityAnalysis.class)) {
+            try (MockedStatic<DynamicSecurityAnalysis> dynamicSecurityAnalysisMockedStatic = mockStatic(DynamicSecurityAnalysis.class);
+                 MockedStatic<DynamicSimulation> dynamicSimulationMockedStatic = mockStatic(DynamicSimulation.class)) {
                 DynamicSecurityAnalysis.Runner runner = mock(DynamicSecurityAnalysis.Runner.class);
                 dynamicSecurityAnalysisMockedStatic.when(() -> DynamicSecurityAnalysis.find(any())).thenReturn(runner);
+                DynamicSimulation.Runner warmStartRunner = mock(DynamicSimulation.Runner.class);
+                dynamicSimulationMockedStatic.when(() -> DynamicSimulation.find(any())).thenReturn(warmStartRunner);
 
                 // mock the computation
-                doAnswer(invocation2 -> runAsyncMock.get())
+                doAnswer(runAsyncMock)
                         .when(runner).runAsync(any(), any(), any(), any(), any());
+                doAnswer(warmStartMock)
+                        .when(warmStartRunner).runAsync(any(), any(), any(), any());
 
                 // call real method sendRunMessage
                 try {
@@ -472,6 +1220,100 @@ public class DynamicSecurityAnalysisControllerTest extends AbstractDynamicSecuri
         assertResultStatus(runUuid, DynamicSecurityAnalysisStatus.RUNNING);
     }
 
+    @Test
+    void testStopWhileWaitingForSlot() throws Exception {
+        mockSendRunMessage(() -> {
+            throw new AssertionError("No simulation expected");
+        });
+
+        // all the simulation slots are busy
+        int slotCount = simulationSlots.getAvailableSlotCount();
+        for (int i = 0; i < slotCount; i++) {
+            simulationSlots.acquire();
+        }
+        try {
+            // the prepared run waits for a slot
+            UUID runUuid = runOnVariant1();
+            verify(dynamicSecurityAnalysisWorkerService, timeout(1000 * 10)).getCompletableFuture(any(), any(), eq(runUuid));
+            await().pollDelay(300, TimeUnit.MILLISECONDS).until(() -> true);
+
+            // then is stopped without waiting for a slot
+            mockMvc.perform(put("/" + VERSION + "/results/{resultUuid}/stop", runUuid))
+                    .andExpect(status().isOk());
+            Message<byte[]> message = output.receive(1000 * 10, dsaStoppedDestination);
+            assertThat(message.getHeaders())
+                    .containsEntry(HEADER_RESULT_UUID, runUuid.toString())
+                    .containsEntry(HEADER_MESSAGE, getCancelMessage(COMPUTATION_TYPE));
+            assertResultStatus(runUuid, null);
+            assertThat(simulationSlots.getAvailableSlotCount()).isZero();
+        } finally {
+            for (int i = 0; i < slotCount; i++) {
+                simulationSlots.release();
+            }
+        }
+    }
+
+    @Test
+    void testStopSimulatingRunWhileAnotherWaitsForSlot() throws Exception {
+        // the first run simulates until stopped, the next one ends at once
+        CountDownLatch simulationStarted = new CountDownLatch(1);
+        AtomicInteger simulationCount = new AtomicInteger();
+        mockSendRunMessage(() -> {
+            if (simulationCount.getAndIncrement() == 0) {
+                simulationStarted.countDown();
+                return new CompletableFuture<>();
+            }
+            return CompletableFuture.completedFuture(new SecurityAnalysisReport(SecurityAnalysisResult.empty()));
+        });
+
+        // a single simulation slot left
+        int busySlotCount = simulationSlots.getAvailableSlotCount() - 1;
+        for (int i = 0; i < busySlotCount; i++) {
+            simulationSlots.acquire();
+        }
+        try {
+            UUID simulatingRunUuid = runOnVariant1();
+            assertThat(simulationStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+            // the next run, with other parameters so that it is not attached to the first one, waits for the slot of the simulating run
+            DynamicSecurityAnalysisParametersInfos otherParams = parametersService.getDefaultParametersValues();
+            otherParams.setScenarioDuration(60.0);
+            otherParams.setContingenciesStartTime(5.0);
+            otherParams.setContingencyListIds(List.of(CONTINGENCY_UUID));
+            UUID otherParametersUuid = UUID.randomUUID();
+            given(dynamicSecurityAnalysisParametersRepository.findById(otherParametersUuid))
+                    .willReturn(Optional.of(new DynamicSecurityAnalysisParametersEntity(otherParams)));
+            MvcResult result = mockMvc.perform(
+                            post("/v1/networks/{networkUuid}/run", NETWORK_UUID.toString())
+                            .param(VARIANT_ID_HEADER, VARIANT_1_ID)
+                            .param("dynamicSimulationResultUuid", DYNAMIC_SIMULATION_RESULT_UUID.toString())
+                            .param("parametersUuid", otherParametersUuid.toString())
+                            .contentType(APPLICATION_JSON)
+                            .header(HEADER_USER_ID, "testUserId"))
+                            .andExpect(status().isOk())
+                            .andReturn();
+            UUID waitingRunUuid = objectMapper.readValue(result.getResponse().getContentAsString(), UUID.class);
+            verify(dynamicSecurityAnalysisWorkerService, timeout(1000 * 10)).getCompletableFuture(any(), any(), eq(waitingRunUuid));
+
+            // the simulating run is stopped, not blocked by the waiting one
+            mockMvc.perform(put("/" + VERSION + "/results/{resultUuid}/stop", simulatingRunUuid))
+                    .andExpect(status().isOk());
+            Message<byte[]> message = output.receive(1000 * 10, dsaStoppedDestination);
+            assertThat(message.getHeaders())
+                    .containsEntry(HEADER_RESULT_UUID, simulatingRunUuid.toString())
+                    .containsEntry(HEADER_MESSAGE, getCancelMessage(COMPUTATION_TYPE));
+
+            // then the waiting run takes the freed slot
+            message = output.receive(1000 * 10, dsaResultDestination);
+            assertThat(message.getHeaders()).containsEntry(HEADER_RESULT_UUID, waitingRunUuid.toString());
+            assertResultStatus(waitingRunUuid, DynamicSecurityAnalysisStatus.SUCCEED);
+        } finally {
+            for (int i = 0; i < busySlotCount; i++) {
+                simulationSlots.release();
+            }
+        }
+    }
+
     @Test
     void testStopLately() throws Exception {
         CountDownLatch cancelLatch = new CountDownLatch(1);
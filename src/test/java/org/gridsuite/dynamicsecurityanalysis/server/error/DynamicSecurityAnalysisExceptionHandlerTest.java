@@ -9,14 +9,21 @@ package org.gridsuite.dynamicsecurityanalysis.server.error;
 import com.powsybl.ws.commons.error.PowsyblWsProblemDetail;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockHttpServletRequest;
 
+import java.time.Duration;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.gridsuite.dynamicsecurityanalysis.server.error.DynamicSecurityAnalysisBusinessErrorCode.BATCH_VARIANTS_EMPTY;
 import static org.gridsuite.dynamicsecurityanalysis.server.error.DynamicSecurityAnalysisBusinessErrorCode.CONTINGENCIES_NOT_FOUND;
 import static org.gridsuite.dynamicsecurityanalysis.server.error.DynamicSecurityAnalysisBusinessErrorCode.CONTINGENCY_LIST_EMPTY;
+import static org.gridsuite.dynamicsecurityanalysis.server.error.DynamicSecurityAnalysisBusinessErrorCode.PARALLELISM_INVALID;
+import static org.gridsuite.dynamicsecurityanalysis.server.error.DynamicSecurityAnalysisBusinessErrorCode.PREVIOUS_RESULT_INVALID;
 import static org.gridsuite.dynamicsecurityanalysis.server.error.DynamicSecurityAnalysisBusinessErrorCode.PROVIDER_NOT_FOUND;
+import static org.gridsuite.dynamicsecurityanalysis.server.error.DynamicSecurityAnalysisBusinessErrorCode.RUN_QUEUE_FULL;
 
 /**
  * @author Hugo Marcellin <hugo.marcelin at rte-france.com>
@@ -84,5 +91,74 @@ class DynamicSecurityAnalysisExceptionHandlerTest {
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody().getDetail()).isEqualTo("Contingency list is empty");
     }
-}
 
+    @Test
+    void testHandleBatchVariantsEmpty() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRequestURI("/api/v1/networks/run-batch");
+
+        DynamicSecurityAnalysisException exception = new DynamicSecurityAnalysisException(
+                BATCH_VARIANTS_EMPTY,
+                "No variants in batch"
+        );
+
+        ResponseEntity<PowsyblWsProblemDetail> response =
+                exceptionHandler.handleDynamicSecurityAnalysisException(exception, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getDetail()).isEqualTo("No variants in batch");
+    }
+
+    @Test
+    void testHandleParallelismInvalid() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRequestURI("/api/v1/networks/run");
+
+        DynamicSecurityAnalysisException exception = new DynamicSecurityAnalysisException(
+                PARALLELISM_INVALID,
+                "Parallelism must be positive or 0 for auto: -1"
+        );
+
+        ResponseEntity<PowsyblWsProblemDetail> response =
+                exceptionHandler.handleDynamicSecurityAnalysisException(exception, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getBusinessErrorCode()).isEqualTo(PARALLELISM_INVALID.value());
+    }
+
+    @Test
+    void testHandlePreviousResultInvalid() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRequestURI("/api/v1/networks/run");
+
+        DynamicSecurityAnalysisException exception = new DynamicSecurityAnalysisException(
+                PREVIOUS_RESULT_INVALID,
+                "Previous result not found"
+        );
+
+        ResponseEntity<PowsyblWsProblemDetail> response =
+                exceptionHandler.handleDynamicSecurityAnalysisException(exception, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getBusinessErrorCode()).isEqualTo(PREVIOUS_RESULT_INVALID.value());
+    }
+
+    @Test
+    void testHandleRunQueueFull() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRequestURI("/api/v1/networks/run");
+
+        DynamicSecurityAnalysisException exception = new RunQueueFullException("Too many runs in the queue", Duration.ofMinutes(10));
+
+        ResponseEntity<PowsyblWsProblemDetail> response =
+                exceptionHandler.handleDynamicSecurityAnalysisException(exception, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("600");
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getBusinessErrorCode()).isEqualTo(RUN_QUEUE_FULL.value());
+    }
+}
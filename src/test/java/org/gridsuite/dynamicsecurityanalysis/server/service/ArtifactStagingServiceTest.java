@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package org.gridsuite.dynamicsecurityanalysis.server.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+class ArtifactStagingServiceTest {
+
+    // in-memory stand-in of the bucket
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+
+    private S3Client s3Client;
+
+    private ObjectProvider<S3Client> s3ClientProvider;
+
+    @BeforeEach
+    void setUp() {
+        s3Client = mock(S3Client.class);
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenAnswer(invocation -> {
+            byte[] object = objects.get(invocation.<HeadObjectRequest>getArgument(0).key());
+            if (object == null) {
+                throw NoSuchKeyException.builder().build();
+            }
+            return HeadObjectResponse.builder().contentLength((long) object.length).build();
+        });
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class))).thenAnswer(invocation -> {
+            try (InputStream is = invocation.<RequestBody>getArgument(1).contentStreamProvider().newStream()) {
+                objects.put(invocation.<PutObjectRequest>getArgument(0).key(), is.readAllBytes());
+            }
+            return PutObjectResponse.builder().build();
+        });
+        when(s3Client.getObjectAsBytes(any(GetObjectRequest.class))).thenAnswer(invocation -> {
+            GetObjectRequest request = invocation.getArgument(0);
+            byte[] object = objects.get(request.key());
+            if (request.range() != null) {
+                String[] bounds = request.range().substring("bytes=".length()).split("-");
+                object = Arrays.copyOfRange(object, Integer.parseInt(bounds[0]), Integer.parseInt(bounds[1]) + 1);
+            }
+            return ResponseBytes.fromByteArray(GetObjectResponse.builder().build(), object);
+        });
+
+        s3ClientProvider = mock(ObjectProvider.class);
+        when(s3ClientProvider.getIfAvailable()).thenReturn(s3Client);
+    }
+
+    @Test
+    void testStagedOnceThenReadWithRangedGets() {
+        ArtifactStagingService artifactStagingService = new ArtifactStagingService(s3ClientProvider, "ws-bucket", true, DataSize.ofBytes(1000));
+        byte[] artifact = new byte[3500];
+        new Random(0).nextBytes(artifact);
+        AtomicInteger loadCount = new AtomicInteger();
+        Supplier<byte[]> loader = () -> {
+            loadCount.incrementAndGet();
+            return artifact;
+        };
+        UUID dynamicSimulationResultUuid = UUID.randomUUID();
+
+        // first request, loaded from the source then staged
+        assertThat(artifactStagingService.get(dynamicSimulationResultUuid, "output-state", loader)).isEqualTo(artifact);
+        assertThat(objects).containsOnlyKeys("dsa-staging/" + dynamicSimulationResultUuid + "/output-state");
+
+        // following requests, read from S3 by 4 ranged GETs
+        assertThat(artifactStagingService.get(dynamicSimulationResultUuid, "output-state", loader)).isEqualTo(artifact);
+        assertThat(loadCount.get()).isEqualTo(1);
+        verify(s3Client, times(1)).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+        verify(s3Client, times(4)).getObjectAsBytes(any(GetObjectRequest.class));
+
+        // a small artifact is read by a single GET
+        artifactStagingService.get(dynamicSimulationResultUuid, "parameters", () -> new byte[10]);
+        assertThat(artifactStagingService.get(dynamicSimulationResultUuid, "parameters", loader)).hasSize(10);
+        verify(s3Client, times(5)).getObjectAsBytes(any(GetObjectRequest.class));
+    }
+
+    @Test
+    void testReadErrorFallsBackToLoader() {
+        ArtifactStagingService artifactStagingService = new ArtifactStagingService(s3ClientProvider, "ws-bucket", true, DataSize.ofBytes(1000));
+        UUID dynamicSimulationResultUuid = UUID.randomUUID();
+        byte[] artifact = new byte[3500];
+        new Random(0).nextBytes(artifact);
+        artifactStagingService.get(dynamicSimulationResultUuid, "output-state", () -> artifact);
+
+        // a failing ranged GET
+        doThrow(S3Exception.builder().message("Slow down").statusCode(503).build()).when(s3Client).getObjectAsBytes(any(GetObjectRequest.class));
+        assertThat(artifactStagingService.get(dynamicSimulationResultUuid, "output-state", () -> artifact)).isEqualTo(artifact);
+
+        // a failing HEAD
+        doThrow(SdkClientException.create("Connection refused")).when(s3Client).headObject(any(HeadObjectRequest.class));
+        assertThat(artifactStagingService.get(dynamicSimulationResultUuid, "output-state", () -> artifact)).isEqualTo(artifact);
+    }
+
+    @Test
+    void testTooLargeArtifactRejected() {
+        ArtifactStagingService artifactStagingService = new ArtifactStagingService(s3ClientProvider, "ws-bucket", true, DataSize.ofMegabytes(8));
+        doReturn(HeadObjectResponse.builder().contentLength(3L * 1024 * 1024 * 1024).build()).when(s3Client).headObject(any(HeadObjectRequest.class));
+
+        UUID dynamicSimulationResultUuid = UUID.randomUUID();
+        assertThatThrownBy(() -> artifactStagingService.get(dynamicSimulationResultUuid, "output-state", () -> new byte[10]))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("exceeds the maximum artifact size");
+        verify(s3Client, never()).getObjectAsBytes(any(GetObjectRequest.class));
+    }
+
+    @Test
+    void testDisabled() {
+        ArtifactStagingService artifactStagingService = new ArtifactStagingService(s3ClientProvider, "ws-bucket", false, DataSize.ofMegabytes(8));
+
+        byte[] artifact = artifactStagingService.get(UUID.randomUUID(), "output-state", () -> new byte[10]);
+
+        assertThat(artifact).hasSize(10);
+        verifyNoInteractions(s3Client);
+    }
+}
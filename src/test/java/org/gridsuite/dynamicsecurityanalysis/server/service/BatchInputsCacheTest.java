@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package org.gridsuite.dynamicsecurityanalysis.server.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+class BatchInputsCacheTest {
+
+    @Test
+    void testBoundedByWeight() {
+        BatchInputsCache batchInputsCache = new BatchInputsCache(3000);
+        UUID batchUuid = UUID.randomUUID();
+        AtomicInteger loadCount = new AtomicInteger();
+
+        // cached once
+        batchInputsCache.get(batchUuid, "output-state", () -> {
+            loadCount.incrementAndGet();
+            return new byte[1500];
+        });
+        batchInputsCache.get(batchUuid, "output-state", () -> {
+            loadCount.incrementAndGet();
+            return new byte[1500];
+        });
+        assertThat(loadCount.get()).isEqualTo(1);
+        assertThat(batchInputsCache.getWeight()).isEqualTo(1500);
+
+        // a list weighs its elements
+        batchInputsCache.get(batchUuid, "contingencies", () -> List.of("contingency"));
+        assertThat(batchInputsCache.getWeight()).isEqualTo(1500 + BatchInputsCache.ELEMENT_WEIGHT);
+
+        // the least recently used entry is evicted to make room
+        batchInputsCache.get(batchUuid, "contingencies", () -> List.of());
+        batchInputsCache.get(batchUuid, "parameters", () -> new byte[1000]);
+        assertThat(batchInputsCache.getWeight()).isEqualTo(BatchInputsCache.ELEMENT_WEIGHT + 1000);
+        batchInputsCache.get(batchUuid, "output-state", () -> {
+            loadCount.incrementAndGet();
+            return new byte[1500];
+        });
+        assertThat(loadCount.get()).isEqualTo(2);
+
+        // a value heavier than the limit is not cached
+        batchInputsCache.get(UUID.randomUUID(), "output-state", () -> new byte[4000]);
+        assertThat(batchInputsCache.getWeight()).isLessThanOrEqualTo(3000);
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package org.gridsuite.dynamicsecurityanalysis.server.service;
+
+import com.powsybl.contingency.Contingency;
+import com.powsybl.security.LimitViolationsResult;
+import com.powsybl.security.PostContingencyComputationStatus;
+import com.powsybl.security.SecurityAnalysisReport;
+import com.powsybl.security.SecurityAnalysisResult;
+import com.powsybl.security.results.ConnectivityResult;
+import com.powsybl.security.results.NetworkResult;
+import com.powsybl.security.results.PostContingencyResult;
+import com.powsybl.security.results.PreContingencyResult;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.testcontainers.shaded.org.awaitility.Awaitility.await;
+
+/**
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+class ContingencyExecutionSchedulerTest {
+
+    private static CompletableFuture<SecurityAnalysisReport> simulate(Contingency contingency) {
+        return simulate(List.of(contingency));
+    }
+
+    private static CompletableFuture<SecurityAnalysisReport> simulate(List<Contingency> chunk) {
+        return CompletableFuture.supplyAsync(() -> createReport(chunk), CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS));
+    }
+
+    private static SecurityAnalysisReport createReport(List<Contingency> chunk) {
+        return new SecurityAnalysisReport(new SecurityAnalysisResult(
+                new PreContingencyResult(),
+                chunk.stream().map(contingency -> new PostContingencyResult(contingency, PostContingencyComputationStatus.CONVERGED,
+                        new LimitViolationsResult(List.of()), NetworkResult.empty(), ConnectivityResult.empty(), 1.0)).toList(),
+                List.of()));
+    }
+
+    private static List<Contingency> createContingencies(int count) {
+        return IntStream.rangeClosed(1, count).mapToObj(i -> Contingency.load("load" + i)).toList();
+    }
+
+    @Test
+    void testTimeout() throws Exception {
+        List<Contingency> contingencies = List.of(Contingency.load("load1"), Contingency.load("hanging"), Contingency.load("load3"));
+        CompletableFuture<SecurityAnalysisReport> hangingSimulation = new CompletableFuture<>();
+        Set<String> timedOutContingencyIds = ConcurrentHashMap.newKeySet();
+
+        SecurityAnalysisReport report = new ContingencyExecutionScheduler(2, 500L, contingencies,
+                contingency -> "hanging".equals(contingency.getId()) ? hangingSimulation : simulate(contingency),
+                timedOutContingencyIds::add).run().get(5, TimeUnit.SECONDS);
+
+        // the hanging simulation has been killed while the others have been completed
+        assertThat(hangingSimulation).isCancelled();
+        assertThat(timedOutContingencyIds).containsExactly("hanging");
+        assertThat(report.getResult().getPostContingencyResults())
+                .extracting(postContingencyResult -> postContingencyResult.getContingency().getId())
+                .containsExactlyInAnyOrder("load1", "load3");
+    }
+
+    @Test
+    void testConcurrency() throws Exception {
+        List<Contingency> contingencies = List.of(Contingency.load("load1"), Contingency.load("load2"), Contingency.load("load3"),
+                Contingency.load("load4"), Contingency.load("load5"));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        SecurityAnalysisReport report = new ContingencyExecutionScheduler(2, null, contingencies,
+                contingency -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    return simulate(contingency).whenComplete((r, t) -> running.decrementAndGet());
+                },
+                contingencyId -> { }).run().get(5, TimeUnit.SECONDS);
+
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(2);
+        assertThat(report.getResult().getPostContingencyResults()).hasSize(5);
+    }
+
+    @Test
+    void testVariableConcurrency() throws Exception {
+        List<Contingency> contingencies = List.of(Contingency.load("load1"), Contingency.load("load2"), Contingency.load("load3"),
+                Contingency.load("load4"), Contingency.load("load5"), Contingency.load("load6"));
+        AtomicInteger concurrency = new AtomicInteger(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        // the concurrency grows once the first simulation has completed, e.g. CPUs given back by another run
+        SecurityAnalysisReport report = new ContingencyExecutionScheduler(concurrency::get, null, contingencies,
+                contingency -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    return simulate(contingency).whenComplete((r, t) -> {
+                        running.decrementAndGet();
+                        concurrency.set(3);
+                    });
+                },
+                contingencyId -> { }).run().get(5, TimeUnit.SECONDS);
+
+        assertThat(maxRunning.get()).isEqualTo(3);
+        assertThat(report.getResult().getPostContingencyResults()).hasSize(6);
+    }
+
+    @Test
+    void testAbort() throws Exception {
+        List<Contingency> contingencies = List.of(Contingency.load("failed"), Contingency.load("hanging"), Contingency.load("pending"));
+        CompletableFuture<SecurityAnalysisReport> hangingSimulation = new CompletableFuture<>();
+        List<String> notSimulatedContingencyIds = new ArrayList<>();
+
+        SecurityAnalysisReport report = new ContingencyExecutionScheduler(2, null, contingencies,
+                contingency -> "hanging".equals(contingency.getId()) ? hangingSimulation : simulate(contingency),
+                contingencyId -> { })
+                .withAbortCondition(postContingencyResult -> "failed".equals(postContingencyResult.getContingency().getId()), 1,
+                        notSimulatedContingencyIds::addAll)
+                .run().get(5, TimeUnit.SECONDS);
+
+        // outstanding simulations are cancelled, computed results are kept
+        assertThat(hangingSimulation).isCancelled();
+        assertThat(notSimulatedContingencyIds).containsExactlyInAnyOrder("hanging", "pending");
+        assertThat(report.getResult().getPostContingencyResults())
+                .extracting(postContingencyResult -> postContingencyResult.getContingency().getId())
+                .containsExactly("failed");
+    }
+
+    @Test
+    void testChunks() throws Exception {
+        List<Integer> chunkSizes = Collections.synchronizedList(new ArrayList<>());
+
+        // chunks of at most 4 contingencies, smaller at the end to use the 2 simultaneous simulations
+        SecurityAnalysisReport report = ContingencyExecutionScheduler.ofChunks(() -> 2, null, createContingencies(11), 4,
+                chunk -> {
+                    chunkSizes.add(chunk.size());
+                    return simulate(chunk);
+                },
+                contingencyId -> { }).run().get(5, TimeUnit.SECONDS);
+
+        assertThat(chunkSizes).startsWith(4, 3).contains(1);
+        assertThat(chunkSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(11);
+        assertThat(report.getResult().getPostContingencyResults()).hasSize(11);
+    }
+
+    @Test
+    void testChunkTimeout() throws Exception {
+        List<Contingency> contingencies = List.of(Contingency.load("load1"), Contingency.load("hanging"), Contingency.load("load3"));
+        List<List<String>> chunks = Collections.synchronizedList(new ArrayList<>());
+        Set<String> timedOutContingencyIds = ConcurrentHashMap.newKeySet();
+
+        SecurityAnalysisReport report = ContingencyExecutionScheduler.ofChunks(() -> 1, 200L, contingencies, 3,
+                chunk -> {
+                    chunks.add(chunk.stream().map(Contingency::getId).toList());
+                    return chunk.stream().anyMatch(contingency -> "hanging".equals(contingency.getId())) ? new CompletableFuture<>() : simulate(chunk);
+                },
+                timedOutContingencyIds::add).run().get(5, TimeUnit.SECONDS);
+
+        // the timed out chunk is simulated again one by one, only the hanging contingency being reported
+        assertThat(chunks).containsExactly(List.of("load1", "hanging", "load3"), List.of("load1"), List.of("hanging"), List.of("load3"));
+        assertThat(timedOutContingencyIds).containsExactly("hanging");
+        assertThat(report.getResult().getPostContingencyResults())
+                .extracting(postContingencyResult -> postContingencyResult.getContingency().getId())
+                .containsExactly("load1", "load3");
+    }
+
+    @Test
+    void testDeferredResultConsumer() throws Exception {
+        List<Contingency> contingencies = List.of(Contingency.load("load1"), Contingency.load("hanging"));
+        CompletableFuture<SecurityAnalysisReport> hangingSimulation = new CompletableFuture<>();
+        List<String> publishedContingencyIds = Collections.synchronizedList(new ArrayList<>());
+
+        ContingencyExecutionScheduler scheduler = new ContingencyExecutionScheduler(2, null, contingencies,
+                contingency -> "hanging".equals(contingency.getId()) ? hangingSimulation : simulate(contingency),
+                contingencyId -> { })
+                .withResultConsumer(postContingencyResult -> publishedContingencyIds.add(postContingencyResult.getContingency().getId()), false);
+        CompletableFuture<SecurityAnalysisReport> future = scheduler.run();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> scheduler.getRunningCount() == 1);
+        assertThat(publishedContingencyIds).isEmpty();
+
+        // once started, the results computed so far are published first, then the next ones as soon as computed
+        scheduler.startResultConsumer();
+        scheduler.startResultConsumer();
+        assertThat(publishedContingencyIds).containsExactly("load1");
+        hangingSimulation.complete(createReport(List.of(Contingency.load("hanging"))));
+        future.get(5, TimeUnit.SECONDS);
+        assertThat(publishedContingencyIds).containsExactly("load1", "hanging");
+
+        // not anymore once completed
+        scheduler.startResultConsumer();
+        assertThat(publishedContingencyIds).hasSize(2);
+    }
+
+    @RepeatedTest(20)
+    void testAbortOnceWithoutLateResults() throws Exception {
+        List<Contingency> contingencies = createContingencies(4);
+        CompletableFuture<Void> start = new CompletableFuture<>();
+        AtomicInteger abortCount = new AtomicInteger();
+        List<String> notSimulatedContingencyIds = Collections.synchronizedList(new ArrayList<>());
+        List<String> publishedContingencyIds = Collections.synchronizedList(new ArrayList<>());
+
+        // all the simulations complete at the same time on different threads, each result matching the abort condition
+        CompletableFuture<SecurityAnalysisReport> future = new ContingencyExecutionScheduler(4, null, contingencies,
+                contingency -> start.thenApplyAsync(unused -> createReport(List.of(contingency))),
+                contingencyId -> { })
+                .withResultConsumer(postContingencyResult -> publishedContingencyIds.add(postContingencyResult.getContingency().getId()))
+                .withAbortCondition(postContingencyResult -> true, 1, ids -> {
+                    abortCount.incrementAndGet();
+                    notSimulatedContingencyIds.addAll(ids);
+                })
+                .run();
+        start.complete(null);
+        SecurityAnalysisReport report = future.get(5, TimeUnit.SECONDS);
+
+        // a single abort, the results arriving after it are neither kept nor published
+        assertThat(abortCount.get()).isEqualTo(1);
+        List<String> resultContingencyIds = report.getResult().getPostContingencyResults().stream()
+                .map(postContingencyResult -> postContingencyResult.getContingency().getId())
+                .toList();
+        assertThat(resultContingencyIds).hasSize(1);
+        Thread.sleep(50);
+        assertThat(publishedContingencyIds).isEqualTo(resultContingencyIds);
+        assertThat(notSimulatedContingencyIds).hasSize(3).doesNotContainAnyElementsOf(resultContingencyIds);
+    }
+
+    @Test
+    void testCancel() {
+        CompletableFuture<SecurityAnalysisReport> hangingSimulation = new CompletableFuture<>();
+        CompletableFuture<SecurityAnalysisReport> future = new ContingencyExecutionScheduler(1, null, List.of(Contingency.load("hanging")),
+                contingency -> hangingSimulation, contingencyId -> { }).run();
+
+        future.cancel(true);
+
+        assertThat(hangingSimulation).isCancelled();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package org.gridsuite.dynamicsecurityanalysis.server.service;
+
+import com.powsybl.commons.datasource.ReadOnlyDataSource;
+import com.powsybl.commons.datasource.ResourceDataSource;
+import com.powsybl.commons.datasource.ResourceSet;
+import com.powsybl.contingency.Contingency;
+import com.powsybl.iidm.network.Importers;
+import com.powsybl.iidm.network.Network;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.contingency.ContingencyResultInfos;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.contingency.ContingencyResultStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.gridsuite.dynamicsecurityanalysis.server.controller.DynamicSecurityAnalysisControllerTest.DATA_IEEE14_BASE_DIR;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+class ContingencyOrderingServiceTest {
+
+    private final ContingencyOrderingService contingencyOrderingService = new ContingencyOrderingService(mock(DynamicSecurityAnalysisResultService.class));
+
+    private Network network;
+
+    private final List<Contingency> contingencies = List.of(
+            Contingency.load("notFoundLoad"),
+            Contingency.load("_LOAD__11_EC"),
+            Contingency.generator("_GEN____1_SM"),
+            Contingency.line("_BUS____1-BUS____2-1_AC")
+    );
+
+    @BeforeEach
+    void setUp() {
+        ReadOnlyDataSource dataSource = new ResourceDataSource("IEEE14", new ResourceSet(DATA_IEEE14_BASE_DIR, "IEEE14.iidm"));
+        network = Importers.importData("XIIDM", dataSource, null);
+    }
+
+    private static List<String> ids(List<Contingency> contingencies) {
+        return contingencies.stream().map(Contingency::getId).toList();
+    }
+
+    @Test
+    void testSortWithoutPreviousResults() {
+        List<Contingency> sortedContingencies = contingencyOrderingService.sortBySeverity(network, contingencies, Map.of());
+
+        // highest nominal voltage first, then branches before generators
+        assertThat(ids(sortedContingencies)).containsExactly("_BUS____1-BUS____2-1_AC", "_GEN____1_SM", "_LOAD__11_EC", "notFoundLoad");
+    }
+
+    @Test
+    void testSortWithPreviousResults() {
+        Map<String, ContingencyResultInfos> previousResults = ContingencyOrderingService.findMostSevereResults(List.of(
+                ContingencyResultInfos.builder().contingencyId("_GEN____1_SM").status(ContingencyResultStatus.SUCCEED).limitViolationCount(0).build(),
+                ContingencyResultInfos.builder().contingencyId("_GEN____1_SM").status(ContingencyResultStatus.SUCCEED).limitViolationCount(2).build(),
+                ContingencyResultInfos.builder().contingencyId("_LOAD__11_EC").status(ContingencyResultStatus.FAILED).limitViolationCount(0).build(),
+                // not simulated results are ignored
+                ContingencyResultInfos.builder().contingencyId("notFoundLoad").status(ContingencyResultStatus.NOT_SIMULATED).build()
+        ));
+
+        assertThat(previousResults).containsOnlyKeys("_GEN____1_SM", "_LOAD__11_EC");
+        assertThat(previousResults.get("_GEN____1_SM").getLimitViolationCount()).isEqualTo(2);
+
+        List<Contingency> sortedContingencies = contingencyOrderingService.sortBySeverity(network, contingencies, previousResults);
+
+        // failed first, then with violations, then contingencies without previous result
+        assertThat(ids(sortedContingencies)).containsExactly("_LOAD__11_EC", "_GEN____1_SM", "_BUS____1-BUS____2-1_AC", "notFoundLoad");
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package org.gridsuite.dynamicsecurityanalysis.server.service;
+
+import com.powsybl.commons.datasource.ReadOnlyDataSource;
+import com.powsybl.commons.datasource.ResourceDataSource;
+import com.powsybl.commons.datasource.ResourceSet;
+import com.powsybl.contingency.Contingency;
+import com.powsybl.iidm.network.Importers;
+import com.powsybl.iidm.network.Network;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.gridsuite.dynamicsecurityanalysis.server.controller.DynamicSecurityAnalysisControllerTest.DATA_IEEE14_BASE_DIR;
+
+/**
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+class ContingencyScreeningServiceTest {
+
+    private final ContingencyScreeningService contingencyScreeningService = new ContingencyScreeningService();
+
+    private Network network;
+
+    @BeforeEach
+    void setUp() {
+        ReadOnlyDataSource dataSource = new ResourceDataSource("IEEE14", new ResourceSet(DATA_IEEE14_BASE_DIR, "IEEE14.iidm"));
+        network = Importers.importData("XIIDM", dataSource, null);
+    }
+
+    @Test
+    void testComputeSeverities() {
+        List<Contingency> contingencies = List.of(
+                Contingency.load("_LOAD__11_EC"),
+                Contingency.generator("_GEN____1_SM"),
+                Contingency.line("_BUS____1-BUS____2-1_AC"),
+                Contingency.builder("multipleElements").addLoad("_LOAD__10_EC").addLoad("_LOAD__11_EC").build(),
+                Contingency.load("notFoundLoad")
+        );
+
+        Map<String, Double> severities = contingencyScreeningService.computeSeverities(network, contingencies);
+
+        // active power of the injection
+        assertThat(severities.get("_LOAD__11_EC")).isCloseTo(3.5, within(1e-6));
+        assertThat(severities.get("_GEN____1_SM")).isCloseTo(232.39, within(1e-6));
+        // max flow of both sides of the branch
+        assertThat(severities.get("_BUS____1-BUS____2-1_AC")).isCloseTo(156.78983, within(1e-6));
+        // sum of all tripped elements
+        assertThat(severities.get("multipleElements")).isCloseTo(12.5, within(1e-6));
+        // unknown severity
+        assertThat(severities).doesNotContainKey("notFoundLoad");
+    }
+
+    @Test
+    void testComputeSeverityWithoutFlows() {
+        // no load flow result, fallback to the target value of the injection
+        network.getLoad("_LOAD__11_EC").getTerminal().setP(Double.NaN);
+        assertThat(contingencyScreeningService.computeSeverity(network, Contingency.load("_LOAD__11_EC"))).isCloseTo(3.5, within(1e-6));
+
+        // no fallback for a branch
+        network.getLine("_BUS____1-BUS____2-1_AC").getTerminal2().setP(Double.NaN);
+        assertThat(contingencyScreeningService.computeSeverity(network, Contingency.line("_BUS____1-BUS____2-1_AC"))).isNaN();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package org.gridsuite.dynamicsecurityanalysis.server.service;
+
+import org.gridsuite.dynamicsecurityanalysis.server.service.CpuAllocationService.CpuAllocation;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+class CpuAllocationServiceTest {
+
+    @Test
+    void testPartitionAndRebalance() {
+        CpuAllocationService cpuAllocationService = new CpuAllocationService(true, List.of(4, 5, 6, 7, 8));
+        List<CpuAllocation> changedAllocations = new ArrayList<>();
+
+        // a single run owns all the CPUs
+        CpuAllocation firstAllocation = cpuAllocationService.allocate(changedAllocations::add);
+        assertThat(firstAllocation.getCpus()).containsExactly(4, 5, 6, 7, 8);
+
+        // a second run shrinks the share of the first one
+        CpuAllocation secondAllocation = cpuAllocationService.allocate(changedAllocations::add);
+        assertThat(firstAllocation.getCpus()).containsExactly(4, 5, 6);
+        assertThat(secondAllocation.getCpus()).containsExactly(7, 8);
+        assertThat(changedAllocations).containsExactly(firstAllocation);
+
+        // the CPUs of the finished run are given back to the remaining one
+        changedAllocations.clear();
+        cpuAllocationService.release(firstAllocation);
+        assertThat(secondAllocation.getCpus()).containsExactly(4, 5, 6, 7, 8);
+        assertThat(changedAllocations).containsExactly(secondAllocation);
+    }
+
+    @Test
+    void testMoreRunsThanCpus() {
+        CpuAllocationService cpuAllocationService = new CpuAllocationService(true, List.of(0, 1));
+
+        List<CpuAllocation> allocations = List.of(cpuAllocationService.allocate(allocation -> { }),
+                cpuAllocationService.allocate(allocation -> { }), cpuAllocationService.allocate(allocation -> { }));
+
+        assertThat(allocations).extracting(CpuAllocation::getCpus)
+                .containsExactly(List.of(0), List.of(1), List.of(0));
+        assertThat(allocations).extracting(CpuAllocation::getCpuCount).containsOnly(1);
+    }
+
+    @Test
+    void testNotPinned() {
+        // worker only limited by a CFS quota, the runs are given a number of CPUs
+        CpuAllocationService cpuAllocationService = new CpuAllocationService(true, 5);
+        List<CpuAllocation> changedAllocations = new ArrayList<>();
+
+        CpuAllocation firstAllocation = cpuAllocationService.allocate(changedAllocations::add);
+        assertThat(firstAllocation.getCpuCount()).isEqualTo(5);
+        assertThat(firstAllocation.isPinned()).isFalse();
+
+        CpuAllocation secondAllocation = cpuAllocationService.allocate(changedAllocations::add);
+        assertThat(firstAllocation.getCpuCount()).isEqualTo(3);
+        assertThat(secondAllocation.getCpuCount()).isEqualTo(2);
+        assertThat(secondAllocation.getCpus()).isEmpty();
+        // nothing to pin again
+        assertThat(changedAllocations).isEmpty();
+
+        cpuAllocationService.release(firstAllocation);
+        assertThat(secondAllocation.getCpuCount()).isEqualTo(5);
+    }
+
+    @Test
+    void testDisabled() {
+        CpuAllocationService cpuAllocationService = new CpuAllocationService(false, List.of(0, 1));
+
+        assertThat(cpuAllocationService.allocate(allocation -> { })).isNull();
+    }
+}
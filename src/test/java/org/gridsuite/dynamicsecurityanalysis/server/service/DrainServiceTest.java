@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package org.gridsuite.dynamicsecurityanalysis.server.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.stream.binder.Binding;
+import org.springframework.cloud.stream.binding.BindingsLifecycleController;
+import org.springframework.cloud.stream.binding.BindingsLifecycleController.State;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+import static org.testcontainers.shaded.org.awaitility.Awaitility.await;
+
+/**
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+class DrainServiceTest {
+
+    private BindingsLifecycleController bindingsLifecycleController;
+
+    private DrainService drainService;
+
+    @BeforeEach
+    void setUp() {
+        bindingsLifecycleController = mock(BindingsLifecycleController.class);
+        mockBindings("consumeRun1-in-0", "consumeRun2-in-0", "consumeRun3-in-0", "consumeRunAffinity-in-0");
+        ObjectProvider<BindingsLifecycleController> bindingsLifecycleControllerProvider = mock(ObjectProvider.class);
+        when(bindingsLifecycleControllerProvider.getIfAvailable()).thenReturn(bindingsLifecycleController);
+        drainService = new DrainService(bindingsLifecycleControllerProvider, Duration.ofSeconds(5));
+        drainService.start();
+    }
+
+    private void mockBindings(String... bindingNames) {
+        for (String bindingName : bindingNames) {
+            doReturn(List.of(mock(Binding.class))).when(bindingsLifecycleController).queryState(bindingName);
+        }
+    }
+
+    @Test
+    void testDrainWaitsForRunsInFlight() throws Exception {
+        // a run in flight until released
+        CountDownLatch runLatch = new CountDownLatch(1);
+        Consumer<String> consumeRun = drainService.track(message -> {
+            try {
+                runLatch.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Thread runThread = Thread.ofVirtual().start(() -> consumeRun.accept("run"));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> drainService.getInFlightRunCount() == 1);
+
+        // the run consumers stop taking new runs, the run in flight continues
+        assertThat(drainService.awaitDrained(Duration.ofMillis(100))).isFalse();
+        assertThat(drainService.isDraining()).isTrue();
+        verify(bindingsLifecycleController, timeout(1000)).changeState("consumeRun1-in-0", State.STOPPED);
+        verify(bindingsLifecycleController, timeout(1000)).changeState("consumeRunAffinity-in-0", State.STOPPED);
+
+        // drained once the run has finished
+        runLatch.countDown();
+        assertThat(drainService.awaitDrained(Duration.ofSeconds(5))).isTrue();
+        runThread.join();
+        assertThat(drainService.getInFlightRunCount()).isZero();
+
+        // the shutdown does not wait anymore, the bindings being stopped once
+        drainService.stop();
+        assertThat(drainService.isRunning()).isFalse();
+        verify(bindingsLifecycleController, times(1)).changeState("consumeRun1-in-0", State.STOPPED);
+    }
+
+    @Test
+    void testShutdownWithoutRunInFlight() {
+        drainService.stop();
+
+        assertThat(drainService.isDraining()).isTrue();
+        assertThat(drainService.isRunning()).isFalse();
+        verify(bindingsLifecycleController).changeState("consumeRun2-in-0", State.STOPPED);
+    }
+
+    @Test
+    void testUndrain() throws Exception {
+        // no-op if not draining
+        assertThat(drainService.undrain()).isTrue();
+        verify(bindingsLifecycleController, never()).changeState("consumeRun1-in-0", State.STARTED);
+
+        // the run consumers are restarted after having been stopped
+        drainService.drain();
+        assertThat(drainService.undrain()).isTrue();
+        assertThat(drainService.isDraining()).isFalse();
+        verify(bindingsLifecycleController, timeout(1000)).changeState("consumeRun1-in-0", State.STARTED);
+        verify(bindingsLifecycleController, timeout(1000)).changeState("consumeRunAffinity-in-0", State.STARTED);
+        InOrder inOrder = inOrder(bindingsLifecycleController);
+        inOrder.verify(bindingsLifecycleController).changeState("consumeRun1-in-0", State.STOPPED);
+        inOrder.verify(bindingsLifecycleController).changeState("consumeRun1-in-0", State.STARTED);
+
+        // a new drain notifies the listeners registered since
+        AtomicInteger checkpointCount = new AtomicInteger();
+        drainService.onDrain(checkpointCount::incrementAndGet);
+        drainService.drain().get(5, TimeUnit.SECONDS);
+        assertThat(checkpointCount.get()).isEqualTo(1);
+        verify(bindingsLifecycleController, times(2)).changeState("consumeRun1-in-0", State.STOPPED);
+
+        // the drain of the shutdown cannot be undone
+        drainService.stop();
+        assertThat(drainService.undrain()).isFalse();
+        assertThat(drainService.isDraining()).isTrue();
+        verify(bindingsLifecycleController, times(1)).changeState("consumeRun1-in-0", State.STARTED);
+    }
+
+    @Test
+    void testOnlyExistingBindingsStopped() {
+        // without the affinity routing profile
+        reset(bindingsLifecycleController);
+        mockBindings("consumeRun1-in-0", "consumeRun2-in-0", "consumeRun3-in-0");
+
+        drainService.stop();
+
+        verify(bindingsLifecycleController).changeState("consumeRun3-in-0", State.STOPPED);
+        verify(bindingsLifecycleController, never()).changeState("consumeRunAffinity-in-0", State.STOPPED);
+    }
+
+    @Test
+    void testDrainListeners() throws Exception {
+        AtomicInteger checkpointCount = new AtomicInteger();
+        drainService.onDrain(checkpointCount::incrementAndGet);
+        Runnable unregister = drainService.onDrain(() -> {
+            throw new AssertionError("Unregistered listener notified");
+        });
+        unregister.run();
+        drainService.onDrain(() -> {
+            throw new IllegalStateException("Checkpoint failed");
+        });
+
+        // notified once, whatever the others do
+        drainService.drain().get(5, TimeUnit.SECONDS);
+        drainService.drain().get(5, TimeUnit.SECONDS);
+        assertThat(checkpointCount.get()).isEqualTo(1);
+
+        // a listener registered while draining is notified at once
+        drainService.onDrain(checkpointCount::incrementAndGet);
+        assertThat(checkpointCount.get()).isEqualTo(2);
+    }
+}
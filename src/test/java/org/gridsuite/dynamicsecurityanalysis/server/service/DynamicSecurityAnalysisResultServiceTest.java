@@ -8,6 +8,7 @@
 package org.gridsuite.dynamicsecurityanalysis.server.service;
 
 import org.gridsuite.dynamicsecurityanalysis.server.dto.DynamicSecurityAnalysisStatus;
+import org.gridsuite.dynamicsecurityanalysis.server.dto.sweep.SweepCombinationInfos;
 import org.gridsuite.dynamicsecurityanalysis.server.entities.DynamicSecurityAnalysisResultEntity;
 import org.gridsuite.dynamicsecurityanalysis.server.repositories.DynamicSecurityAnalysisResultRepository;
 import org.junit.jupiter.api.AfterEach;
@@ -17,6 +18,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -112,4 +115,34 @@ class DynamicSecurityAnalysisResultServiceTest {
         dynamicSecurityAnalysisResultService.deleteAll();
         assertThat(resultRepository.findAll()).isEmpty();
     }
+
+    @Test
+    void testQueuedResult() {
+        UUID queuedResultUuid = UUID.randomUUID();
+        dynamicSecurityAnalysisResultService.insertStatus(queuedResultUuid, DynamicSecurityAnalysisStatus.QUEUED, "hash");
+        dynamicSecurityAnalysisResultService.insertStatus(UUID.randomUUID(), DynamicSecurityAnalysisStatus.RUNNING, null);
+        dynamicSecurityAnalysisResultService.insertStatus(UUID.randomUUID(), DynamicSecurityAnalysisStatus.SUCCEED, null);
+
+        // queued and running results are pending
+        assertThat(dynamicSecurityAnalysisResultService.countPendingResults(Duration.ofHours(6))).isEqualTo(2);
+
+        // results left running for longer than the maximum age are not counted anymore
+        DynamicSecurityAnalysisResultEntity stuckResult = new DynamicSecurityAnalysisResultEntity(UUID.randomUUID(), DynamicSecurityAnalysisStatus.RUNNING, null);
+        stuckResult.setCreationDate(Instant.now().minus(Duration.ofHours(7)));
+        resultRepository.saveAndFlush(stuckResult);
+        assertThat(dynamicSecurityAnalysisResultService.countPendingResults(Duration.ofHours(6))).isEqualTo(2);
+
+        // the combinations of a sweep are counted, not the sweep result
+        dynamicSecurityAnalysisResultService.insertSweepStatus(UUID.randomUUID(), List.of(
+                SweepCombinationInfos.builder().resultUuid(UUID.randomUUID()).build(),
+                SweepCombinationInfos.builder().resultUuid(UUID.randomUUID()).build()), DynamicSecurityAnalysisStatus.QUEUED);
+        assertThat(dynamicSecurityAnalysisResultService.countPendingResults(Duration.ofHours(6))).isEqualTo(4);
+
+        // an identical run is attached to the queued result
+        assertThat(dynamicSecurityAnalysisResultService.attachToRunningResult("hash", "receiver", "userId")).contains(queuedResultUuid);
+
+        // taken by a worker
+        dynamicSecurityAnalysisResultService.markRunning(queuedResultUuid);
+        assertThat(dynamicSecurityAnalysisResultService.findStatus(queuedResultUuid)).isSameAs(DynamicSecurityAnalysisStatus.RUNNING);
+    }
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package org.gridsuite.dynamicsecurityanalysis.server.service;
+
+import com.powsybl.computation.ComputationManager;
+import com.powsybl.computation.ExecutionEnvironment;
+import com.powsybl.computation.ExecutionHandler;
+import org.gridsuite.dynamicsecurityanalysis.server.service.ExecutorPoolComputationManager.ExecutorNode;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+class ExecutorPoolComputationManagerTest {
+
+    private final List<CompletableFuture<Object>> executions = new ArrayList<>();
+
+    private ComputationManager mockNodeComputationManager() {
+        ComputationManager computationManager = mock(ComputationManager.class);
+        when(computationManager.execute(any(), any())).thenAnswer(invocation -> {
+            CompletableFuture<Object> execution = new CompletableFuture<>();
+            executions.add(execution);
+            return execution;
+        });
+        return computationManager;
+    }
+
+    @Test
+    void testPlacementByCapacity() {
+        ComputationManager smallNodeComputationManager = mockNodeComputationManager();
+        ComputationManager largeNodeComputationManager = mockNodeComputationManager();
+        ExecutorPoolComputationManager executorPool = new ExecutorPoolComputationManager(Path.of("/shared"), List.of(
+                new ExecutorNode("small", smallNodeComputationManager, 1),
+                new ExecutorNode("large", largeNodeComputationManager, 2)));
+        ExecutionEnvironment environment = ExecutionEnvironment.createDefault();
+        ExecutionHandler<Object> handler = mock(ExecutionHandler.class);
+
+        // most free capacity first, the first node winning ties
+        executorPool.execute(environment, handler);
+        assertThat(executorPool.getRunningExecutionCount("large")).isEqualTo(1);
+        executorPool.execute(environment, handler);
+        assertThat(executorPool.getRunningExecutionCount("small")).isEqualTo(1);
+        executorPool.execute(environment, handler);
+        assertThat(executorPool.getRunningExecutionCount("large")).isEqualTo(2);
+        assertThat(executorPool.getResourcesStatus().getBusyCores()).isEqualTo(3);
+        assertThat(executorPool.getResourcesStatus().getAvailableCores()).isEqualTo(3);
+
+        // the capacity is given back once an execution completes
+        executions.get(1).complete(null);
+        assertThat(executorPool.getRunningExecutionCount("small")).isZero();
+        executorPool.execute(environment, handler);
+        verify(smallNodeComputationManager, times(2)).execute(any(), any());
+        verify(largeNodeComputationManager, times(2)).execute(any(), any());
+
+        assertThat(executorPool.getLocalDir()).isEqualTo(Path.of("/shared"));
+    }
+
+    @Test
+    void testCommonFileCopiedToAllNodes() throws Exception {
+        ComputationManager firstNodeComputationManager = mock(ComputationManager.class);
+        ComputationManager secondNodeComputationManager = mock(ComputationManager.class);
+        ByteArrayOutputStream firstNodeFile = new ByteArrayOutputStream();
+        ByteArrayOutputStream secondNodeFile = new ByteArrayOutputStream();
+        when(firstNodeComputationManager.newCommonFile(eq("common.txt"))).thenReturn(firstNodeFile);
+        when(secondNodeComputationManager.newCommonFile(eq("common.txt"))).thenReturn(secondNodeFile);
+        ExecutorPoolComputationManager executorPool = new ExecutorPoolComputationManager(Path.of("/shared"), List.of(
+                new ExecutorNode("first", firstNodeComputationManager, 1),
+                new ExecutorNode("second", secondNodeComputationManager, 1)));
+
+        try (OutputStream os = executorPool.newCommonFile("common.txt")) {
+            os.write("content".getBytes());
+        }
+
+        assertThat(firstNodeFile.toString()).isEqualTo("content");
+        assertThat(secondNodeFile.toString()).isEqualTo("content");
+
+        executorPool.close();
+        verify(firstNodeComputationManager).close();
+        verify(secondNodeComputationManager).close();
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package org.gridsuite.dynamicsecurityanalysis.server.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.gridsuite.computation.service.NotificationService;
+import org.gridsuite.dynamicsecurityanalysis.server.config.FairShareConfig.FairShareProperties;
+import org.gridsuite.dynamicsecurityanalysis.server.config.FairShareConfig.UserProperties;
+import org.gridsuite.dynamicsecurityanalysis.server.entities.PendingRunEntity;
+import org.gridsuite.dynamicsecurityanalysis.server.repositories.PendingRunRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.messaging.Message;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.gridsuite.computation.service.AbstractResultContext.RESULT_UUID_HEADER;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+class FairShareSchedulerTest {
+
+    private final FairShareProperties properties = new FairShareProperties();
+
+    private final PendingRunRepository pendingRunRepository = mock(PendingRunRepository.class);
+
+    private final NotificationService notificationService = mock(NotificationService.class);
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private final FairShareScheduler fairShareScheduler = new FairShareScheduler(pendingRunRepository,
+            notificationService, mock(DynamicSecurityAnalysisObserver.class), new ObjectMapper(), properties, transactionManager);
+
+    private static List<PendingRunEntity> submit(List<PendingRunEntity> pendingRuns, String userId, int count) {
+        for (int i = 0; i < count; i++) {
+            pendingRuns.add(new PendingRunEntity(UUID.randomUUID(), userId, "", "{}", Instant.now(), null));
+        }
+        return pendingRuns;
+    }
+
+    private static List<String> users(List<PendingRunEntity> runs) {
+        return runs.stream().map(PendingRunEntity::getUserId).toList();
+    }
+
+    @Test
+    void testLargeBatchDoesNotMonopolizeWorkers() {
+        properties.setMaxRunningRuns(4);
+        properties.setMaxRunningRunsPerUser(4);
+
+        // a large batch submitted first, then a single run of another user
+        List<PendingRunEntity> pendingRuns = submit(new ArrayList<>(), "batchUser", 20);
+        submit(pendingRuns, "otherUser", 1);
+
+        List<String> selectedUsers = users(fairShareScheduler.selectRuns(pendingRuns));
+        assertThat(selectedUsers).hasSize(4).contains("otherUser");
+    }
+
+    @Test
+    void testPerUserCap() {
+        properties.setMaxRunningRuns(10);
+        properties.setMaxRunningRunsPerUser(2);
+
+        List<PendingRunEntity> pendingRuns = submit(new ArrayList<>(), "user1", 5);
+        submit(pendingRuns, "user2", 5);
+        // one run of user1 already running
+        pendingRuns.get(0).setDispatchDate(Instant.now());
+
+        List<String> selectedUsers = users(fairShareScheduler.selectRuns(pendingRuns));
+        assertThat(selectedUsers).containsExactlyInAnyOrder("user1", "user2", "user2");
+    }
+
+    @Test
+    void testWeightedRoundRobin() {
+        properties.setMaxRunningRuns(6);
+        properties.setMaxRunningRunsPerUser(6);
+        UserProperties heavyUserProperties = new UserProperties();
+        heavyUserProperties.setWeight(2);
+        properties.getUsers().put("heavyUser", heavyUserProperties);
+
+        List<PendingRunEntity> pendingRuns = submit(new ArrayList<>(), "heavyUser", 10);
+        submit(pendingRuns, "lightUser", 10);
+
+        // twice as many runs for the heavy user, interleaved
+        List<String> selectedUsers = users(fairShareScheduler.selectRuns(pendingRuns));
+        assertThat(selectedUsers).containsExactly("heavyUser", "lightUser", "heavyUser", "heavyUser", "lightUser", "heavyUser");
+    }
+
+    @Test
+    void testDispatchLocksSelectedRunsThenPublishesOnceCommitted() {
+        properties.setEnabled(true);
+        properties.setMaxRunningRuns(2);
+        properties.setMaxRunningRunsPerUser(2);
+        List<PendingRunEntity> pendingRuns = submit(new ArrayList<>(), "user1", 3);
+        pendingRuns.forEach(pendingRun -> pendingRun.setHeaders("{\"" + RESULT_UUID_HEADER + "\":\"" + pendingRun.getId() + "\"}"));
+        when(pendingRunRepository.findAllByOrderBySubmissionDate()).thenReturn(pendingRuns);
+        // the second selected run is being dispatched by another server instance
+        when(pendingRunRepository.findAllWaitingForUpdateSkipLockedByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<UUID> ids = invocation.getArgument(0);
+            assertThat(ids).containsExactly(pendingRuns.get(0).getId(), pendingRuns.get(1).getId());
+            return List.of(pendingRuns.get(0));
+        });
+
+        fairShareScheduler.dispatch();
+
+        // only the locked run is dispatched, its message being published after the commit
+        assertThat(pendingRuns.get(0).getDispatchDate()).isNotNull();
+        assertThat(pendingRuns.get(1).getDispatchDate()).isNull();
+        InOrder inOrder = inOrder(pendingRunRepository, transactionManager, notificationService);
+        inOrder.verify(pendingRunRepository).deleteAllDispatchedWithoutResultIn(anyCollection());
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(notificationService).sendRunMessage(argThat((Message<String> message) ->
+                pendingRuns.get(0).getId().toString().equals(message.getHeaders().get(RESULT_UUID_HEADER))));
+        verifyNoMoreInteractions(notificationService);
+    }
+
+    @Test
+    void testDispatchFailureMakesRunWaitAgain() {
+        properties.setEnabled(true);
+        List<PendingRunEntity> pendingRuns = submit(new ArrayList<>(), "user1", 1);
+        when(pendingRunRepository.findAllByOrderBySubmissionDate()).thenReturn(pendingRuns);
+        when(pendingRunRepository.findAllWaitingForUpdateSkipLockedByIdIn(anyCollection())).thenReturn(pendingRuns);
+        doThrow(new IllegalStateException("Broker unavailable")).when(notificationService).sendRunMessage(any());
+
+        fairShareScheduler.dispatch();
+
+        verify(pendingRunRepository).resetDispatchDate(pendingRuns.get(0).getId());
+    }
+}
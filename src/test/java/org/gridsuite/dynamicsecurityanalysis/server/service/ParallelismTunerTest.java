@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package org.gridsuite.dynamicsecurityanalysis.server.service;
+
+import org.gridsuite.dynamicsecurityanalysis.server.utils.ProcessUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+class ParallelismTunerTest {
+
+    private static final long MB = 1024L * 1024;
+
+    private final AtomicLong freeMemory = new AtomicLong();
+
+    private final ParallelismTuner parallelismTuner = new ParallelismTuner(512 * MB, Duration.ofMillis(10), freeMemory::get);
+
+    @AfterEach
+    void tearDown() {
+        parallelismTuner.shutdown();
+    }
+
+    @Test
+    void testAutoParallelism() {
+        UUID networkUuid = UUID.randomUUID();
+
+        // bound by the cores
+        freeMemory.set(16 * 1024 * MB);
+        assertThat(parallelismTuner.getAutoParallelism(networkUuid, 8)).isEqualTo(8);
+
+        // bound by the free memory with the default memory per contingency
+        freeMemory.set(2 * 1024 * MB);
+        assertThat(parallelismTuner.getAutoParallelism(networkUuid, 8)).isEqualTo(4);
+
+        // bound by the measured memory per contingency, averaged over the runs
+        parallelismTuner.recordMemoryPerContingency(networkUuid, 1024 * MB);
+        assertThat(parallelismTuner.getMemoryPerContingency(networkUuid)).isEqualTo(1024 * MB);
+        parallelismTuner.recordMemoryPerContingency(networkUuid, 512 * MB);
+        assertThat(parallelismTuner.getMemoryPerContingency(networkUuid)).isEqualTo(768 * MB);
+        assertThat(parallelismTuner.getAutoParallelism(networkUuid, 8)).isEqualTo(2);
+
+        // at least one contingency
+        freeMemory.set(0);
+        assertThat(parallelismTuner.getAutoParallelism(networkUuid, 8)).isEqualTo(1);
+
+        // other networks keep the default
+        assertThat(parallelismTuner.getMemoryPerContingency(UUID.randomUUID())).isEqualTo(512 * MB);
+    }
+
+    @Test
+    void testSampling() throws Exception {
+        List<ProcessHandle> processes = List.of(ProcessHandle.current());
+        long residentSetSize = ProcessUtils.getResidentSetSize(processes);
+        assumeTrue(residentSetSize > 0, "resident memory only read from /proc");
+        UUID networkUuid = UUID.randomUUID();
+
+        // two simulations sharing the resident memory of this process
+        ParallelismTuner.Sampling sampling = parallelismTuner.startSampling(networkUuid, () -> processes, () -> 2);
+        Thread.sleep(100);
+        sampling.stop();
+
+        assertThat(parallelismTuner.getMemoryPerContingency(networkUuid))
+                .isNotEqualTo(512 * MB)
+                .isBetween(residentSetSize / 4, residentSetSize * 2);
+
+        // nothing recorded while no simulation is running
+        UUID idleNetworkUuid = UUID.randomUUID();
+        ParallelismTuner.Sampling idleSampling = parallelismTuner.startSampling(idleNetworkUuid, () -> processes, () -> 0);
+        Thread.sleep(50);
+        idleSampling.stop();
+
+        assertThat(parallelismTuner.getMemoryPerContingency(idleNetworkUuid)).isEqualTo(512 * MB);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package org.gridsuite.dynamicsecurityanalysis.server.service;
+
+import org.gridsuite.dynamicsecurityanalysis.server.error.RunQueueFullException;
+import org.gridsuite.dynamicsecurityanalysis.server.service.RunQueueService.OverloadMode;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+class RunQueueServiceTest {
+
+    private final DynamicSecurityAnalysisResultService resultService = mock(DynamicSecurityAnalysisResultService.class);
+
+    @Test
+    void testReject() {
+        RunQueueService runQueueService = new RunQueueService(resultService, 10, OverloadMode.REJECT, 2, Duration.ofMinutes(10), Duration.ofHours(6));
+
+        // below the threshold => admitted
+        when(resultService.countPendingResults(any())).thenReturn(9L);
+        assertThat(runQueueService.admit()).isNull();
+
+        // beyond the threshold => rejected, retry after one round
+        when(resultService.countPendingResults(any())).thenReturn(10L);
+        RunQueueFullException exception = assertThrows(RunQueueFullException.class, runQueueService::admit);
+        assertThat(exception.getRetryAfter()).isEqualTo(Duration.ofMinutes(10), Duration.ofHours(6));
+
+        // retry once the runs beyond the threshold have been absorbed
+        when(resultService.countPendingResults(any())).thenReturn(15L);
+        exception = assertThrows(RunQueueFullException.class, runQueueService::admit);
+        assertThat(exception.getRetryAfter()).isEqualTo(Duration.ofMinutes(30));
+    }
+
+    @Test
+    void testQueue() {
+        RunQueueService runQueueService = new RunQueueService(resultService, 10, OverloadMode.QUEUE, 2, Duration.ofMinutes(10), Duration.ofHours(6));
+
+        when(resultService.countPendingResults(any())).thenReturn(12L);
+        assertThat(runQueueService.admit()).isEqualTo(Duration.ofMinutes(60));
+    }
+
+    @Test
+    void testAdmitSeveralRuns() {
+        RunQueueService runQueueService = new RunQueueService(resultService, 10, OverloadMode.REJECT, 2, Duration.ofMinutes(10), Duration.ofHours(6));
+        when(resultService.countPendingResults(Duration.ofHours(6))).thenReturn(6L);
+
+        // all the runs of a batch fit in the queue => admitted
+        assertThat(runQueueService.admit(4)).isNull();
+
+        // beyond the threshold => rejected, retry once the runs beyond the threshold have been absorbed
+        RunQueueFullException exception = assertThrows(RunQueueFullException.class, () -> runQueueService.admit(10));
+        assertThat(exception.getRetryAfter()).isEqualTo(Duration.ofMinutes(30));
+    }
+
+    @Test
+    void testDisabled() {
+        RunQueueService runQueueService = new RunQueueService(resultService, 0, OverloadMode.REJECT, 2, Duration.ofMinutes(10), Duration.ofHours(6));
+
+        assertThat(runQueueService.admit()).isNull();
+        verifyNoInteractions(resultService);
+    }
+}
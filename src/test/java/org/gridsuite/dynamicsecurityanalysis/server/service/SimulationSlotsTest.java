@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package org.gridsuite.dynamicsecurityanalysis.server.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+class SimulationSlotsTest {
+
+    @Test
+    void testPreparedRunWaitsForSlot() throws Exception {
+        SimulationSlots simulationSlots = new SimulationSlots(1);
+
+        // the current run simulates
+        simulationSlots.acquire();
+        assertThat(simulationSlots.getAvailableSlotCount()).isZero();
+
+        // the next prepared run waits
+        CompletableFuture<Void> nextRun = CompletableFuture.runAsync(simulationSlots::acquire);
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertThat(nextRun).isNotDone();
+
+        // then starts as soon as the current run ends
+        simulationSlots.release();
+        nextRun.get(5, TimeUnit.SECONDS);
+        assertThat(simulationSlots.getAvailableSlotCount()).isZero();
+
+        simulationSlots.release();
+        assertThat(simulationSlots.getAvailableSlotCount()).isOne();
+    }
+
+    @Test
+    void testPreparedRunCancelledWhileWaiting() throws Exception {
+        SimulationSlots simulationSlots = new SimulationSlots(1);
+        simulationSlots.acquire();
+
+        // the next prepared run waits until cancelled, without taking the slot freed afterwards
+        AtomicBoolean cancelled = new AtomicBoolean();
+        CompletableFuture<Boolean> nextRun = CompletableFuture.supplyAsync(() -> simulationSlots.acquire(cancelled::get));
+        TimeUnit.MILLISECONDS.sleep(300);
+        assertThat(nextRun).isNotDone();
+        cancelled.set(true);
+        assertThat(nextRun.get(5, TimeUnit.SECONDS)).isFalse();
+
+        simulationSlots.release();
+        assertThat(simulationSlots.getAvailableSlotCount()).isOne();
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package org.gridsuite.dynamicsecurityanalysis.server.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Executors run as separate JVMs sharing the spool directory, a multi-process stand-in of executor hosts
+ *
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+class SpoolExecutorTest {
+
+    private static final Path SHELL = Path.of("/bin/sh");
+
+    @TempDir
+    private Path sharedDir;
+
+    private Process executorProcess;
+
+    private SpoolCommandExecutor commandExecutor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        assumeTrue(Files.isExecutable(SHELL), "commands run by a POSIX shell");
+        Path spoolDir = sharedDir.resolve("spool");
+        executorProcess = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"), SpoolExecutor.class.getName(), spoolDir.toString(), "2")
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        commandExecutor = new SpoolCommandExecutor(new JobSpool(spoolDir), Duration.ofMillis(50), Duration.ofSeconds(30));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (executorProcess != null) {
+            executorProcess.destroyForcibly().waitFor(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void testCommandRunByExecutorProcess() throws Exception {
+        Path workingDir = Files.createDirectory(sharedDir.resolve("run"));
+        Path outFile = workingDir.resolve("cmd.out");
+
+        int exitCode = commandExecutor.execute(SHELL.toString(), List.of("-c", "echo $PPID $VALUE; exit 3"), outFile,
+                workingDir.resolve("cmd.err"), workingDir, Map.of("VALUE", "42"));
+
+        // spawned by the executor process, not by this one
+        assertThat(exitCode).isEqualTo(3);
+        assertThat(Files.readString(outFile).trim()).isEqualTo(executorProcess.pid() + " 42");
+    }
+
+    @Test
+    void testStop() throws Exception {
+        Path workingDir = Files.createDirectory(sharedDir.resolve("run"));
+        Path outFile = workingDir.resolve("cmd.out");
+        CompletableFuture<Integer> exitCodeFuture = CompletableFuture.supplyAsync(() -> {
+            try {
+                return commandExecutor.execute(SHELL.toString(), List.of("-c", "echo started; exec sleep 60"), outFile,
+                        workingDir.resolve("cmd.err"), workingDir, Map.of());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!(Files.exists(outFile) && Files.readString(outFile).contains("started")) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+
+        commandExecutor.stop(workingDir);
+
+        // terminated by the executor well before the end of the command
+        assertThat(exitCodeFuture.get(20, TimeUnit.SECONDS)).isNotZero();
+    }
+}
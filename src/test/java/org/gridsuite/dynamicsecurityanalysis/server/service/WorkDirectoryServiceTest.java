@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package org.gridsuite.dynamicsecurityanalysis.server.service;
+
+import org.gridsuite.dynamicsecurityanalysis.server.utils.Utils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.testcontainers.shaded.org.awaitility.Awaitility.await;
+
+/**
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+class WorkDirectoryServiceTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void testRamWorkDirWithFallbackToDisk() throws Exception {
+        Path ramDir = Files.createDirectory(tempDir.resolve("ram"));
+        Path diskDir = Files.createDirectory(tempDir.resolve("disk"));
+        WorkDirectoryService workDirectoryService = new WorkDirectoryService(ramDir.toString(), DataSize.ofMegabytes(10), DataSize.ofMegabytes(1), 0);
+
+        // fits in memory
+        long estimatedSize = workDirectoryService.estimateSize(DataSize.ofMegabytes(2).toBytes(), 4);
+        assertThat(estimatedSize).isEqualTo(DataSize.ofMegabytes(6).toBytes());
+        Path firstWorkDir = workDirectoryService.createWorkingDirectory(diskDir, "dsa_", estimatedSize);
+        assertThat(firstWorkDir.getParent()).isEqualTo(ramDir);
+        assertThat(workDirectoryService.isInMemory(firstWorkDir)).isTrue();
+
+        // exceeds the remaining memory budget => disk
+        Path secondWorkDir = workDirectoryService.createWorkingDirectory(diskDir, "dsa_", estimatedSize);
+        assertThat(secondWorkDir.getParent()).isEqualTo(diskDir);
+        assertThat(workDirectoryService.isInMemory(secondWorkDir)).isFalse();
+
+        // the budget is given back once the first directory is released
+        workDirectoryService.release(firstWorkDir);
+        workDirectoryService.release(secondWorkDir);
+        assertThat(workDirectoryService.isInMemory(firstWorkDir)).isFalse();
+        Path thirdWorkDir = workDirectoryService.createWorkingDirectory(diskDir, "dsa_", estimatedSize);
+        assertThat(thirdWorkDir.getParent()).isEqualTo(ramDir);
+    }
+
+    @Test
+    void testDiskWorkDirByDefault() {
+        WorkDirectoryService workDirectoryService = new WorkDirectoryService("", DataSize.ofGigabytes(2), DataSize.ofMegabytes(1), 0);
+
+        Path workDir = workDirectoryService.createWorkingDirectory(tempDir, "dsa_", 0);
+        assertThat(workDir.getParent()).isEqualTo(tempDir);
+        assertThat(workDirectoryService.isInMemory(workDir)).isFalse();
+    }
+
+    @Test
+    void testPoolAndAsyncRemove() throws Exception {
+        Path ramDir = Files.createDirectory(tempDir.resolve("ram"));
+        Path diskDir = Files.createDirectory(tempDir.resolve("disk"));
+        WorkDirectoryService workDirectoryService = new WorkDirectoryService(ramDir.toString(), DataSize.ofMegabytes(10), DataSize.ofMegabytes(1), 2);
+
+        // the first directory is created on demand, then the pool is filled in background
+        Path workDir = workDirectoryService.createWorkingDirectory(diskDir, "dsa_", 0);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> {
+            try (Stream<Path> dirs = Files.list(ramDir)) {
+                return dirs.count() == 3;
+            }
+        });
+
+        // a pooled directory is taken
+        Path pooledWorkDir = workDirectoryService.createWorkingDirectory(diskDir, "dsa_", 0);
+        assertThat(pooledWorkDir).isNotEqualTo(workDir);
+        try (Stream<Path> dirs = Files.list(ramDir)) {
+            assertThat(dirs.toList()).contains(pooledWorkDir);
+        }
+
+        // removal with outputs in background, the memory being given back once deleted
+        Files.writeString(workDir.resolve("output.log"), "output");
+        workDirectoryService.removeAsync(workDir).get(5, TimeUnit.SECONDS);
+        assertThat(workDir).doesNotExist();
+        assertThat(workDirectoryService.isInMemory(workDir)).isFalse();
+
+        // removing twice is a no-op
+        assertThat(workDirectoryService.removeAsync(workDir)).isCompleted();
+        workDirectoryService.shutdown();
+    }
+
+    @Test
+    void testRemoveInPlaceWhenNotRenamed() throws Exception {
+        Path ramDir = Files.createDirectory(tempDir.resolve("ram"));
+        Path diskDir = Files.createDirectory(tempDir.resolve("disk"));
+        WorkDirectoryService workDirectoryService = new WorkDirectoryService(ramDir.toString(), DataSize.ofMegabytes(10), DataSize.ofMegabytes(1), 2);
+        Path workDir = workDirectoryService.createWorkingDirectory(diskDir, "dsa_", 0);
+        Files.writeString(workDir.resolve("output.log"), "output");
+
+        // left behind by a previous removal of the same directory, the rename fails
+        Path leftDir = Files.createDirectory(workDir.resolveSibling(workDir.getFileName() + ".deleted"));
+        Files.writeString(leftDir.resolve("output.log"), "left");
+
+        // deleted in place while the pool hands out another directory
+        CompletableFuture<Long> removal = workDirectoryService.removeAsync(workDir);
+        Path pooledWorkDir = workDirectoryService.createWorkingDirectory(diskDir, "dsa_", 0);
+        assertThat(removal.get(5, TimeUnit.SECONDS)).isEqualTo(6);
+        assertThat(workDir).doesNotExist();
+        assertThat(workDirectoryService.isInMemory(workDir)).isFalse();
+        assertThat(pooledWorkDir).isNotEqualTo(workDir).isDirectory();
+        assertThat(workDirectoryService.isInMemory(pooledWorkDir)).isTrue();
+        assertThat(leftDir.resolve("output.log")).hasContent("left");
+        workDirectoryService.shutdown();
+    }
+
+    @Test
+    void testEstimateRefinedWithMeasuredSize() throws Exception {
+        WorkDirectoryService workDirectoryService = new WorkDirectoryService("", DataSize.ofGigabytes(2), DataSize.ofKilobytes(1), 0);
+
+        // the outputs of the 4 contingencies are 4 times larger than estimated
+        Path workDir = workDirectoryService.createWorkingDirectory(tempDir, "dsa_", 100, 4);
+        Files.write(workDir.resolve("outputState.dmp"), new byte[100]);
+        Files.createDirectory(workDir.resolve("outputs"));
+        Files.write(workDir.resolve("outputs").resolve("contingencies.log"), new byte[4 * 4096]);
+        assertThat(workDirectoryService.removeAsync(workDir).get(5, TimeUnit.SECONDS)).isEqualTo(100 + 4 * 4096);
+
+        // moving average of the estimate and the measure
+        assertThat(workDirectoryService.estimateSize(100, 4)).isEqualTo(100 + 4 * (3 * 1024 + 4096) / 4);
+        workDirectoryService.shutdown();
+    }
+
+    @Test
+    void testSavedIoTime() {
+        WorkDirectoryService workDirectoryService = new WorkDirectoryService("", DataSize.ofGigabytes(2), DataSize.ofMegabytes(1), 0);
+
+        // no saving known before a directory on disk has been measured
+        assertThat(workDirectoryService.recordIoTime(true, 1000, Duration.ofMillis(1))).isEmpty();
+        assertThat(workDirectoryService.recordIoTime(false, 1000, Duration.ofMillis(10))).isEmpty();
+
+        // twice the size on disk would have taken 20 ms
+        assertThat(workDirectoryService.recordIoTime(true, 2000, Duration.ofMillis(4))).contains(Duration.ofMillis(16));
+        assertThat(workDirectoryService.recordIoTime(true, 0, Duration.ofMillis(4))).isEmpty();
+    }
+
+    @Test
+    void testGetUnzippedSize() throws Exception {
+        byte[] content = new byte[123456];
+        assertThat(Utils.getUnzippedSize(Utils.zip(new ByteArrayInputStream(content)))).isEqualTo(content.length);
+    }
+}
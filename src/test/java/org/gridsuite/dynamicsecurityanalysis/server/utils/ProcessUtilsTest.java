@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package org.gridsuite.dynamicsecurityanalysis.server.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.testcontainers.shaded.org.awaitility.Awaitility.await;
+
+/**
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+@EnabledOnOs(OS.LINUX)
+class ProcessUtilsTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private Process start(Path workingDir, String command) throws Exception {
+        return new ProcessBuilder("sh", "-c", command).directory(workingDir.toFile()).start();
+    }
+
+    @Test
+    void testTerminate() throws Exception {
+        Path runDir = Files.createDirectory(tempDir.resolve("run"));
+        Path otherRunDir = Files.createDirectory(tempDir.resolve("otherRun"));
+        Process process = start(runDir, "sleep 60");
+        // ignores SIGTERM, needs SIGKILL
+        Process stubbornProcess = start(runDir, "trap '' TERM; sleep 60");
+        Process otherProcess = start(otherRunDir, "sleep 60");
+
+        try {
+            await().atMost(5, TimeUnit.SECONDS).until(() -> ProcessUtils.findDescendantsByWorkingDirectory(List.of(runDir)).size() >= 2);
+            List<ProcessHandle> processes = ProcessUtils.findDescendantsByWorkingDirectory(List.of(runDir));
+
+            // only the processes of the run are found
+            assertThat(processes).extracting(ProcessHandle::pid).contains(process.pid(), stubbornProcess.pid())
+                    .doesNotContain(otherProcess.pid());
+
+            ProcessUtils.terminate(processes, Duration.ofMillis(500)).get(10, TimeUnit.SECONDS);
+
+            assertThat(process.isAlive()).isFalse();
+            assertThat(stubbornProcess.isAlive()).isFalse();
+            assertThat(otherProcess.isAlive()).isTrue();
+        } finally {
+            otherProcess.destroyForcibly();
+        }
+    }
+
+    @Test
+    void testTerminateNothing() throws Exception {
+        assertThat(ProcessUtils.findDescendantsByWorkingDirectory(List.of(tempDir))).isEmpty();
+        assertThat(ProcessUtils.terminate(List.of(), Duration.ofSeconds(1))).isCompleted();
+    }
+
+    @Test
+    void testCpuList() {
+        assertThat(ProcessUtils.parseCpuList("0-3,8,10-11")).containsExactly(0, 1, 2, 3, 8, 10, 11);
+        assertThat(ProcessUtils.toCpuList(List.of(0, 1, 8))).isEqualTo("0,1,8");
+        assertThat(ProcessUtils.getAllowedCpus()).isNotEmpty();
+    }
+}
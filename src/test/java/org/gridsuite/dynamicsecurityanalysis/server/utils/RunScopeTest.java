@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package org.gridsuite.dynamicsecurityanalysis.server.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Thang PHAM <quyet-thang.pham at rte-france.com>
+ */
+class RunScopeTest {
+
+    @Test
+    void testJoin() {
+        try (RunScope scope = new RunScope()) {
+            Future<String> first = scope.fork(() -> "first");
+            Future<Integer> second = scope.fork(() -> 2);
+
+            scope.join();
+            assertThat(first.resultNow()).isEqualTo("first");
+            assertThat(second.resultNow()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void testFailingFetchCancelsTheOthers() throws Exception {
+        CountDownLatch slowFetchStarted = new CountDownLatch(1);
+        CountDownLatch slowFetchInterrupted = new CountDownLatch(1);
+        long startTime = System.nanoTime();
+
+        try (RunScope scope = new RunScope()) {
+            // a fetch blocked for a long time
+            Future<String> slowFetch = scope.fork(() -> {
+                slowFetchStarted.countDown();
+                try {
+                    Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                } catch (InterruptedException e) {
+                    slowFetchInterrupted.countDown();
+                    throw e;
+                }
+                return "slow";
+            });
+            assertThat(slowFetchStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // a failing fetch interrupts it, its own failure being rethrown
+            scope.fork(() -> {
+                throw new IllegalStateException("Dynamic simulation server unavailable");
+            });
+            assertThatThrownBy(scope::join)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("Dynamic simulation server unavailable");
+            assertThat(slowFetchInterrupted.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(slowFetch).isCancelled();
+
+            // a fetch forked after the failure does not run
+            assertThat(scope.fork(() -> {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                return "late";
+            })).isCancelled();
+        }
+        assertThat(System.nanoTime() - startTime).isLessThan(TimeUnit.SECONDS.toNanos(30));
+    }
+
+    @Test
+    void testCheckedFailure() {
+        try (RunScope scope = new RunScope()) {
+            scope.fork(() -> {
+                throw new IOException("Connection reset");
+            });
+
+            assertThatThrownBy(scope::join)
+                    .isInstanceOf(CompletionException.class)
+                    .hasRootCauseInstanceOf(IOException.class);
+        }
+    }
+}